@@ -0,0 +1,151 @@
+package com.zang.sftptrans.benchmark;
+
+import com.zang.sftptrans.bean.SftpServerProperties;
+import com.zang.sftptrans.enums.EnumCompressionPolicy;
+import com.zang.sftptrans.sftp.SftpAdaptiveClientPool;
+import com.zang.sftptrans.sftp.SftpClient;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SSH压缩的耗时拐点基准：不同链路带宽、内容可压缩性与文件大小下，压缩策略对单文件上传/下载耗时的影响
+ * <p>
+ * 限速链路由{@link ThrottledSocketFactory}模拟，CSV内容约5倍可压缩，RANDOM内容不可压缩；
+ * 不限速时压缩通常更慢（CPU成为瓶颈），限速链路上压缩可压缩内容更快，ADAPTIVE应接近两者中较快的一方
+ *
+ * @author xssdpgy
+ * @version xssdpgy: CompressionBenchmark.java,v1.0 2026/10/18 23:40 xssdpgy Exp $$
+ * @since 1.0
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CompressionBenchmark {
+
+    private static final String REMOTE_DIRECTORY = "compression";
+
+    /**
+     * 链路单方向带宽（字节/秒），0表示不限速，6250000即50Mbit
+     */
+    @Param({"0", "6250000"})
+    public long linkRate;
+
+    /**
+     * 内容：CSV为可压缩的批量文件，RANDOM为随机字节
+     */
+    @Param({"CSV", "RANDOM"})
+    public String payload;
+
+    /**
+     * 文件大小（字节）
+     */
+    @Param({"1048576", "16777216"})
+    public long fileSize;
+
+    /**
+     * 服务器压缩策略
+     */
+    @Param({"OFF", "ALWAYS", "ADAPTIVE"})
+    public String policy;
+
+    private EmbeddedSftpServer server;
+
+    private Path workDirectory;
+
+    private Path localFile;
+
+    private Path target;
+
+    private SftpAdaptiveClientPool pool;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        server = new EmbeddedSftpServer();
+        workDirectory = Files.createTempDirectory("sftptrans-compression-bench");
+        // 自适应模式按扩展名判断CSV，随机内容的扩展名不在列表中，由首块采样判断
+        if ("CSV".equals(payload)) {
+            localFile = workDirectory.resolve("payload.csv");
+            writeCsvFile(localFile, fileSize);
+        } else {
+            localFile = workDirectory.resolve("payload.bin");
+            TransferBenchmark.writeRandomFile(localFile, fileSize);
+        }
+        target = workDirectory.resolve("downloaded");
+        Path remoteSource = server.getRoot().resolve(REMOTE_DIRECTORY).resolve(localFile.getFileName().toString());
+        Files.createDirectories(remoteSource.getParent());
+        Files.copy(localFile, remoteSource);
+
+        SftpServerProperties properties = server.properties();
+        properties.setCompressionPolicy(EnumCompressionPolicy.valueOf(policy));
+        // 拐点附近的小文件也参与自适应判断
+        properties.setCompressionMinSize(0);
+        if (linkRate > 0) {
+            properties.setSocketFactory(new ThrottledSocketFactory(linkRate));
+        }
+        GenericObjectPoolConfig<SftpClient> config = new GenericObjectPoolConfig<>();
+        config.setMaxTotal(1);
+        config.setMaxIdle(1);
+        pool = new SftpAdaptiveClientPool(properties, config);
+        // 提前建立两类连接，握手不计入耗时
+        pool.returnObject(pool.borrowObject(true));
+        pool.returnObject(pool.borrowObject(false));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        pool.close();
+        server.close();
+        EmbeddedSftpServer.deleteRecursively(workDirectory);
+    }
+
+    @Benchmark
+    public Path upload() {
+        return pool.uploadFileToRelativePath(localFile, REMOTE_DIRECTORY + "/upload");
+    }
+
+    @Benchmark
+    public Path download() {
+        pool.downloadAsFile("/" + REMOTE_DIRECTORY + "/" + localFile.getFileName(), fileSize, target);
+        return target;
+    }
+
+    /**
+     * 生成定长格式相近的CSV内容，字段取值有限，压缩比与真实批量文件接近
+     */
+    static void writeCsvFile(Path file, long size) throws IOException {
+        Random random = new Random(size);
+        long written = 0;
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.US_ASCII)) {
+            while (written < size) {
+                String line = String.format("20261018,ACC%06d,%s,%010d,%08.2f,CNY%n", random.nextInt(50000),
+                        random.nextBoolean() ? "BUY" : "SELL", random.nextInt(1000000), random.nextDouble() * 10000);
+                int length = (int) Math.min(line.length(), size - written);
+                writer.write(line, 0, length);
+                written += length;
+            }
+        }
+    }
+}
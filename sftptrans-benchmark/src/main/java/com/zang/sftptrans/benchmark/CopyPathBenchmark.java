@@ -0,0 +1,152 @@
+package com.zang.sftptrans.benchmark;
+
+import com.zang.sftptrans.file.TransferEngine;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.NullOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 本地数据拷贝路径基准：原实现（commons-io 4KB缓冲读取、逐包写入未缓冲的输出流）与{@link TransferEngine}对比
+ * <p>
+ * 排除网络与加密开销，只衡量本地读写：上传从本地文件读到空输出流，下载从每次最多返回一个数据包（32KB）的
+ * 内存流写入本地文件，与jsch读流的行为一致
+ *
+ * @author xssdpgy
+ * @version xssdpgy: CopyPathBenchmark.java,v1.0 2026/10/18 23:10 xssdpgy Exp $$
+ * @since 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CopyPathBenchmark {
+
+    /**
+     * jsch单个数据包的最大数据长度
+     */
+    private static final int PACKET_SIZE = 32 * 1024;
+
+    /**
+     * 文件大小（字节）
+     */
+    @Param({"16777216", "268435456"})
+    public long fileSize;
+
+    /**
+     * 拷贝路径：LEGACY为原实现，ENGINE为TransferEngine
+     */
+    @Param({"LEGACY", "ENGINE"})
+    public String path;
+
+    /**
+     * 引擎缓冲大小
+     */
+    @Param({"262144"})
+    public int bufferSize;
+
+    private Path workDirectory;
+
+    private Path localFile;
+
+    private Path target;
+
+    private byte[] content;
+
+    private TransferEngine engine;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        workDirectory = Files.createTempDirectory("sftptrans-copy-bench");
+        localFile = workDirectory.resolve("source.dat");
+        TransferBenchmark.writeRandomFile(localFile, fileSize);
+        content = Files.readAllBytes(localFile);
+        engine = new TransferEngine(bufferSize, 4);
+    }
+
+    @Setup(Level.Invocation)
+    public void prepareTarget() throws IOException {
+        target = Files.createTempFile(workDirectory, "target", ".dat");
+    }
+
+    @TearDown(Level.Invocation)
+    public void removeTarget() throws IOException {
+        Files.deleteIfExists(target);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        EmbeddedSftpServer.deleteRecursively(workDirectory);
+    }
+
+    @Benchmark
+    public long upload() throws IOException {
+        OutputStream out = new NullOutputStream();
+        if ("LEGACY".equals(path)) {
+            try (InputStream in = Files.newInputStream(localFile, StandardOpenOption.READ)) {
+                return IOUtils.copyLarge(in, out);
+            }
+        }
+        try (FileChannel source = FileChannel.open(localFile, StandardOpenOption.READ)) {
+            return engine.upload(source, out, null);
+        }
+    }
+
+    @Benchmark
+    public long download() throws IOException {
+        InputStream in = new PacketInputStream(content);
+        if ("LEGACY".equals(path)) {
+            try (OutputStream os = Files.newOutputStream(target, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                byte[] buffer = new byte[PACKET_SIZE];
+                long total = 0;
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    os.write(buffer, 0, read);
+                    total += read;
+                }
+                return total;
+            }
+        }
+        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            return engine.download(in, channel, null);
+        }
+    }
+
+    /**
+     * 每次读取最多返回一个数据包的内存流
+     */
+    private static class PacketInputStream extends ByteArrayInputStream {
+
+        PacketInputStream(byte[] content) {
+            super(content);
+        }
+
+        @Override
+        public synchronized int read(byte[] b, int off, int len) {
+            return super.read(b, off, Math.min(len, PACKET_SIZE));
+        }
+    }
+}
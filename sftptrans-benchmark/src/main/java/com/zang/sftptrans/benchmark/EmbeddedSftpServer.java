@@ -0,0 +1,110 @@
+package com.zang.sftptrans.benchmark;
+
+import com.zang.sftptrans.bean.SftpServerProperties;
+import com.zang.sftptrans.enums.EnumSftpAuthType;
+import org.apache.sshd.common.NamedFactory;
+import org.apache.sshd.common.file.virtualfs.VirtualFileSystemFactory;
+import org.apache.sshd.common.kex.BuiltinDHFactories;
+import org.apache.sshd.server.ServerBuilder;
+import org.apache.sshd.server.SshServer;
+import org.apache.sshd.server.keyprovider.SimpleGeneratorHostKeyProvider;
+import org.apache.sshd.sftp.server.SftpSubsystemFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * 基准测试使用的内嵌sftp服务端（Apache MINA SSHD），监听localhost随机端口，根目录为临时目录
+ * PS：客户端LEGACY算法组合只使用diffie-hellman-group1-sha1密钥交换，服务端需启用全部DH算法；主机密钥使用RSA
+ *
+ * @author xssdpgy
+ * @version xssdpgy: EmbeddedSftpServer.java,v1.0 2026/10/18 20:00 xssdpgy Exp $$
+ * @since 1.0
+ */
+public class EmbeddedSftpServer implements Closeable {
+
+    public static final String USERNAME = "bench";
+
+    public static final String PASSWORD = "bench";
+
+    private final SshServer server;
+
+    private final Path root;
+
+    public EmbeddedSftpServer() throws IOException {
+        this.root = Files.createTempDirectory("sftptrans-benchmark");
+        SimpleGeneratorHostKeyProvider hostKeyProvider = new SimpleGeneratorHostKeyProvider(root.resolveSibling(root.getFileName() + ".hostkey"));
+        hostKeyProvider.setAlgorithm("RSA");
+        hostKeyProvider.setKeySize(2048);
+        this.server = SshServer.setUpDefaultServer();
+        server.setHost("localhost");
+        server.setPort(0);
+        server.setKeyPairProvider(hostKeyProvider);
+        server.setPasswordAuthenticator((username, password, session) -> USERNAME.equals(username) && PASSWORD.equals(password));
+        server.setSubsystemFactories(Collections.singletonList(new SftpSubsystemFactory()));
+        server.setFileSystemFactory(new VirtualFileSystemFactory(root));
+        server.setKeyExchangeFactories(NamedFactory.setUpTransformedFactories(true, Arrays.asList(BuiltinDHFactories.values()), ServerBuilder.DH2KEX));
+        server.start();
+    }
+
+    /**
+     * 连接本服务端的客户端配置
+     *
+     * @return com.zang.sftptrans.bean.SftpServerProperties
+     */
+    public SftpServerProperties properties() {
+        SftpServerProperties properties = new SftpServerProperties();
+        properties.setAuthType(EnumSftpAuthType.PASSWORD);
+        properties.setHost("localhost");
+        properties.setPort(server.getPort());
+        properties.setUsername(USERNAME);
+        properties.setPassword(PASSWORD);
+        properties.setRoot("/");
+        return properties;
+    }
+
+    /**
+     * 服务端根目录对应的本地目录
+     *
+     * @return java.nio.file.Path
+     */
+    public Path getRoot() {
+        return root;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            server.stop(true);
+        } finally {
+            deleteRecursively(root);
+            Files.deleteIfExists(root.resolveSibling(root.getFileName() + ".hostkey"));
+        }
+    }
+
+    static void deleteRecursively(Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+                Files.delete(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+}
@@ -0,0 +1,96 @@
+package com.zang.sftptrans.benchmark;
+
+import com.jcraft.jsch.ChannelSftp;
+import com.jcraft.jsch.SftpATTRS;
+import com.zang.sftptrans.bean.SftpServerProperties;
+import com.zang.sftptrans.sftp.SftpClient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 目录列表与文件属性查询延迟基准
+ *
+ * @author xssdpgy
+ * @version xssdpgy: MetadataBenchmark.java,v1.0 2026/10/18 20:20 xssdpgy Exp $$
+ * @since 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetadataBenchmark {
+
+    private static final String LIST_DIRECTORY = "list";
+
+    /**
+     * 目录下的文件数
+     */
+    @Param({"100", "1000", "10000"})
+    public int entries;
+
+    /**
+     * 元数据缓存有效期（milliseconds），0表示不缓存
+     */
+    @Param({"0"})
+    public long metadataCacheTtl;
+
+    private EmbeddedSftpServer server;
+
+    private SftpClient client;
+
+    private String attrsPath;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        server = new EmbeddedSftpServer();
+        Path directory = Files.createDirectories(server.getRoot().resolve(LIST_DIRECTORY));
+        byte[] content = new byte[128];
+        for (int i = 0; i < entries; i++) {
+            Files.write(directory.resolve(String.format("file-%06d.dat", i)), content);
+        }
+        attrsPath = LIST_DIRECTORY + "/" + String.format("file-%06d.dat", entries / 2);
+        SftpServerProperties properties = server.properties();
+        properties.setMetadataCacheTtl(metadataCacheTtl);
+        client = new SftpClient(properties);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        client.disconnect();
+        server.close();
+    }
+
+    @Benchmark
+    public List<ChannelSftp.LsEntry> listFiles() {
+        return client.listFiles(LIST_DIRECTORY);
+    }
+
+    @Benchmark
+    public long listFilesStreaming() {
+        return client.listFiles(LIST_DIRECTORY, null, entry -> true);
+    }
+
+    @Benchmark
+    public SftpATTRS getFileAttrs() {
+        return client.getFileAttrs(attrsPath);
+    }
+}
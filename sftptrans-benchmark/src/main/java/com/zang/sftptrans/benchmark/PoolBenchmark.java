@@ -0,0 +1,78 @@
+package com.zang.sftptrans.benchmark;
+
+import com.zang.sftptrans.sftp.SftpClient;
+import com.zang.sftptrans.sftp.SftpClientFactory;
+import com.zang.sftptrans.sftp.SftpClientPool;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 连接池借用/归还开销基准，并发线程数通过JMH参数 -t 指定
+ *
+ * @author xssdpgy
+ * @version xssdpgy: PoolBenchmark.java,v1.0 2026/10/18 20:30 xssdpgy Exp $$
+ * @since 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PoolBenchmark {
+
+    /**
+     * 连接池最大连接数
+     */
+    @Param({"4", "8"})
+    public int poolMaxTotal;
+
+    /**
+     * 借用时是否校验连接
+     */
+    @Param({"false", "true"})
+    public boolean testOnBorrow;
+
+    private EmbeddedSftpServer server;
+
+    private SftpClientPool pool;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        server = new EmbeddedSftpServer();
+        GenericObjectPoolConfig<SftpClient> config = new GenericObjectPoolConfig<>();
+        config.setMaxTotal(poolMaxTotal);
+        config.setMaxIdle(poolMaxTotal);
+        config.setTestOnBorrow(testOnBorrow);
+        pool = new SftpClientPool(new SftpClientFactory(server.properties()), config);
+        pool.addObjects(poolMaxTotal);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        pool.close();
+        server.close();
+    }
+
+    @Benchmark
+    public SftpClient borrowAndReturn() {
+        SftpClient client = pool.borrowObject();
+        pool.returnObject(client);
+        return client;
+    }
+}
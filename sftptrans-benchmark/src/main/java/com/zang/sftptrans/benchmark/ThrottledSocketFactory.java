@@ -0,0 +1,113 @@
+package com.zang.sftptrans.benchmark;
+
+import com.jcraft.jsch.SocketFactory;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 模拟限速链路的Socket工厂，每个连接的上行与下行分别按固定速率放行字节
+ * <p>
+ * 只模拟带宽，不模拟时延与丢包；速率不大于0时不限速
+ *
+ * @author xssdpgy
+ * @version xssdpgy: ThrottledSocketFactory.java,v1.0 2026/10/18 23:40 xssdpgy Exp $$
+ * @since 1.0
+ */
+public class ThrottledSocketFactory implements SocketFactory {
+
+    /**
+     * 单方向速率（字节/秒）
+     */
+    private final long bytesPerSecond;
+
+    public ThrottledSocketFactory(long bytesPerSecond) {
+        this.bytesPerSecond = bytesPerSecond;
+    }
+
+    @Override
+    public Socket createSocket(String host, int port) throws IOException {
+        Socket socket = new Socket(host, port);
+        socket.setTcpNoDelay(true);
+        return socket;
+    }
+
+    @Override
+    public InputStream getInputStream(Socket socket) throws IOException {
+        Throttle throttle = new Throttle(bytesPerSecond);
+        return new FilterInputStream(socket.getInputStream()) {
+            @Override
+            public int read() throws IOException {
+                int b = super.read();
+                if (b >= 0) {
+                    throttle.acquire(1);
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                int read = super.read(b, off, len);
+                if (read > 0) {
+                    throttle.acquire(read);
+                }
+                return read;
+            }
+        };
+    }
+
+    @Override
+    public OutputStream getOutputStream(Socket socket) throws IOException {
+        Throttle throttle = new Throttle(bytesPerSecond);
+        return new FilterOutputStream(socket.getOutputStream()) {
+            @Override
+            public void write(int b) throws IOException {
+                throttle.acquire(1);
+                out.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                throttle.acquire(len);
+                out.write(b, off, len);
+            }
+        };
+    }
+
+    /**
+     * 按速率计算下一个字节的放行时间，未到时间则等待
+     */
+    private static class Throttle {
+
+        private final long bytesPerSecond;
+
+        private long nextFreeNanos;
+
+        Throttle(long bytesPerSecond) {
+            this.bytesPerSecond = bytesPerSecond;
+        }
+
+        synchronized void acquire(int bytes) throws IOException {
+            if (bytesPerSecond <= 0) {
+                return;
+            }
+            long now = System.nanoTime();
+            nextFreeNanos = Math.max(nextFreeNanos, now) + TimeUnit.SECONDS.toNanos(bytes) / bytesPerSecond;
+            long waitNanos = nextFreeNanos - now;
+            if (waitNanos > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(waitNanos);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException(e.getMessage());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.zang.sftptrans.benchmark;
+
+import com.zang.sftptrans.bean.SftpServerProperties;
+import com.zang.sftptrans.sftp.SftpClient;
+import com.zang.sftptrans.sftp.SftpClientFactory;
+import com.zang.sftptrans.sftp.SftpClientPool;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 上传/下载吞吐量基准
+ * <p>
+ * 每次调用由concurrency个线程各自借用一个连接并发传输一个fileSize大小的文件，
+ * 单次调用传输的总字节数为 concurrency * fileSize，吞吐量 = 总字节数 / 单次耗时
+ *
+ * @author xssdpgy
+ * @version xssdpgy: TransferBenchmark.java,v1.0 2026/10/18 20:10 xssdpgy Exp $$
+ * @since 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransferBenchmark {
+
+    private static final String DOWNLOAD_SOURCE = "download/source.dat";
+
+    /**
+     * 单个文件大小（字节）
+     */
+    @Param({"1048576", "16777216", "67108864"})
+    public long fileSize;
+
+    /**
+     * 并发传输的文件数
+     */
+    @Param({"1", "4", "8"})
+    public int concurrency;
+
+    /**
+     * 连接池最大连接数
+     */
+    @Param({"8"})
+    public int poolMaxTotal;
+
+    /**
+     * 每个SSH会话承载的sftp通道数
+     */
+    @Param({"1", "4"})
+    public int channelsPerSession;
+
+    private EmbeddedSftpServer server;
+
+    private SftpClientPool pool;
+
+    private ExecutorService executor;
+
+    private Path workDirectory;
+
+    private Path localFile;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        server = new EmbeddedSftpServer();
+        workDirectory = Files.createTempDirectory("sftptrans-benchmark-local");
+        localFile = workDirectory.resolve("source.dat");
+        writeRandomFile(localFile, fileSize);
+        Path remoteSource = server.getRoot().resolve(DOWNLOAD_SOURCE);
+        Files.createDirectories(remoteSource.getParent());
+        Files.copy(localFile, remoteSource);
+
+        SftpServerProperties properties = server.properties();
+        properties.setChannelsPerSession(channelsPerSession);
+        GenericObjectPoolConfig<SftpClient> config = new GenericObjectPoolConfig<>();
+        config.setMaxTotal(poolMaxTotal);
+        config.setMaxIdle(poolMaxTotal);
+        pool = new SftpClientPool(new SftpClientFactory(properties), config);
+        pool.addObjects(Math.min(concurrency, poolMaxTotal));
+        executor = Executors.newFixedThreadPool(concurrency);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        executor.shutdownNow();
+        pool.close();
+        server.close();
+        EmbeddedSftpServer.deleteRecursively(workDirectory);
+    }
+
+    @Benchmark
+    public void upload() throws Exception {
+        List<Future<?>> futures = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            String sftpDirectory = "upload/" + i;
+            futures.add(executor.submit(() -> {
+                SftpClient client = pool.borrowObject();
+                try {
+                    client.uploadFileToRelativePath(localFile, sftpDirectory);
+                } finally {
+                    pool.returnObject(client);
+                }
+            }));
+        }
+        awaitAll(futures);
+    }
+
+    @Benchmark
+    public void download() throws Exception {
+        List<Future<?>> futures = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            Path target = workDirectory.resolve("download-" + i + ".dat");
+            futures.add(executor.submit(() -> {
+                SftpClient client = pool.borrowObject();
+                try {
+                    client.downloadAsFile(DOWNLOAD_SOURCE, target);
+                } finally {
+                    pool.returnObject(client);
+                }
+            }));
+        }
+        awaitAll(futures);
+    }
+
+    private static void awaitAll(List<Future<?>> futures) throws Exception {
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+
+    static void writeRandomFile(Path file, long size) throws IOException {
+        Random random = new Random(size);
+        byte[] buffer = new byte[64 * 1024];
+        try (OutputStream out = Files.newOutputStream(file)) {
+            for (long remaining = size; remaining > 0; remaining -= buffer.length) {
+                random.nextBytes(buffer);
+                out.write(buffer, 0, (int) Math.min(buffer.length, remaining));
+            }
+        }
+    }
+}
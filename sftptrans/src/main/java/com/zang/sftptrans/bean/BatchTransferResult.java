@@ -0,0 +1,50 @@
+package com.zang.sftptrans.bean;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 批量传输汇总结果
+ *
+ * @author xssdpgy
+ * @version xssdpgy: BatchTransferResult.java,v1.0 2026/10/18 16:20 xssdpgy Exp $$
+ * @since 1.0
+ */
+@Data
+public class BatchTransferResult {
+
+    /**
+     * 各文件的传输结果，顺序与提交顺序一致
+     */
+    private List<FileTransferResult> results;
+
+    /**
+     * 成功文件数
+     */
+    private int succeeded;
+
+    /**
+     * 失败文件数
+     */
+    private int failed;
+
+    /**
+     * 成功传输的总字节数
+     */
+    private long bytes;
+
+    /**
+     * 批量传输总耗时（milliseconds）
+     */
+    private long elapsedMillis;
+
+    /**
+     * 是否全部成功
+     *
+     * @return boolean
+     */
+    public boolean isAllSucceeded() {
+        return failed == 0;
+    }
+}
@@ -0,0 +1,48 @@
+package com.zang.sftptrans.bean;
+
+import com.zang.sftptrans.enums.EnumCryptoProfile;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SSH算法自测报告
+ *
+ * @author xssdpgy
+ * @version xssdpgy: CryptoSelfTestReport.java,v1.0 2026/10/19 0:20 xssdpgy Exp $$
+ * @since 1.0
+ */
+@Data
+public class CryptoSelfTestReport {
+
+    /**
+     * 被测服务器，格式为user@host:port
+     */
+    private String server;
+
+    /**
+     * 每次吞吐测试上传与下载的样本大小（字节）
+     */
+    private int sampleSize;
+
+    /**
+     * 逐个加密算法的测试结果，按测试顺序排列
+     */
+    private List<CryptoTestResult> ciphers = new ArrayList<>();
+
+    /**
+     * 各算法组合的测试结果，按枚举顺序排列
+     */
+    private List<CryptoTestResult> profiles = new ArrayList<>();
+
+    /**
+     * 服务端接受且总耗时最短的加密算法，全部不接受时为空
+     */
+    private String fastestCipher;
+
+    /**
+     * 服务端接受且总耗时最短的算法组合，全部不接受时为空
+     */
+    private EnumCryptoProfile recommendedProfile;
+}
@@ -0,0 +1,61 @@
+package com.zang.sftptrans.bean;
+
+import lombok.Data;
+
+/**
+ * 单个加密算法或算法组合的自测结果
+ *
+ * @author xssdpgy
+ * @version xssdpgy: CryptoTestResult.java,v1.0 2026/10/19 0:20 xssdpgy Exp $$
+ * @since 1.0
+ */
+@Data
+public class CryptoTestResult {
+
+    /**
+     * 加密算法名称或算法组合名称
+     */
+    private String name;
+
+    /**
+     * 提议的密钥交换、加密与MAC算法，为空表示JSch默认顺序
+     */
+    private String kex;
+
+    private String ciphers;
+
+    private String macs;
+
+    /**
+     * 服务端是否接受（握手成功）
+     */
+    private boolean accepted;
+
+    /**
+     * 多轮握手（含TCP连接与认证）中的最短耗时（milliseconds）
+     */
+    private double handshakeMillis;
+
+    /**
+     * 样本上传与下载的总耗时（milliseconds）
+     */
+    private double transferMillis;
+
+    /**
+     * 上传与下载吞吐量（字节/秒）
+     */
+    private long uploadThroughput;
+
+    private long downloadThroughput;
+
+    private String errorMessage;
+
+    /**
+     * 握手与一次样本往返传输的总耗时，用于排序
+     *
+     * @return double
+     */
+    public double getTotalMillis() {
+        return handshakeMillis + transferMillis;
+    }
+}
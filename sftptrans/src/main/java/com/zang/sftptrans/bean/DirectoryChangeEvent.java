@@ -0,0 +1,44 @@
+package com.zang.sftptrans.bean;
+
+import com.zang.sftptrans.enums.EnumDirectoryChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 监听目录的文件变更事件
+ *
+ * @author xssdpgy
+ * @version xssdpgy: DirectoryChangeEvent.java,v1.0 2026/10/19 2:30 xssdpgy Exp $$
+ * @since 1.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DirectoryChangeEvent {
+
+    /**
+     * 监听的sftp目录，相对root目录
+     */
+    private String directory;
+
+    /**
+     * 文件名
+     */
+    private String filename;
+
+    /**
+     * 变更类型
+     */
+    private EnumDirectoryChangeType type;
+
+    /**
+     * 文件大小，删除时为最后一次观察到的大小
+     */
+    private long size;
+
+    /**
+     * 文件最后修改时间（milliseconds），删除时为最后一次观察到的修改时间
+     */
+    private long lastModifiedTime;
+}
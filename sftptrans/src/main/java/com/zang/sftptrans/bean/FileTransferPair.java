@@ -0,0 +1,40 @@
+package com.zang.sftptrans.bean;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.nio.file.Path;
+
+/**
+ * 批量传输中的单个文件（本地路径与sftp路径）
+ *
+ * @author xssdpgy
+ * @version xssdpgy: FileTransferPair.java,v1.0 2026/10/18 16:10 xssdpgy Exp $$
+ * @since 1.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FileTransferPair {
+
+    /**
+     * 本地文件路径
+     */
+    private Path localPath;
+
+    /**
+     * sftp文件相对root目录的全路径
+     */
+    private String remotePath;
+
+    /**
+     * 传输完成后设置到目标文件的最后修改时间（milliseconds），小于0时不设置
+     */
+    private long lastModifiedTime = -1;
+
+    public FileTransferPair(Path localPath, String remotePath) {
+        this.localPath = localPath;
+        this.remotePath = remotePath;
+    }
+}
@@ -0,0 +1,56 @@
+package com.zang.sftptrans.bean;
+
+import lombok.Data;
+
+import java.nio.file.Path;
+
+/**
+ * 单个文件的传输结果
+ *
+ * @author xssdpgy
+ * @version xssdpgy: FileTransferResult.java,v1.0 2026/10/18 16:15 xssdpgy Exp $$
+ * @since 1.0
+ */
+@Data
+public class FileTransferResult {
+
+    /**
+     * 本地文件路径
+     */
+    private Path localPath;
+
+    /**
+     * sftp文件相对root目录的全路径
+     */
+    private String remotePath;
+
+    /**
+     * 是否传输成功
+     */
+    private boolean success;
+
+    /**
+     * 传输字节数
+     */
+    private long bytes;
+
+    /**
+     * 传输耗时（milliseconds）
+     */
+    private long elapsedMillis;
+
+    /**
+     * 失败时的错误码
+     */
+    private String errorCode;
+
+    /**
+     * 失败时的错误描述
+     */
+    private String errorMessage;
+
+    /**
+     * 传输时计算的校验和，未启用时为空
+     */
+    private TransferChecksum checksum;
+}
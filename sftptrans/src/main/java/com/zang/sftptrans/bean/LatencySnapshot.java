@@ -0,0 +1,54 @@
+package com.zang.sftptrans.bean;
+
+import lombok.Data;
+
+/**
+ * 耗时分布快照
+ *
+ * @author xssdpgy
+ * @version xssdpgy: LatencySnapshot.java,v1.0 2026/10/18 20:45 xssdpgy Exp $$
+ * @since 1.0
+ */
+@Data
+public class LatencySnapshot {
+
+    /**
+     * 记录次数
+     */
+    private long count;
+
+    /**
+     * 平均耗时（milliseconds）
+     */
+    private double mean;
+
+    /**
+     * 最大耗时（milliseconds）
+     */
+    private double max;
+
+    /**
+     * 中位数（milliseconds，按分桶上界估算）
+     */
+    private double p50;
+
+    /**
+     * 95分位（milliseconds，按分桶上界估算）
+     */
+    private double p95;
+
+    /**
+     * 99分位（milliseconds，按分桶上界估算）
+     */
+    private double p99;
+
+    /**
+     * 各分桶上界（milliseconds），最后一个为Double.POSITIVE_INFINITY
+     */
+    private double[] bucketBounds;
+
+    /**
+     * 各分桶的累计次数（耗时不超过对应上界的次数）
+     */
+    private long[] cumulativeCounts;
+}
@@ -0,0 +1,51 @@
+package com.zang.sftptrans.bean;
+
+import com.zang.sftptrans.enums.EnumPoolSizeDecision;
+import lombok.Data;
+
+/**
+ * 一次连接池容量调整的决策及其依据
+ *
+ * @author xssdpgy
+ * @version xssdpgy: PoolSizeDecision.java,v1.0 2026/10/18 22:40 xssdpgy Exp $$
+ * @since 1.0
+ */
+@Data
+public class PoolSizeDecision {
+
+    private long timestamp;
+
+    private EnumPoolSizeDecision decision;
+
+    private String reason;
+
+    /**
+     * 调整前后的最大连接数
+     */
+    private int previousMaxTotal;
+
+    private int maxTotal;
+
+    /**
+     * 本周期内的平均借用等待（milliseconds）
+     */
+    private double borrowWait;
+
+    /**
+     * 往返时延的移动平均及观察到的最低值（milliseconds）
+     */
+    private double roundTrip;
+
+    private double baselineRoundTrip;
+
+    /**
+     * 本周期内的连接失败次数
+     */
+    private long connectionErrors;
+
+    private int active;
+
+    private int idle;
+
+    private int waiters;
+}
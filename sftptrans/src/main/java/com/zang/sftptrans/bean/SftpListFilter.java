@@ -0,0 +1,121 @@
+package com.zang.sftptrans.bean;
+
+import com.jcraft.jsch.ChannelSftp;
+import com.zang.sftptrans.enums.EnumSftpFileType;
+import com.zang.sftptrans.util.PathUtils;
+import com.zang.sftptrans.util.SftpAttrUtils;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * sftp目录列表过滤条件，各条件同时满足时才返回条目，"."与".."始终被忽略
+ *
+ * @author xssdpgy
+ * @version xssdpgy: SftpListFilter.java,v1.0 2026/10/18 17:45 xssdpgy Exp $$
+ * @since 1.0
+ */
+@Data
+public class SftpListFilter {
+
+    /**
+     * 文件名glob表达式，如 *.csv、settle_2026??.txt，为空时不限制
+     */
+    private String glob;
+
+    /**
+     * 允许的文件类型，为空时不限制
+     */
+    private Set<EnumSftpFileType> types = EnumSet.allOf(EnumSftpFileType.class);
+
+    /**
+     * 最后修改时间下限（milliseconds，含），小于0时不限制
+     */
+    private long modifiedAfter = -1;
+
+    /**
+     * 最后修改时间上限（milliseconds，不含），小于0时不限制
+     */
+    private long modifiedBefore = -1;
+
+    /**
+     * 根据glob编译的正则，不经过本地文件系统解析文件名
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private transient Pattern pattern;
+
+    /**
+     * 仅列出普通文件
+     *
+     * @return com.zang.sftptrans.bean.SftpListFilter
+     */
+    public static SftpListFilter files() {
+        SftpListFilter filter = new SftpListFilter();
+        filter.setTypes(EnumSet.of(EnumSftpFileType.FILE));
+        return filter;
+    }
+
+    /**
+     * 仅列出文件名匹配glob的普通文件
+     *
+     * @param glob 文件名glob表达式
+     * @return com.zang.sftptrans.bean.SftpListFilter
+     */
+    public static SftpListFilter files(String glob) {
+        SftpListFilter filter = files();
+        filter.setGlob(glob);
+        return filter;
+    }
+
+    public void setGlob(String glob) {
+        this.glob = glob;
+        this.pattern = StringUtils.isBlank(glob) ? null : PathUtils.compileGlob(glob);
+    }
+
+    /**
+     * 判断条目是否满足过滤条件
+     *
+     * @param entry 目录条目
+     * @return boolean
+     */
+    public boolean accept(ChannelSftp.LsEntry entry) {
+        // 未限制修改时间时不读取，避免服务端未提供修改时间时逐条告警
+        long modifiedTime = modifiedAfter >= 0 || modifiedBefore >= 0 ? SftpAttrUtils.getLastModifiedTime(entry.getAttrs()) : -1;
+        return accept(entry.getFilename(), EnumSftpFileType.of(entry.getAttrs()), modifiedTime);
+    }
+
+    /**
+     * 判断文件是否满足过滤条件，用于本地文件等非sftp目录条目
+     *
+     * @param filename     文件名
+     * @param type         文件类型
+     * @param modifiedTime 最后修改时间（milliseconds）
+     * @return boolean
+     */
+    public boolean accept(String filename, EnumSftpFileType type, long modifiedTime) {
+        if (".".equals(filename) || "..".equals(filename)) {
+            return false;
+        }
+        if (types != null && !types.contains(type)) {
+            return false;
+        }
+        if (modifiedAfter >= 0 && modifiedTime < modifiedAfter) {
+            return false;
+        }
+        if (modifiedBefore >= 0 && modifiedTime >= modifiedBefore) {
+            return false;
+        }
+        return pattern == null || pattern.matcher(filename).matches();
+    }
+}
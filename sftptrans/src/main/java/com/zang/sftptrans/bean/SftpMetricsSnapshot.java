@@ -0,0 +1,96 @@
+package com.zang.sftptrans.bean;
+
+import lombok.Data;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 单个sftp服务器的统计指标快照
+ *
+ * @author xssdpgy
+ * @version xssdpgy: SftpMetricsSnapshot.java,v1.0 2026/10/18 20:55 xssdpgy Exp $$
+ * @since 1.0
+ */
+@Data
+public class SftpMetricsSnapshot {
+
+    /**
+     * 服务器标签（用户名@主机:端口）
+     */
+    private String server;
+
+    /**
+     * 快照时间（milliseconds）
+     */
+    private long timestamp;
+
+    /**
+     * 开始统计的时间（milliseconds）
+     */
+    private long startTime;
+
+    /**
+     * 累计上传字节数
+     */
+    private long uploadedBytes;
+
+    /**
+     * 累计下载字节数
+     */
+    private long downloadedBytes;
+
+    /**
+     * 各操作的耗时分布，键为操作编码（upload、download、ls、stat、rm、cd等）
+     */
+    private Map<String, LatencySnapshot> operations = new LinkedHashMap<>();
+
+    /**
+     * 各错误码的累计次数
+     */
+    private Map<String, Long> errors = new LinkedHashMap<>();
+
+    /**
+     * 连接池中已借出的连接数，绑定多个连接池时为合计，未绑定连接池时为-1
+     */
+    private int poolActive = -1;
+
+    /**
+     * 连接池中空闲的连接数，未绑定连接池时为-1
+     */
+    private int poolIdle = -1;
+
+    /**
+     * 等待借用连接的线程数，未绑定连接池时为-1
+     */
+    private int poolWaiters = -1;
+
+    /**
+     * 借用连接的等待耗时分布
+     */
+    private LatencySnapshot borrowWait;
+
+    /**
+     * 相对调用方保存的上一份快照计算上传速率（bytes/s），上一份快照为空时为自统计开始以来的平均速率
+     *
+     * @param previous 同一服务器的上一份快照，可为空
+     * @return double
+     */
+    public double uploadRateSince(SftpMetricsSnapshot previous) {
+        return previous == null ? rate(uploadedBytes, startTime) : rate(uploadedBytes - previous.uploadedBytes, previous.timestamp);
+    }
+
+    /**
+     * 相对调用方保存的上一份快照计算下载速率（bytes/s），上一份快照为空时为自统计开始以来的平均速率
+     *
+     * @param previous 同一服务器的上一份快照，可为空
+     * @return double
+     */
+    public double downloadRateSince(SftpMetricsSnapshot previous) {
+        return previous == null ? rate(downloadedBytes, startTime) : rate(downloadedBytes - previous.downloadedBytes, previous.timestamp);
+    }
+
+    private double rate(long bytes, long since) {
+        return bytes / (Math.max(1, timestamp - since) / 1000.0);
+    }
+}
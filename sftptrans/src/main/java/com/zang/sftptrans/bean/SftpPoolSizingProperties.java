@@ -0,0 +1,64 @@
+package com.zang.sftptrans.bean;
+
+import lombok.Data;
+
+/**
+ * sftp连接池自适应容量配置类
+ *
+ * @author xssdpgy
+ * @version xssdpgy: SftpPoolSizingProperties.java,v1.0 2026/10/18 22:40 xssdpgy Exp $$
+ * @since 1.0
+ */
+@Data
+public class SftpPoolSizingProperties {
+
+    /**
+     * 最大连接数的下限
+     */
+    private int minSize = 1;
+
+    /**
+     * 最大连接数的上限，不应超过服务端允许的连接数
+     */
+    private int maxSize = 32;
+
+    /**
+     * 调整间隔（milliseconds）
+     */
+    private long interval = 5000;
+
+    /**
+     * 平均借用等待超过该值（milliseconds）时扩容
+     */
+    private double borrowWaitThreshold = 50;
+
+    /**
+     * 每次扩容或缩容的连接数
+     */
+    private int step = 1;
+
+    /**
+     * 已借出连接数低于最大连接数的该比例时缩容
+     */
+    private double shrinkUtilization = 0.5;
+
+    /**
+     * 往返时延超过基准的该倍数时视为服务端已饱和，不再扩容
+     */
+    private double latencyDegradeRatio = 2.0;
+
+    /**
+     * 往返时延基准取最近多少个调整周期内的最低值，网络路径变化后旧的最低值随窗口滑出
+     */
+    private int baselineWindow = 60;
+
+    /**
+     * 服务端拒绝新连接时最大连接数的缩减系数
+     */
+    private double backoffFactor = 0.5;
+
+    /**
+     * 退避后暂停扩容的时间（milliseconds）
+     */
+    private long backoffCooldown = 60000;
+}
@@ -1,8 +1,15 @@
 package com.zang.sftptrans.bean;
 
+import com.jcraft.jsch.SocketFactory;
+import com.zang.sftptrans.enums.EnumCompressionPolicy;
+import com.zang.sftptrans.enums.EnumCryptoProfile;
 import com.zang.sftptrans.enums.EnumSftpAuthType;
 import lombok.Data;
 
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
 /**
  * Sftp服务端配置类
  *
@@ -69,4 +76,120 @@ public class SftpServerProperties {
      * PS：向服务器发送keep-alive消息，但接收不到任何响应的情况下，达成最大次数限制后，SSH客户端就自动断开连接并退出，将控制权交给你的监控程序
      */
     private int serverAliveCountMax = 1;
+
+    /**
+     * SSH算法组合，默认现代算法优先并保留旧算法兜底
+     * PS：可用{@link com.zang.sftptrans.sftp.SftpCryptoSelfTest}对服务端实测后选择
+     */
+    private EnumCryptoProfile cryptoProfile = EnumCryptoProfile.COMPATIBLE;
+
+    /**
+     * 密钥交换算法（逗号分隔，按优先顺序），非空时覆盖算法组合中的设置
+     */
+    private String kexAlgorithms;
+
+    /**
+     * 加密算法（逗号分隔，按优先顺序），非空时覆盖算法组合中的设置
+     */
+    private String ciphers;
+
+    /**
+     * MAC算法（逗号分隔，按优先顺序），非空时覆盖算法组合中的设置
+     */
+    private String macs;
+
+    /**
+     * 单个SSH会话上最多复用的sftp通道数，默认1即每个客户端独占一个会话
+     * PS：大于1时连接池按需建立会话，已有会话的通道数饱和后才建立新会话；取值不应超过服务端MaxSessions（OpenSSH默认10）
+     */
+    private int channelsPerSession = 1;
+
+    /**
+     * 空闲连接的探测间隔（milliseconds），大于0时连接池的驱逐线程定期对空闲连接执行限时stat，
+     * 失效连接在借用前即被替换；0表示不探测
+     */
+    private long probeInterval = 30000;
+
+    /**
+     * 单次探测的超时时间（milliseconds），远小于connectTimeout，用于发现半开连接
+     */
+    private long probeTimeout = 3000;
+
+    /**
+     * 连接池构造时是否并行预建连接至minIdle，默认否即首次借用时才建立连接
+     */
+    private boolean prewarm = false;
+
+    /**
+     * 预建连接的最大并行数
+     */
+    private int prewarmParallelism = 8;
+
+    /**
+     * 上传下载时单次读写的缓冲大小，默认256KB
+     */
+    private int transferBufferSize = 256 * 1024;
+
+    /**
+     * 按服务器复用的传输缓冲最多保留个数，超出时临时分配且用后丢弃
+     */
+    private int transferBufferPoolSize = 32;
+
+    /**
+     * SSH传输压缩策略，默认不压缩
+     * PS：压缩只在链路带宽低于压缩吞吐时缩短耗时，同机房链路建议保持OFF，跨公网的合作方链路建议ADAPTIVE
+     */
+    private EnumCompressionPolicy compressionPolicy = EnumCompressionPolicy.OFF;
+
+    /**
+     * zlib压缩级别（1-9），级别越高压缩比越大、CPU开销越高，默认1即压缩速度优先
+     */
+    private int compressionLevel = 1;
+
+    /**
+     * 自适应压缩的最小文件大小，小于该大小的文件不压缩，默认1MB
+     */
+    private long compressionMinSize = 1024 * 1024;
+
+    /**
+     * 自适应压缩时对首块采样的字节数，默认64KB
+     */
+    private int compressionSampleSize = 64 * 1024;
+
+    /**
+     * 自适应压缩的最低采样压缩比（原始大小/压缩后大小），达到该值才压缩
+     */
+    private double compressionMinRatio = 2.0;
+
+    /**
+     * 自适应压缩时直接压缩的文件扩展名（小写，不含"."）
+     */
+    private Set<String> compressibleExtensions = new HashSet<>(Arrays.asList(
+            "csv", "tsv", "txt", "dat", "log", "xml", "json", "fix", "sql"));
+
+    /**
+     * 自适应压缩时直接跳过的文件扩展名，内容已压缩，再次压缩只消耗CPU
+     */
+    private Set<String> incompressibleExtensions = new HashSet<>(Arrays.asList(
+            "gz", "tgz", "zip", "bz2", "xz", "7z", "rar", "zst", "jpg", "jpeg", "png", "gif", "mp3", "mp4", "pdf"));
+
+    /**
+     * 自定义建立SSH连接的Socket工厂，为空时使用JSch默认实现（如经代理或限速链路连接时设置）
+     */
+    private SocketFactory socketFactory;
+
+    /**
+     * 已确认存在的目录缓存容量（按服务器共享，LRU淘汰），0表示不缓存
+     */
+    private int knownDirectoryCacheSize = 1024;
+
+    /**
+     * 文件属性与目录列表缓存的有效期（milliseconds），0表示不缓存
+     */
+    private long metadataCacheTtl = 0;
+
+    /**
+     * 文件属性与目录列表缓存的最大条目数（按服务器共享，LRU淘汰）
+     */
+    private int metadataCacheSize = 10000;
 }
@@ -0,0 +1,50 @@
+package com.zang.sftptrans.bean;
+
+import com.zang.sftptrans.enums.EnumChecksumAlgorithm;
+import lombok.Data;
+
+/**
+ * sftp传输调优配置类
+ *
+ * @author xssdpgy
+ * @version xssdpgy: SftpTransferProperties.java,v1.0 2026/10/18 9:40 xssdpgy Exp $$
+ * @since 1.0
+ */
+@Data
+public class SftpTransferProperties {
+
+    /**
+     * 启用分段上传/下载的文件大小阈值，小于该值时使用单连接传输，默认64MB
+     */
+    private long segmentThreshold = 64L * 1024 * 1024;
+
+    /**
+     * 单个分段的最小大小，默认16MB
+     */
+    private long minSegmentSize = 16L * 1024 * 1024;
+
+    /**
+     * 单个文件最多同时使用的连接数（分段数）
+     */
+    private int maxSegments = 4;
+
+    /**
+     * 批量传输的最大并发数（同时借用的连接数）
+     */
+    private int batchParallelism = 8;
+
+    /**
+     * 批量传输时同步计算的校验和算法，为空时不计算
+     */
+    private EnumChecksumAlgorithm checksumAlgorithm;
+
+    /**
+     * 批量传输时是否与服务端计算的校验和比对
+     */
+    private boolean verifyRemoteChecksum;
+
+    /**
+     * 服务器间中转时读写两端之间的内存环形缓冲大小，默认4MB，与文件大小无关
+     */
+    private int relayBufferSize = 4 * 1024 * 1024;
+}
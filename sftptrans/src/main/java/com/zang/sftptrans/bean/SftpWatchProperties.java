@@ -0,0 +1,39 @@
+package com.zang.sftptrans.bean;
+
+import lombok.Data;
+
+/**
+ * sftp目录监听配置类
+ *
+ * @author xssdpgy
+ * @version xssdpgy: SftpWatchProperties.java,v1.0 2026/10/19 2:30 xssdpgy Exp $$
+ * @since 1.0
+ */
+@Data
+public class SftpWatchProperties {
+
+    /**
+     * 轮询间隔下限（milliseconds），目录有变更或有未写完的文件时按该间隔轮询
+     */
+    private long minInterval = 1000;
+
+    /**
+     * 轮询间隔上限（milliseconds）
+     */
+    private long maxInterval = 30000;
+
+    /**
+     * 目录无变更时轮询间隔的放大系数
+     */
+    private double backoffFactor = 2.0;
+
+    /**
+     * 文件大小与修改时间连续多少次轮询不变后视为写入完成，至少为1
+     */
+    private int stablePolls = 2;
+
+    /**
+     * 开始监听时目录中已有的文件是否按新增文件上报；为false时作为基线，视为已写入完成
+     */
+    private boolean reportExisting = false;
+}
@@ -0,0 +1,39 @@
+package com.zang.sftptrans.bean;
+
+import com.zang.sftptrans.enums.EnumSyncAction;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 同步计划中的单个文件
+ *
+ * @author xssdpgy
+ * @version xssdpgy: SyncEntry.java,v1.0 2026/10/18 18:45 xssdpgy Exp $$
+ * @since 1.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncEntry {
+
+    /**
+     * 相对同步根目录的路径，统一使用"/"分隔
+     */
+    private String relativePath;
+
+    /**
+     * 同步动作
+     */
+    private EnumSyncAction action;
+
+    /**
+     * 源文件大小，删除时为目标文件大小
+     */
+    private long size;
+
+    /**
+     * 源文件最后修改时间（milliseconds），删除时为目标文件修改时间
+     */
+    private long lastModifiedTime;
+}
@@ -0,0 +1,71 @@
+package com.zang.sftptrans.bean;
+
+import com.zang.sftptrans.enums.EnumSyncAction;
+import com.zang.sftptrans.enums.EnumTransferDirection;
+import lombok.Data;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 目录同步计划：源目录与目标目录按文件大小与修改时间比较后的差异
+ *
+ * @author xssdpgy
+ * @version xssdpgy: SyncPlan.java,v1.0 2026/10/18 18:50 xssdpgy Exp $$
+ * @since 1.0
+ */
+@Data
+public class SyncPlan {
+
+    /**
+     * 同步方向：UPLOAD为本地同步到sftp，DOWNLOAD为sftp同步到本地
+     */
+    private EnumTransferDirection direction;
+
+    /**
+     * sftp目录相对root目录的路径
+     */
+    private String sftpDirectory;
+
+    /**
+     * 本地目录
+     */
+    private Path localDirectory;
+
+    /**
+     * 是否删除目标目录中源目录不存在的文件
+     */
+    private boolean deleteExtraneous;
+
+    /**
+     * 需要传输或删除的文件
+     */
+    private List<SyncEntry> entries = new ArrayList<>();
+
+    /**
+     * 无需处理的文件数
+     */
+    private int unchanged;
+
+    /**
+     * 需要传输的总字节数
+     */
+    private long transferBytes;
+
+    /**
+     * 统计指定动作的文件数
+     *
+     * @param action 同步动作
+     * @return int
+     */
+    public int count(EnumSyncAction action) {
+        int count = 0;
+        for (SyncEntry entry : entries) {
+            if (entry.getAction() == action) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,56 @@
+package com.zang.sftptrans.bean;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 目录同步结果
+ *
+ * @author xssdpgy
+ * @version xssdpgy: SyncResult.java,v1.0 2026/10/18 18:55 xssdpgy Exp $$
+ * @since 1.0
+ */
+@Data
+public class SyncResult {
+
+    /**
+     * 执行的同步计划
+     */
+    private SyncPlan plan;
+
+    /**
+     * 是否仅生成计划而未执行
+     */
+    private boolean dryRun;
+
+    /**
+     * 新增与更新文件的传输结果，dry-run时为空
+     */
+    private BatchTransferResult transfer;
+
+    /**
+     * 已删除的文件数
+     */
+    private int deleted;
+
+    /**
+     * 删除失败的文件相对路径
+     */
+    private List<String> deleteFailures = new ArrayList<>();
+
+    /**
+     * 同步总耗时（milliseconds）
+     */
+    private long elapsedMillis;
+
+    /**
+     * 是否全部成功
+     *
+     * @return boolean
+     */
+    public boolean isAllSucceeded() {
+        return (transfer == null || transfer.isAllSucceeded()) && deleteFailures.isEmpty();
+    }
+}
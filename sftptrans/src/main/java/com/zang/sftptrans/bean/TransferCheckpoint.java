@@ -0,0 +1,56 @@
+package com.zang.sftptrans.bean;
+
+import com.zang.sftptrans.enums.EnumTransferDirection;
+import lombok.Data;
+
+/**
+ * 断点续传检查点
+ *
+ * @author xssdpgy
+ * @version xssdpgy: TransferCheckpoint.java,v1.0 2026/10/18 13:15 xssdpgy Exp $$
+ * @since 1.0
+ */
+@Data
+public class TransferCheckpoint {
+
+    /**
+     * 传输方向
+     */
+    private EnumTransferDirection direction;
+
+    /**
+     * sftp文件全路径
+     */
+    private String remotePath;
+
+    /**
+     * 本地文件路径，流式上传时为空
+     */
+    private String localPath;
+
+    /**
+     * 传输源文件大小，下载时为远程文件大小，上传时为本地文件大小，未知时为-1
+     */
+    private long size = -1;
+
+    /**
+     * 传输源文件最后修改时间（milliseconds），未知时为-1
+     */
+    private long lastModifiedTime = -1;
+
+    /**
+     * 已确认写入目标端的字节数
+     */
+    private long offset;
+
+    /**
+     * 判断传输源文件是否与检查点记录一致
+     *
+     * @param size             当前文件大小
+     * @param lastModifiedTime 当前文件最后修改时间
+     * @return boolean
+     */
+    public boolean matches(long size, long lastModifiedTime) {
+        return this.size == size && this.lastModifiedTime == lastModifiedTime;
+    }
+}
@@ -0,0 +1,49 @@
+package com.zang.sftptrans.bean;
+
+import com.zang.sftptrans.enums.EnumChecksumAlgorithm;
+import lombok.Data;
+
+/**
+ * 传输过程中计算的校验和
+ *
+ * @author xssdpgy
+ * @version xssdpgy: TransferChecksum.java,v1.0 2026/10/18 19:35 xssdpgy Exp $$
+ * @since 1.0
+ */
+@Data
+public class TransferChecksum {
+
+    /**
+     * 校验和算法
+     */
+    private EnumChecksumAlgorithm algorithm;
+
+    /**
+     * 传输时计算的校验和（小写十六进制）
+     */
+    private String value;
+
+    /**
+     * 服务端计算的校验和，未校验或服务端无法提供时为空
+     */
+    private String remoteValue;
+
+    /**
+     * 服务器间中转时源服务端计算的校验和，非中转、未校验或服务端无法提供时为空
+     */
+    private String sourceValue;
+
+    /**
+     * 传输的字节数
+     */
+    private long bytes;
+
+    /**
+     * 是否已与服务端校验和比对一致
+     *
+     * @return boolean
+     */
+    public boolean isVerified() {
+        return remoteValue != null && remoteValue.equalsIgnoreCase(value);
+    }
+}
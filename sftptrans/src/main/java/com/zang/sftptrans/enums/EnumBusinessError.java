@@ -20,6 +20,8 @@ public enum EnumBusinessError {
     SFTP_DELETE_FILE_FAILURE("1004", "sftp删除文件失败"),
     SFTP_NOT_INITIALIZED("1005", "获取sftp服务会话失败"),
     SFTP_GET_CLIENT_FAILURE("1006", "获取sftp实例失败"),
+    SFTP_CHECKSUM_MISMATCH("1007", "sftp文件校验和不一致"),
+    SFTP_SERVER_NOT_REGISTERED("1008", "sftp服务器未登记：{}"),
 
     ;
 
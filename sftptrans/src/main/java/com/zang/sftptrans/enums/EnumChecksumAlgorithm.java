@@ -0,0 +1,69 @@
+package com.zang.sftptrans.enums;
+
+import com.zang.sftptrans.util.Crc32cDigest;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * 传输校验和算法
+ *
+ * @author xssdpgy
+ * @version xssdpgy: EnumChecksumAlgorithm.java,v1.0 2026/10/18 19:25 xssdpgy Exp $$
+ * @since 1.0
+ */
+@Getter
+@AllArgsConstructor
+public enum EnumChecksumAlgorithm {
+    MD5("1", "MD5", "md5sum"),
+    SHA256("2", "SHA-256", "sha256sum"),
+    CRC32C("3", Crc32cDigest.ALGORITHM, null);
+
+    /**
+     * 状态码
+     */
+    private String code;
+
+    /**
+     * 算法名称
+     */
+    private String description;
+
+    /**
+     * 服务端计算摘要的命令，为空时服务端无法提供
+     */
+    private String remoteCommand;
+
+    /**
+     * 创建摘要实例
+     *
+     * @return java.security.MessageDigest
+     */
+    public MessageDigest newDigest() {
+        if (this == CRC32C) {
+            return new Crc32cDigest();
+        }
+        try {
+            return MessageDigest.getInstance(description);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("unsupported checksum algorithm " + description, e);
+        }
+    }
+
+    /**
+     * 根据编码查找枚举
+     *
+     * @param code 编码
+     * @return {@link EnumChecksumAlgorithm } 实例
+     **/
+    public static EnumChecksumAlgorithm find(String code) {
+        for (EnumChecksumAlgorithm instance : EnumChecksumAlgorithm.values()) {
+            if (instance.getCode().equals(code)) {
+                return instance;
+            }
+        }
+        return null;
+    }
+}
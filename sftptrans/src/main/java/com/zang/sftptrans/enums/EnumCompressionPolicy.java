@@ -0,0 +1,44 @@
+package com.zang.sftptrans.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * SSH传输压缩策略
+ *
+ * @author xssdpgy
+ * @version xssdpgy: EnumCompressionPolicy.java,v1.0 2026/10/18 23:40 xssdpgy Exp $$
+ * @since 1.0
+ */
+@Getter
+@AllArgsConstructor
+public enum EnumCompressionPolicy {
+    OFF("1", "不压缩"),
+    ALWAYS("2", "始终压缩"),
+    ADAPTIVE("3", "按文件扩展名、大小与首块采样的可压缩比选择");
+
+    /**
+     * 状态码
+     */
+    private String code;
+
+    /**
+     * 状态描述
+     */
+    private String description;
+
+    /**
+     * 根据编码查找枚举
+     *
+     * @param code 编码
+     * @return {@link EnumCompressionPolicy } 实例
+     **/
+    public static EnumCompressionPolicy find(String code) {
+        for (EnumCompressionPolicy instance : EnumCompressionPolicy.values()) {
+            if (instance.getCode().equals(code)) {
+                return instance;
+            }
+        }
+        return null;
+    }
+}
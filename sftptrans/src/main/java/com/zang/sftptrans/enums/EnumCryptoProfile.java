@@ -0,0 +1,76 @@
+package com.zang.sftptrans.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * SSH密钥交换、加密与MAC算法的预设组合
+ * <p>
+ * 各算法按优先顺序排列，握手时选用服务端也支持的第一个；本地JCE不可用的算法由JSch自动剔除。
+ * 算法为空时使用JSch默认顺序
+ *
+ * @author xssdpgy
+ * @version xssdpgy: EnumCryptoProfile.java,v1.0 2026/10/19 0:20 xssdpgy Exp $$
+ * @since 1.0
+ */
+@Getter
+@AllArgsConstructor
+public enum EnumCryptoProfile {
+    LEGACY("1", "仅DH group1密钥交换，加密与MAC使用JSch默认顺序",
+            "diffie-hellman-group1-sha1",
+            null,
+            null),
+    COMPATIBLE("2", "现代算法优先，保留旧算法兜底",
+            "ecdh-sha2-nistp256,ecdh-sha2-nistp384,ecdh-sha2-nistp521,diffie-hellman-group14-sha1,"
+                    + "diffie-hellman-group-exchange-sha256,diffie-hellman-group-exchange-sha1,diffie-hellman-group1-sha1",
+            "aes128-ctr,aes192-ctr,aes256-ctr,aes128-cbc,aes192-cbc,aes256-cbc,3des-ctr,3des-cbc,blowfish-cbc",
+            "hmac-sha2-256,hmac-sha1,hmac-md5,hmac-sha1-96,hmac-md5-96"),
+    FAST("3", "速度优先：椭圆曲线密钥交换、AES-128与HMAC-SHA1",
+            "ecdh-sha2-nistp256,diffie-hellman-group14-sha1,diffie-hellman-group1-sha1",
+            "aes128-ctr,aes128-cbc,aes256-ctr",
+            "hmac-sha1,hmac-sha2-256,hmac-md5"),
+    SECURE("4", "安全优先：不使用SHA-1、CBC模式与1024位DH",
+            "ecdh-sha2-nistp521,ecdh-sha2-nistp384,ecdh-sha2-nistp256,diffie-hellman-group-exchange-sha256",
+            "aes256-ctr,aes192-ctr,aes128-ctr",
+            "hmac-sha2-256");
+
+    /**
+     * 状态码
+     */
+    private String code;
+
+    /**
+     * 状态描述
+     */
+    private String description;
+
+    /**
+     * 密钥交换算法
+     */
+    private String kex;
+
+    /**
+     * 加密算法（两个方向相同）
+     */
+    private String ciphers;
+
+    /**
+     * MAC算法（两个方向相同）
+     */
+    private String macs;
+
+    /**
+     * 根据编码查找枚举
+     *
+     * @param code 编码
+     * @return {@link EnumCryptoProfile } 实例
+     **/
+    public static EnumCryptoProfile find(String code) {
+        for (EnumCryptoProfile instance : EnumCryptoProfile.values()) {
+            if (instance.getCode().equals(code)) {
+                return instance;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,45 @@
+package com.zang.sftptrans.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 监听目录的变更类型
+ *
+ * @author xssdpgy
+ * @version xssdpgy: EnumDirectoryChangeType.java,v1.0 2026/10/19 2:30 xssdpgy Exp $$
+ * @since 1.0
+ */
+@Getter
+@AllArgsConstructor
+public enum EnumDirectoryChangeType {
+    CREATED("1", "新增"),
+    MODIFIED("2", "修改"),
+    DELETED("3", "删除"),
+    COMPLETED("4", "写入完成");
+
+    /**
+     * 状态码
+     */
+    private String code;
+
+    /**
+     * 状态描述
+     */
+    private String description;
+
+    /**
+     * 根据编码查找枚举
+     *
+     * @param code 编码
+     * @return {@link EnumDirectoryChangeType } 实例
+     **/
+    public static EnumDirectoryChangeType find(String code) {
+        for (EnumDirectoryChangeType instance : EnumDirectoryChangeType.values()) {
+            if (instance.getCode().equals(code)) {
+                return instance;
+            }
+        }
+        return null;
+    }
+}
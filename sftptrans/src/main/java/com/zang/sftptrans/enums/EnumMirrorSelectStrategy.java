@@ -0,0 +1,43 @@
+package com.zang.sftptrans.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 镜像组成员选择策略
+ *
+ * @author xssdpgy
+ * @version xssdpgy: EnumMirrorSelectStrategy.java,v1.0 2026/10/18 22:10 xssdpgy Exp $$
+ * @since 1.0
+ */
+@Getter
+@AllArgsConstructor
+public enum EnumMirrorSelectStrategy {
+    LEAST_LOADED("1", "已借出连接最少"),
+    LOWEST_LATENCY("2", "往返时延最低");
+
+    /**
+     * 状态码
+     */
+    private String code;
+
+    /**
+     * 状态描述
+     */
+    private String description;
+
+    /**
+     * 根据编码查找枚举
+     *
+     * @param code 编码
+     * @return {@link EnumMirrorSelectStrategy } 实例
+     **/
+    public static EnumMirrorSelectStrategy find(String code) {
+        for (EnumMirrorSelectStrategy instance : EnumMirrorSelectStrategy.values()) {
+            if (instance.getCode().equals(code)) {
+                return instance;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,45 @@
+package com.zang.sftptrans.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 连接池容量调整决策
+ *
+ * @author xssdpgy
+ * @version xssdpgy: EnumPoolSizeDecision.java,v1.0 2026/10/18 22:40 xssdpgy Exp $$
+ * @since 1.0
+ */
+@Getter
+@AllArgsConstructor
+public enum EnumPoolSizeDecision {
+    HOLD("1", "保持"),
+    GROW("2", "扩容"),
+    SHRINK("3", "缩容"),
+    BACKOFF("4", "退避");
+
+    /**
+     * 状态码
+     */
+    private String code;
+
+    /**
+     * 状态描述
+     */
+    private String description;
+
+    /**
+     * 根据编码查找枚举
+     *
+     * @param code 编码
+     * @return {@link EnumPoolSizeDecision } 实例
+     **/
+    public static EnumPoolSizeDecision find(String code) {
+        for (EnumPoolSizeDecision instance : EnumPoolSizeDecision.values()) {
+            if (instance.getCode().equals(code)) {
+                return instance;
+            }
+        }
+        return null;
+    }
+}
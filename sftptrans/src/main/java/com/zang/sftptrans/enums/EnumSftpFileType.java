@@ -0,0 +1,65 @@
+package com.zang.sftptrans.enums;
+
+import com.jcraft.jsch.SftpATTRS;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * sftp文件类型
+ *
+ * @author xssdpgy
+ * @version xssdpgy: EnumSftpFileType.java,v1.0 2026/10/18 17:40 xssdpgy Exp $$
+ * @since 1.0
+ */
+@Getter
+@AllArgsConstructor
+public enum EnumSftpFileType {
+    FILE("1", "普通文件"),
+    DIRECTORY("2", "目录"),
+    LINK("3", "符号链接"),
+    OTHER("9", "其他");
+
+    /**
+     * 状态码
+     */
+    private String code;
+
+    /**
+     * 状态描述
+     */
+    private String description;
+
+    /**
+     * 根据编码查找枚举
+     *
+     * @param code 编码
+     * @return {@link EnumSftpFileType } 实例
+     **/
+    public static EnumSftpFileType find(String code) {
+        for (EnumSftpFileType instance : EnumSftpFileType.values()) {
+            if (instance.getCode().equals(code)) {
+                return instance;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 根据文件属性判断文件类型
+     *
+     * @param attrs 文件属性
+     * @return {@link EnumSftpFileType } 实例
+     */
+    public static EnumSftpFileType of(SftpATTRS attrs) {
+        if (attrs.isLink()) {
+            return LINK;
+        }
+        if (attrs.isDir()) {
+            return DIRECTORY;
+        }
+        if (attrs.isReg()) {
+            return FILE;
+        }
+        return OTHER;
+    }
+}
@@ -0,0 +1,49 @@
+package com.zang.sftptrans.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * sftp操作类型，用于区分各操作的耗时统计
+ *
+ * @author xssdpgy
+ * @version xssdpgy: EnumSftpOperation.java,v1.0 2026/10/18 20:40 xssdpgy Exp $$
+ * @since 1.0
+ */
+@Getter
+@AllArgsConstructor
+public enum EnumSftpOperation {
+    UPLOAD("upload", "上传"),
+    DOWNLOAD("download", "下载"),
+    LS("ls", "列出目录"),
+    STAT("stat", "查询属性"),
+    RM("rm", "删除"),
+    CD("cd", "切换目录"),
+    MKDIR("mkdir", "创建目录"),
+    RENAME("rename", "重命名");
+
+    /**
+     * 状态码，同时作为统计指标的operation标签值
+     */
+    private String code;
+
+    /**
+     * 状态描述
+     */
+    private String description;
+
+    /**
+     * 根据编码查找枚举
+     *
+     * @param code 编码
+     * @return {@link EnumSftpOperation } 实例
+     **/
+    public static EnumSftpOperation find(String code) {
+        for (EnumSftpOperation instance : EnumSftpOperation.values()) {
+            if (instance.getCode().equals(code)) {
+                return instance;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,44 @@
+package com.zang.sftptrans.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 目录同步动作
+ *
+ * @author xssdpgy
+ * @version xssdpgy: EnumSyncAction.java,v1.0 2026/10/18 18:40 xssdpgy Exp $$
+ * @since 1.0
+ */
+@Getter
+@AllArgsConstructor
+public enum EnumSyncAction {
+    CREATE("1", "新增"),
+    UPDATE("2", "更新"),
+    DELETE("3", "删除");
+
+    /**
+     * 状态码
+     */
+    private String code;
+
+    /**
+     * 状态描述
+     */
+    private String description;
+
+    /**
+     * 根据编码查找枚举
+     *
+     * @param code 编码
+     * @return {@link EnumSyncAction } 实例
+     **/
+    public static EnumSyncAction find(String code) {
+        for (EnumSyncAction instance : EnumSyncAction.values()) {
+            if (instance.getCode().equals(code)) {
+                return instance;
+            }
+        }
+        return null;
+    }
+}
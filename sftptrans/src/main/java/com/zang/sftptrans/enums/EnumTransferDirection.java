@@ -0,0 +1,43 @@
+package com.zang.sftptrans.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * sftp文件传输方向
+ *
+ * @author xssdpgy
+ * @version xssdpgy: EnumTransferDirection.java,v1.0 2026/10/18 13:10 xssdpgy Exp $$
+ * @since 1.0
+ */
+@Getter
+@AllArgsConstructor
+public enum EnumTransferDirection {
+    UPLOAD("1", "上传"),
+    DOWNLOAD("2", "下载");
+
+    /**
+     * 状态码
+     */
+    private String code;
+
+    /**
+     * 状态描述
+     */
+    private String description;
+
+    /**
+     * 根据编码查找枚举
+     *
+     * @param code 编码
+     * @return {@link EnumTransferDirection } 实例
+     **/
+    public static EnumTransferDirection find(String code) {
+        for (EnumTransferDirection instance : EnumTransferDirection.values()) {
+            if (instance.getCode().equals(code)) {
+                return instance;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,89 @@
+package com.zang.sftptrans.file;
+
+import com.jcraft.jsch.SftpProgressMonitor;
+import com.zang.sftptrans.enums.EnumTransferDirection;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 多连接分段传输的合并进度监控
+ * <p>
+ * 整个文件作为一个传输登记到{@link TransferProgressRegistry}，每个分段使用{@link #newSegmentMonitor()}创建的监控，
+ * 传输量汇总到同一个进度中
+ *
+ * @author xssdpgy
+ * @version xssdpgy: CombinedProgressMonitor.java,v1.0 2026/10/18 9:55 xssdpgy Exp $$
+ * @since 1.0
+ */
+@Slf4j
+public class CombinedProgressMonitor {
+
+    /**
+     * 传输方向
+     */
+    private final EnumTransferDirection direction;
+    /**
+     * 传输文件名称
+     */
+    private final String name;
+    /**
+     * 记录文件总大小
+     */
+    private final long total;
+    /**
+     * 登记到全局传输登记表中的进度，各分段共同累加
+     */
+    private volatile TransferProgress progress;
+
+    public CombinedProgressMonitor(EnumTransferDirection direction, String name, long total) {
+        this.direction = direction;
+        this.name = name;
+        this.total = total;
+    }
+
+    /**
+     * 传输开始
+     *
+     * @param segments 分段数量
+     */
+    public void start(int segments) {
+        log.debug("Start transmitting {} with {} segments...", name, segments);
+        progress = TransferProgressRegistry.getDefault().start(direction, name, null, total);
+    }
+
+    /**
+     * 创建单个分段使用的进度监控
+     *
+     * @return com.jcraft.jsch.SftpProgressMonitor
+     */
+    public SftpProgressMonitor newSegmentMonitor() {
+        TransferProgress combined = progress;
+        return new SftpProgressMonitor() {
+            @Override
+            public void init(int op, String src, String dest, long max) {
+                // 总大小由合并监控统一记录
+            }
+
+            @Override
+            public boolean count(long count) {
+                combined.add(count);
+                return true;
+            }
+
+            @Override
+            public void end() {
+                // 分段结束时不单独登记
+            }
+        };
+    }
+
+    /**
+     * 传输结束，无论成功与否都需调用
+     */
+    public void end() {
+        TransferProgressRegistry.getDefault().complete(progress);
+    }
+
+    public long getTransmitted() {
+        return progress.getTransmitted();
+    }
+}
@@ -0,0 +1,40 @@
+package com.zang.sftptrans.file;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 以日志输出传输进度的监听器
+ * <p>
+ * 开始与结束打印INFO日志，进度按登记表的采样间隔打印；总大小未知（如流式上传）时进度只打印DEBUG日志。
+ * 使用方式：{@code TransferProgressRegistry.getDefault().addListener(new LoggingProgressListener())}
+ *
+ * @author xssdpgy
+ * @version xssdpgy: LoggingProgressListener.java,v1.0 2026/10/18 21:40 xssdpgy Exp $$
+ * @since 1.0
+ */
+@Slf4j
+public class LoggingProgressListener implements TransferProgressListener {
+
+    @Override
+    public void onStart(TransferProgress progress) {
+        log.info("Start transmitting {}, total={}", progress, progress.getTotal());
+    }
+
+    @Override
+    public void onProgress(TransferProgress progress) {
+        long transmitted = progress.getTransmitted();
+        if (progress.getTotal() > 0) {
+            if (transmitted < progress.getTotal()) {
+                log.info("Transmitting report of {}: {}%", progress, String.format("%.2f", progress.getPercent()));
+            }
+        } else if (log.isDebugEnabled()) {
+            log.debug("Transmitting report of {}: total unknown, transmitted={}", progress, transmitted);
+        }
+    }
+
+    @Override
+    public void onComplete(TransferProgress progress) {
+        log.info("Transmission of {} completion time: {}ms, transmitted={}", progress, progress.getElapsedMillis(),
+                progress.getTransmitted());
+    }
+}
@@ -0,0 +1,168 @@
+package com.zang.sftptrans.file;
+
+import com.zang.sftptrans.bean.TransferCheckpoint;
+import com.zang.sftptrans.enums.EnumTransferDirection;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+import java.util.UUID;
+
+/**
+ * 断点续传本地检查点日志
+ * <p>
+ * 每个传输任务对应目录下的一个properties文件，记录远程路径、源文件大小/修改时间及已确认的偏移量；
+ * 日志读写失败只打印告警，不影响传输本身
+ *
+ * @author xssdpgy
+ * @version xssdpgy: TransferCheckpointJournal.java,v1.0 2026/10/18 13:25 xssdpgy Exp $$
+ * @since 1.0
+ */
+@Slf4j
+public class TransferCheckpointJournal {
+
+    /**
+     * 默认每传输8MB记录一次检查点
+     */
+    public static final long DEFAULT_CHECKPOINT_INTERVAL = 8L * 1024 * 1024;
+
+    private static final String FILE_SUFFIX = ".checkpoint";
+
+    private static final String KEY_DIRECTION = "direction";
+    private static final String KEY_REMOTE_PATH = "remotePath";
+    private static final String KEY_LOCAL_PATH = "localPath";
+    private static final String KEY_SIZE = "size";
+    private static final String KEY_LAST_MODIFIED_TIME = "lastModifiedTime";
+    private static final String KEY_OFFSET = "offset";
+
+    /**
+     * 检查点文件目录
+     */
+    private final Path directory;
+
+    /**
+     * 记录检查点的字节间隔
+     */
+    private final long checkpointInterval;
+
+    public TransferCheckpointJournal(Path directory) {
+        this(directory, DEFAULT_CHECKPOINT_INTERVAL);
+    }
+
+    public TransferCheckpointJournal(Path directory, long checkpointInterval) {
+        if (checkpointInterval <= 0) {
+            throw new IllegalArgumentException("The param 'checkpointInterval' must be positive.");
+        }
+        this.directory = directory;
+        this.checkpointInterval = checkpointInterval;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to create checkpoint directory " + directory + " .");
+        }
+    }
+
+    public long getCheckpointInterval() {
+        return checkpointInterval;
+    }
+
+    /**
+     * 创建新的检查点（不落盘）
+     *
+     * @param direction  传输方向
+     * @param remotePath sftp文件全路径
+     * @param localPath  本地文件路径，可为空
+     * @return com.zang.sftptrans.bean.TransferCheckpoint
+     */
+    public TransferCheckpoint create(EnumTransferDirection direction, String remotePath, Path localPath) {
+        TransferCheckpoint checkpoint = new TransferCheckpoint();
+        checkpoint.setDirection(direction);
+        checkpoint.setRemotePath(remotePath);
+        checkpoint.setLocalPath(localPath == null ? null : localPath.toAbsolutePath().toString());
+        return checkpoint;
+    }
+
+    /**
+     * 读取检查点，不存在或已损坏时返回null
+     *
+     * @param direction  传输方向
+     * @param remotePath sftp文件全路径
+     * @param localPath  本地文件路径，可为空
+     * @return com.zang.sftptrans.bean.TransferCheckpoint
+     */
+    public TransferCheckpoint load(EnumTransferDirection direction, String remotePath, Path localPath) {
+        TransferCheckpoint checkpoint = create(direction, remotePath, localPath);
+        Path file = checkpointFile(checkpoint);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        Properties props = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            props.load(in);
+            if (!StringUtils.equals(remotePath, props.getProperty(KEY_REMOTE_PATH))
+                    || !StringUtils.equals(checkpoint.getLocalPath(), props.getProperty(KEY_LOCAL_PATH))) {
+                return null;
+            }
+            checkpoint.setSize(Long.parseLong(props.getProperty(KEY_SIZE)));
+            checkpoint.setLastModifiedTime(Long.parseLong(props.getProperty(KEY_LAST_MODIFIED_TIME)));
+            checkpoint.setOffset(Long.parseLong(props.getProperty(KEY_OFFSET)));
+            return checkpoint;
+        } catch (IOException | RuntimeException e) {
+            log.warn("读取断点续传检查点{}失败！原因：{}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 保存检查点，先写临时文件再替换，避免中途失败留下损坏的检查点
+     *
+     * @param checkpoint 检查点
+     */
+    public void save(TransferCheckpoint checkpoint) {
+        Properties props = new Properties();
+        props.setProperty(KEY_DIRECTION, checkpoint.getDirection().getCode());
+        props.setProperty(KEY_REMOTE_PATH, checkpoint.getRemotePath());
+        if (checkpoint.getLocalPath() != null) {
+            props.setProperty(KEY_LOCAL_PATH, checkpoint.getLocalPath());
+        }
+        props.setProperty(KEY_SIZE, String.valueOf(checkpoint.getSize()));
+        props.setProperty(KEY_LAST_MODIFIED_TIME, String.valueOf(checkpoint.getLastModifiedTime()));
+        props.setProperty(KEY_OFFSET, String.valueOf(checkpoint.getOffset()));
+        Path file = checkpointFile(checkpoint);
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                props.store(out, null);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("保存断点续传检查点{}失败！原因：{}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * 传输完成后删除检查点
+     *
+     * @param checkpoint 检查点
+     */
+    public void remove(TransferCheckpoint checkpoint) {
+        Path file = checkpointFile(checkpoint);
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("删除断点续传检查点{}失败！原因：{}", file, e.getMessage());
+        }
+    }
+
+    private Path checkpointFile(TransferCheckpoint checkpoint) {
+        String key = checkpoint.getDirection().getCode() + "|" + checkpoint.getRemotePath() + "|" + StringUtils.defaultString(checkpoint.getLocalPath());
+        return directory.resolve(UUID.nameUUIDFromBytes(key.getBytes(StandardCharsets.UTF_8)) + FILE_SUFFIX);
+    }
+}
@@ -0,0 +1,181 @@
+package com.zang.sftptrans.file;
+
+import com.zang.sftptrans.bean.SftpServerProperties;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.MessageDigest;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 上传下载的数据拷贝
+ * <p>
+ * 使用可配置大小的缓冲，缓冲从有界池中复用，池空时临时分配、池满时丢弃，保留的内存不超过缓冲大小乘以池容量；
+ * 本地文件通过FileChannel读写，不使用内存映射：数据仍要拷贝进缓冲交给jsch的输出流，映射省不掉这次拷贝，
+ * 且java 8无法主动解除映射，映射区要等GC回收才释放；
+ * jsch的读流每次只返回一个数据包（约32KB），下载时先填满缓冲再写入本地文件，减少写系统调用
+ *
+ * @author xssdpgy
+ * @version xssdpgy: TransferEngine.java,v1.0 2026/10/18 23:10 xssdpgy Exp $$
+ * @since 1.0
+ */
+public class TransferEngine {
+
+    /**
+     * 按服务器（用户名@主机:端口）共享的拷贝引擎
+     */
+    private static final ConcurrentMap<String, TransferEngine> ENGINES = new ConcurrentHashMap<>();
+
+    private final int bufferSize;
+
+    private final BlockingQueue<byte[]> buffers;
+
+    /**
+     * @param bufferSize     缓冲大小
+     * @param bufferPoolSize 最多保留的缓冲个数
+     */
+    public TransferEngine(int bufferSize, int bufferPoolSize) {
+        this.bufferSize = bufferSize;
+        this.buffers = new ArrayBlockingQueue<>(Math.max(1, bufferPoolSize));
+    }
+
+    /**
+     * 获取服务器对应的拷贝引擎
+     *
+     * @param properties sftp服务端配置
+     * @return com.zang.sftptrans.file.TransferEngine
+     */
+    public static TransferEngine forServer(SftpServerProperties properties) {
+        String key = properties.getUsername() + "@" + properties.getHost() + ":" + properties.getPort();
+        return ENGINES.computeIfAbsent(key, k -> new TransferEngine(properties.getTransferBufferSize(),
+                properties.getTransferBufferPoolSize()));
+    }
+
+    /**
+     * 流到流拷贝
+     *
+     * @param in     输入流
+     * @param out    输出流
+     * @param digest 同步更新的摘要，可为空
+     * @return long 拷贝的字节数
+     */
+    public long copy(InputStream in, OutputStream out, MessageDigest digest) throws IOException {
+        byte[] buffer = acquire();
+        try {
+            long total = 0;
+            int read;
+            while ((read = fill(in, buffer)) > 0) {
+                update(digest, buffer, read);
+                out.write(buffer, 0, read);
+                total += read;
+            }
+            return total;
+        } finally {
+            release(buffer);
+        }
+    }
+
+    /**
+     * 从本地文件通道的当前位置读取到输出流
+     *
+     * @param source 本地文件通道
+     * @param out    输出流
+     * @param digest 同步更新的摘要，可为空
+     * @return long 拷贝的字节数
+     */
+    public long upload(FileChannel source, OutputStream out, MessageDigest digest) throws IOException {
+        byte[] buffer = acquire();
+        try {
+            ByteBuffer wrapper = ByteBuffer.wrap(buffer);
+            long total = 0;
+            int read;
+            while ((read = source.read(wrapper)) != -1) {
+                if (read == 0) {
+                    continue;
+                }
+                update(digest, buffer, wrapper.position());
+                out.write(buffer, 0, wrapper.position());
+                total += wrapper.position();
+                wrapper.clear();
+            }
+            return total;
+        } finally {
+            release(buffer);
+        }
+    }
+
+    /**
+     * 从输入流写入本地文件通道的当前位置
+     *
+     * @param in     输入流
+     * @param target 本地文件通道
+     * @param digest 同步更新的摘要，可为空
+     * @return long 拷贝的字节数
+     */
+    public long download(InputStream in, FileChannel target, MessageDigest digest) throws IOException {
+        byte[] buffer = acquire();
+        try {
+            long total = 0;
+            int read;
+            while ((read = fill(in, buffer)) > 0) {
+                update(digest, buffer, read);
+                ByteBuffer src = ByteBuffer.wrap(buffer, 0, read);
+                while (src.hasRemaining()) {
+                    target.write(src);
+                }
+                total += read;
+            }
+            return total;
+        } finally {
+            release(buffer);
+        }
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * 当前池中空闲的缓冲个数
+     *
+     * @return int
+     */
+    public int getPooledBuffers() {
+        return buffers.size();
+    }
+
+    /**
+     * 读满缓冲或读到流末尾
+     *
+     * @return int 读取的字节数，流已结束时为0
+     */
+    private static int fill(InputStream in, byte[] buffer) throws IOException {
+        int filled = 0;
+        int read;
+        while (filled < buffer.length && (read = in.read(buffer, filled, buffer.length - filled)) != -1) {
+            filled += read;
+        }
+        return filled;
+    }
+
+    private static void update(MessageDigest digest, byte[] buffer, int length) {
+        if (digest != null) {
+            digest.update(buffer, 0, length);
+        }
+    }
+
+    private byte[] acquire() {
+        byte[] buffer = buffers.poll();
+        return buffer != null ? buffer : new byte[bufferSize];
+    }
+
+    private void release(byte[] buffer) {
+        buffers.offer(buffer);
+    }
+}
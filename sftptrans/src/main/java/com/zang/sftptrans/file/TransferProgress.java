@@ -0,0 +1,100 @@
+package com.zang.sftptrans.file;
+
+import com.zang.sftptrans.enums.EnumTransferDirection;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 单个传输的实时进度
+ * <p>
+ * 传输线程只对已传输字节数做累加，其余字段在登记时确定，可被采样线程并发读取
+ *
+ * @author xssdpgy
+ * @version xssdpgy: TransferProgress.java,v1.0 2026/10/18 21:40 xssdpgy Exp $$
+ * @since 1.0
+ */
+public class TransferProgress {
+
+    private final long id;
+
+    private final EnumTransferDirection direction;
+
+    /**
+     * 传输源，sftp路径或本地路径
+     */
+    private final String source;
+
+    /**
+     * 传输目标，sftp路径或本地路径，分段传输时为空
+     */
+    private final String destination;
+
+    /**
+     * 文件总大小，未知（如流式上传）时小于等于0
+     */
+    private final long total;
+
+    private final long startTime = System.nanoTime();
+
+    private final LongAdder transmitted = new LongAdder();
+
+    TransferProgress(long id, EnumTransferDirection direction, String source, String destination, long total) {
+        this.id = id;
+        this.direction = direction;
+        this.source = source;
+        this.destination = destination;
+        this.total = total;
+    }
+
+    /**
+     * 累加已传输字节数，传输热路径上唯一的操作
+     *
+     * @param count 本次传输的字节数
+     */
+    public void add(long count) {
+        transmitted.add(count);
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public EnumTransferDirection getDirection() {
+        return direction;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public String getDestination() {
+        return destination;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public long getTransmitted() {
+        return transmitted.sum();
+    }
+
+    public long getElapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+    }
+
+    /**
+     * 传输百分比，总大小未知时返回-1
+     *
+     * @return double
+     */
+    public double getPercent() {
+        return total > 0 ? getTransmitted() * 100.0 / total : -1;
+    }
+
+    @Override
+    public String toString() {
+        return direction.getDescription() + " " + source + (destination == null ? "" : " -> " + destination);
+    }
+}
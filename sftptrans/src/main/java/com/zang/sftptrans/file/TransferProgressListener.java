@@ -0,0 +1,38 @@
+package com.zang.sftptrans.file;
+
+/**
+ * 传输进度监听器
+ * <p>
+ * 开始与结束事件在传输线程上同步回调；进度事件由{@link TransferProgressRegistry}的采样线程按固定间隔回调，
+ * 不占用传输线程
+ *
+ * @author xssdpgy
+ * @version xssdpgy: TransferProgressListener.java,v1.0 2026/10/18 21:40 xssdpgy Exp $$
+ * @since 1.0
+ */
+public interface TransferProgressListener {
+
+    /**
+     * 传输开始
+     *
+     * @param progress 传输进度
+     */
+    default void onStart(TransferProgress progress) {
+    }
+
+    /**
+     * 采样到进行中的传输
+     *
+     * @param progress 传输进度
+     */
+    default void onProgress(TransferProgress progress) {
+    }
+
+    /**
+     * 传输结束，无论成功与否
+     *
+     * @param progress 传输进度
+     */
+    default void onComplete(TransferProgress progress) {
+    }
+}
@@ -0,0 +1,229 @@
+package com.zang.sftptrans.file;
+
+import com.jcraft.jsch.SftpProgressMonitor;
+import com.zang.sftptrans.enums.EnumTransferDirection;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 进行中传输的登记表
+ * <p>
+ * 传输开始时登记、结束时移除并计入累计值，传输过程中只对进度做累加；
+ * 注册监听器后启动一个守护采样线程，按采样间隔把所有进行中的传输回调给监听器，
+ * 未注册监听器时不会产生任何日志或采样开销
+ *
+ * @author xssdpgy
+ * @version xssdpgy: TransferProgressRegistry.java,v1.0 2026/10/18 21:40 xssdpgy Exp $$
+ * @since 1.0
+ */
+@Slf4j
+public class TransferProgressRegistry {
+
+    /**
+     * 默认采样间隔
+     */
+    private static final long DEFAULT_SAMPLE_INTERVAL = TimeUnit.SECONDS.toMillis(1);
+
+    private static final TransferProgressRegistry DEFAULT = new TransferProgressRegistry(DEFAULT_SAMPLE_INTERVAL);
+
+    private final long sampleInterval;
+
+    private final AtomicLong ids = new AtomicLong();
+
+    private final ConcurrentMap<Long, TransferProgress> active = new ConcurrentHashMap<>();
+
+    private final List<TransferProgressListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * 已结束传输的累计字节数与个数
+     */
+    private final LongAdder completedBytes = new LongAdder();
+
+    private final LongAdder completedTransfers = new LongAdder();
+
+    private ScheduledExecutorService sampler;
+
+    /**
+     * @param sampleInterval 采样间隔（毫秒）
+     */
+    public TransferProgressRegistry(long sampleInterval) {
+        this.sampleInterval = sampleInterval;
+    }
+
+    /**
+     * 全局共享的登记表，SftpClient的所有传输都登记在这里
+     *
+     * @return com.zang.sftptrans.file.TransferProgressRegistry
+     */
+    public static TransferProgressRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * 登记一个传输并通知监听器
+     *
+     * @param direction   传输方向
+     * @param source      传输源
+     * @param destination 传输目标
+     * @param total       文件总大小，未知时传0
+     * @return com.zang.sftptrans.file.TransferProgress
+     */
+    public TransferProgress start(EnumTransferDirection direction, String source, String destination, long total) {
+        TransferProgress progress = new TransferProgress(ids.incrementAndGet(), direction, source, destination, total);
+        active.put(progress.getId(), progress);
+        for (TransferProgressListener listener : listeners) {
+            try {
+                listener.onStart(progress);
+            } catch (RuntimeException e) {
+                log.warn("传输进度监听器处理开始事件失败！原因：{}", e.getMessage());
+            }
+        }
+        return progress;
+    }
+
+    /**
+     * 结束一个传输，计入累计值并通知监听器，重复调用无效
+     *
+     * @param progress 传输进度
+     */
+    public void complete(TransferProgress progress) {
+        if (active.remove(progress.getId()) == null) {
+            return;
+        }
+        completedBytes.add(progress.getTransmitted());
+        completedTransfers.increment();
+        for (TransferProgressListener listener : listeners) {
+            try {
+                listener.onComplete(progress);
+            } catch (RuntimeException e) {
+                log.warn("传输进度监听器处理结束事件失败！原因：{}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 创建登记到本表的jsch进度监控，init时登记、count时累加、end时结束，end可重复调用
+     *
+     * @return com.jcraft.jsch.SftpProgressMonitor
+     */
+    public SftpProgressMonitor newMonitor() {
+        return new SftpProgressMonitor() {
+            private TransferProgress progress;
+
+            @Override
+            public void init(int op, String src, String dest, long max) {
+                EnumTransferDirection direction = op == SftpProgressMonitor.PUT ? EnumTransferDirection.UPLOAD : EnumTransferDirection.DOWNLOAD;
+                progress = start(direction, src, dest, max);
+            }
+
+            @Override
+            public boolean count(long count) {
+                progress.add(count);
+                return true;
+            }
+
+            @Override
+            public void end() {
+                if (progress != null) {
+                    complete(progress);
+                }
+            }
+        };
+    }
+
+    /**
+     * 注册监听器，首次注册时启动采样线程
+     *
+     * @param listener 监听器
+     */
+    public synchronized void addListener(TransferProgressListener listener) {
+        listeners.add(listener);
+        if (sampler == null) {
+            sampler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "sftp-progress-sampler");
+                thread.setDaemon(true);
+                return thread;
+            });
+            sampler.scheduleWithFixedDelay(this::sample, sampleInterval, sampleInterval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 移除监听器，不再有监听器时停止采样线程
+     *
+     * @param listener 监听器
+     */
+    public synchronized void removeListener(TransferProgressListener listener) {
+        listeners.remove(listener);
+        if (listeners.isEmpty() && sampler != null) {
+            sampler.shutdownNow();
+            sampler = null;
+        }
+    }
+
+    /**
+     * 进行中的传输
+     *
+     * @return java.util.Collection<com.zang.sftptrans.file.TransferProgress>
+     */
+    public Collection<TransferProgress> getActiveTransfers() {
+        return new ArrayList<>(active.values());
+    }
+
+    public int getActiveCount() {
+        return active.size();
+    }
+
+    public long getCompletedCount() {
+        return completedTransfers.sum();
+    }
+
+    /**
+     * 所有传输（含进行中）的累计字节数
+     *
+     * @return long
+     */
+    public long getTotalTransmitted() {
+        long total = completedBytes.sum();
+        for (TransferProgress progress : active.values()) {
+            total += progress.getTransmitted();
+        }
+        return total;
+    }
+
+    /**
+     * 进行中传输的已知总大小之和，不含总大小未知的传输
+     *
+     * @return long
+     */
+    public long getActiveTotal() {
+        long total = 0;
+        for (TransferProgress progress : active.values()) {
+            total += Math.max(0, progress.getTotal());
+        }
+        return total;
+    }
+
+    private void sample() {
+        for (TransferProgress progress : active.values()) {
+            for (TransferProgressListener listener : listeners) {
+                try {
+                    listener.onProgress(progress);
+                } catch (RuntimeException e) {
+                    log.warn("传输进度监听器处理进度事件失败！原因：{}", e.getMessage());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.zang.sftptrans.metrics;
+
+import com.zang.sftptrans.bean.LatencySnapshot;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 固定分桶的耗时直方图，记录路径无锁，适合多线程高频记录
+ *
+ * @author xssdpgy
+ * @version xssdpgy: LatencyHistogram.java,v1.0 2026/10/18 20:50 xssdpgy Exp $$
+ * @since 1.0
+ */
+public class LatencyHistogram {
+
+    /**
+     * 分桶上界（milliseconds），覆盖本地亚毫秒请求到慢速链路上的大文件传输
+     */
+    private static final double[] BUCKET_BOUNDS = {1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000, 30000, 60000, 300000, Double.POSITIVE_INFINITY};
+
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final LongAdder[] buckets = new LongAdder[BUCKET_BOUNDS.length];
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder totalNanos = new LongAdder();
+
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public LatencyHistogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * 记录一次耗时
+     *
+     * @param nanos 耗时（nanoseconds）
+     */
+    public void record(long nanos) {
+        double millis = nanos / NANOS_PER_MILLI;
+        int index = 0;
+        while (millis > BUCKET_BOUNDS[index]) {
+            index++;
+        }
+        buckets[index].increment();
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    /**
+     * 生成快照，分位数按分桶上界估算
+     *
+     * @return com.zang.sftptrans.bean.LatencySnapshot
+     */
+    public LatencySnapshot snapshot() {
+        long[] cumulative = new long[buckets.length];
+        long sum = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            sum += buckets[i].sum();
+            cumulative[i] = sum;
+        }
+        double max = maxNanos.get() / NANOS_PER_MILLI;
+        LatencySnapshot snapshot = new LatencySnapshot();
+        snapshot.setCount(sum);
+        snapshot.setMean(sum == 0 ? 0 : totalNanos.sum() / NANOS_PER_MILLI / sum);
+        snapshot.setMax(max);
+        snapshot.setP50(percentile(cumulative, 0.50, max));
+        snapshot.setP95(percentile(cumulative, 0.95, max));
+        snapshot.setP99(percentile(cumulative, 0.99, max));
+        snapshot.setBucketBounds(BUCKET_BOUNDS.clone());
+        snapshot.setCumulativeCounts(cumulative);
+        return snapshot;
+    }
+
+    private static double percentile(long[] cumulative, double quantile, double max) {
+        long total = cumulative[cumulative.length - 1];
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(total * quantile);
+        for (int i = 0; i < cumulative.length; i++) {
+            if (cumulative[i] >= rank) {
+                return Math.min(BUCKET_BOUNDS[i], max);
+            }
+        }
+        return max;
+    }
+}
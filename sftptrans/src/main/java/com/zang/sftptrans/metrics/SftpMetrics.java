@@ -0,0 +1,253 @@
+package com.zang.sftptrans.metrics;
+
+import com.jcraft.jsch.SftpProgressMonitor;
+import com.zang.sftptrans.bean.SftpMetricsSnapshot;
+import com.zang.sftptrans.bean.SftpServerProperties;
+import com.zang.sftptrans.enums.EnumBusinessError;
+import com.zang.sftptrans.enums.EnumSftpOperation;
+import com.zang.sftptrans.enums.EnumTransferDirection;
+import org.apache.commons.pool2.impl.GenericObjectPool;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * sftp统计指标：传输字节数与速率、各操作耗时分布、按错误码的错误次数、连接池状态与借用等待耗时
+ * <p>
+ * 同一服务器（用户名@主机:端口）的所有客户端与连接池共享一份指标，服务器即指标的标签；
+ * 记录路径只做LongAdder累加，通过{@link #snapshot()}读取，可由定时任务写日志或转换为监控系统的指标
+ *
+ * @author xssdpgy
+ * @version xssdpgy: SftpMetrics.java,v1.0 2026/10/18 21:00 xssdpgy Exp $$
+ * @since 1.0
+ */
+public class SftpMetrics {
+
+    /**
+     * 按服务器（用户名@主机:端口）区分的指标
+     */
+    private static final ConcurrentMap<String, SftpMetrics> METRICS = new ConcurrentHashMap<>();
+
+    /**
+     * 往返时延移动平均的平滑系数
+     */
+    private static final double EWMA_ALPHA = 0.2;
+
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final String server;
+
+    private final long createdTime = System.currentTimeMillis();
+
+    private final LongAdder uploadedBytes = new LongAdder();
+
+    private final LongAdder downloadedBytes = new LongAdder();
+
+    private final Map<EnumSftpOperation, LatencyHistogram> operations = new EnumMap<>(EnumSftpOperation.class);
+
+    private final ConcurrentMap<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    private final LatencyHistogram borrowWait = new LatencyHistogram();
+
+    /**
+     * 往返时延的指数加权移动平均，以double的位存储
+     */
+    private final AtomicLong roundTripEwma = new AtomicLong();
+
+    /**
+     * 绑定的连接池，按压缩策略分池时同一服务器有多个池，快照时合计
+     */
+    private final CopyOnWriteArrayList<GenericObjectPool<?>> pools = new CopyOnWriteArrayList<>();
+
+    SftpMetrics(String server) {
+        this.server = server;
+        for (EnumSftpOperation operation : EnumSftpOperation.values()) {
+            operations.put(operation, new LatencyHistogram());
+        }
+    }
+
+    /**
+     * 获取服务器对应的统计指标
+     *
+     * @param properties sftp服务端配置
+     * @return com.zang.sftptrans.metrics.SftpMetrics
+     */
+    public static SftpMetrics forServer(SftpServerProperties properties) {
+        String key = properties.getUsername() + "@" + properties.getHost() + ":" + properties.getPort();
+        return METRICS.computeIfAbsent(key, SftpMetrics::new);
+    }
+
+    /**
+     * 所有服务器的统计指标
+     *
+     * @return java.util.Collection<com.zang.sftptrans.metrics.SftpMetrics>
+     */
+    public static Collection<SftpMetrics> all() {
+        return new ArrayList<>(METRICS.values());
+    }
+
+    public String getServer() {
+        return server;
+    }
+
+    /**
+     * 记录一次操作耗时
+     *
+     * @param operation  操作类型
+     * @param startNanos 操作开始时的System.nanoTime()
+     */
+    public void record(EnumSftpOperation operation, long startNanos) {
+        long nanos = System.nanoTime() - startNanos;
+        operations.get(operation).record(nanos);
+        if (operation == EnumSftpOperation.STAT) {
+            // 只取stat：单次请求、响应固定大小，耗时近似于往返时延；ls、rename等耗时随目录大小与服务端文件系统变化。
+            // 并发更新时偶尔丢失一次样本不影响趋势
+            double current = Double.longBitsToDouble(roundTripEwma.get());
+            double sample = nanos / NANOS_PER_MILLI;
+            double next = current == 0 ? sample : current + EWMA_ALPHA * (sample - current);
+            roundTripEwma.set(Double.doubleToLongBits(next));
+        }
+    }
+
+    /**
+     * stat耗时（含连接探测）的指数加权移动平均（milliseconds），反映服务器当前的往返时延，无样本时为0
+     *
+     * @return double
+     */
+    public double getRoundTripEwma() {
+        return Double.longBitsToDouble(roundTripEwma.get());
+    }
+
+    /**
+     * 记录一次错误
+     *
+     * @param error 错误类型
+     */
+    public void error(EnumBusinessError error) {
+        errors.computeIfAbsent(error.getCode(), k -> new LongAdder()).increment();
+    }
+
+    /**
+     * 记录传输字节数
+     *
+     * @param direction 传输方向
+     * @param bytes     字节数
+     */
+    public void transferred(EnumTransferDirection direction, long bytes) {
+        (direction == EnumTransferDirection.UPLOAD ? uploadedBytes : downloadedBytes).add(bytes);
+    }
+
+    /**
+     * 记录一次借用连接的等待耗时
+     *
+     * @param startNanos 开始借用时的System.nanoTime()
+     */
+    public void recordBorrowWait(long startNanos) {
+        borrowWait.record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * 绑定连接池，快照时合计所有绑定池的已借出、空闲与等待数
+     *
+     * @param pool 连接池
+     */
+    public void bindPool(GenericObjectPool<?> pool) {
+        pools.addIfAbsent(pool);
+    }
+
+    /**
+     * 解除绑定，连接池关闭时调用
+     *
+     * @param pool 连接池
+     */
+    public void unbindPool(GenericObjectPool<?> pool) {
+        pools.remove(pool);
+    }
+
+    /**
+     * 包装传输进度监控，在传输过程中累计字节数
+     *
+     * @param direction 传输方向
+     * @param delegate  原进度监控，可为空
+     * @return com.jcraft.jsch.SftpProgressMonitor
+     */
+    public SftpProgressMonitor monitor(EnumTransferDirection direction, SftpProgressMonitor delegate) {
+        LongAdder bytes = direction == EnumTransferDirection.UPLOAD ? uploadedBytes : downloadedBytes;
+        return new SftpProgressMonitor() {
+            @Override
+            public void init(int op, String src, String dest, long max) {
+                if (delegate != null) {
+                    delegate.init(op, src, dest, max);
+                }
+            }
+
+            @Override
+            public boolean count(long count) {
+                bytes.add(count);
+                return delegate == null || delegate.count(count);
+            }
+
+            @Override
+            public void end() {
+                if (delegate != null) {
+                    delegate.end();
+                }
+            }
+        };
+    }
+
+    public LatencyHistogram getBorrowWait() {
+        return borrowWait;
+    }
+
+    public long getErrorCount(EnumBusinessError error) {
+        LongAdder count = errors.get(error.getCode());
+        return count == null ? 0 : count.sum();
+    }
+
+    /**
+     * 生成指标快照，只读取累计值，不改变任何状态，多个调用方可各自定时快照
+     * <p>
+     * 速率由调用方保存上一份快照，通过{@link SftpMetricsSnapshot#uploadRateSince(SftpMetricsSnapshot)}等按增量计算
+     *
+     * @return com.zang.sftptrans.bean.SftpMetricsSnapshot
+     */
+    public SftpMetricsSnapshot snapshot() {
+        SftpMetricsSnapshot snapshot = new SftpMetricsSnapshot();
+        snapshot.setServer(server);
+        snapshot.setTimestamp(System.currentTimeMillis());
+        snapshot.setStartTime(createdTime);
+        snapshot.setUploadedBytes(uploadedBytes.sum());
+        snapshot.setDownloadedBytes(downloadedBytes.sum());
+        for (Map.Entry<EnumSftpOperation, LatencyHistogram> entry : operations.entrySet()) {
+            snapshot.getOperations().put(entry.getKey().getCode(), entry.getValue().snapshot());
+        }
+        for (Map.Entry<String, LongAdder> entry : new TreeMap<>(errors).entrySet()) {
+            snapshot.getErrors().put(entry.getKey(), entry.getValue().sum());
+        }
+        if (!pools.isEmpty()) {
+            int active = 0;
+            int idle = 0;
+            int waiters = 0;
+            for (GenericObjectPool<?> pool : pools) {
+                active += pool.getNumActive();
+                idle += pool.getNumIdle();
+                waiters += pool.getNumWaiters();
+            }
+            snapshot.setPoolActive(active);
+            snapshot.setPoolIdle(idle);
+            snapshot.setPoolWaiters(waiters);
+        }
+        snapshot.setBorrowWait(borrowWait.snapshot());
+        return snapshot;
+    }
+}
@@ -0,0 +1,100 @@
+package com.zang.sftptrans.metrics;
+
+import com.zang.sftptrans.bean.LatencySnapshot;
+import com.zang.sftptrans.bean.SftpMetricsSnapshot;
+import com.zang.sftptrans.enums.EnumSftpOperation;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * sftp统计指标定时日志输出
+ * <p>
+ * 按固定间隔对所有服务器的指标快照，每个服务器输出一行：区间内的上传/下载速率、累计字节数、
+ * 连接池状态、借用等待与上传/下载/ls/stat耗时的p99、各错误码累计次数。日志格式固定，可由日志采集系统解析后作图与告警；
+ * 速率由本类保存的上一份快照计算，不影响其他读取快照的调用方
+ *
+ * @author xssdpgy
+ * @version xssdpgy: SftpMetricsLogReporter.java,v1.0 2026/10/19 3:10 xssdpgy Exp $$
+ * @since 1.0
+ */
+@Slf4j
+public class SftpMetricsLogReporter implements Closeable {
+
+    private static final EnumSftpOperation[] REPORTED_OPERATIONS = {
+            EnumSftpOperation.UPLOAD, EnumSftpOperation.DOWNLOAD, EnumSftpOperation.LS, EnumSftpOperation.STAT};
+
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * 各服务器上一次输出时的快照
+     */
+    private final Map<String, SftpMetricsSnapshot> previous = new HashMap<>();
+
+    /**
+     * @param interval 输出间隔（milliseconds）
+     */
+    public SftpMetricsLogReporter(long interval) {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("输出间隔不合法：" + interval);
+        }
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "sftp-metrics-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::report, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 输出一次所有服务器的指标，一般由定时任务调用
+     */
+    public synchronized void report() {
+        try {
+            for (SftpMetrics metrics : SftpMetrics.all()) {
+                SftpMetricsSnapshot snapshot = metrics.snapshot();
+                log.info(format(snapshot, previous.get(snapshot.getServer())));
+                previous.put(snapshot.getServer(), snapshot);
+            }
+        } catch (RuntimeException e) {
+            // 异常会使定时任务终止，只打印日志
+            log.error("输出sftp统计指标异常！", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    static String format(SftpMetricsSnapshot snapshot, SftpMetricsSnapshot previous) {
+        StringBuilder sb = new StringBuilder("sftp metrics server=").append(snapshot.getServer())
+                .append(" uploadBps=").append((long) snapshot.uploadRateSince(previous))
+                .append(" downloadBps=").append((long) snapshot.downloadRateSince(previous))
+                .append(" uploadedBytes=").append(snapshot.getUploadedBytes())
+                .append(" downloadedBytes=").append(snapshot.getDownloadedBytes())
+                .append(" poolActive=").append(snapshot.getPoolActive())
+                .append(" poolIdle=").append(snapshot.getPoolIdle())
+                .append(" poolWaiters=").append(snapshot.getPoolWaiters());
+        appendLatency(sb, "borrowWait", snapshot.getBorrowWait());
+        for (EnumSftpOperation operation : REPORTED_OPERATIONS) {
+            appendLatency(sb, operation.getCode(), snapshot.getOperations().get(operation.getCode()));
+        }
+        for (Map.Entry<String, Long> error : snapshot.getErrors().entrySet()) {
+            sb.append(" error.").append(error.getKey()).append('=').append(error.getValue());
+        }
+        return sb.toString();
+    }
+
+    private static void appendLatency(StringBuilder sb, String name, LatencySnapshot latency) {
+        if (latency != null && latency.getCount() > 0) {
+            sb.append(' ').append(name).append(".count=").append(latency.getCount())
+                    .append(' ').append(name).append(".p99Ms=").append(String.format("%.2f", latency.getP99()));
+        }
+    }
+}
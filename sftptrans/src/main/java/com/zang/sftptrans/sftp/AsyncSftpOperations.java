@@ -0,0 +1,188 @@
+package com.zang.sftptrans.sftp;
+
+import com.jcraft.jsch.ChannelSftp;
+import com.jcraft.jsch.SftpATTRS;
+import com.zang.sftptrans.enums.EnumBusinessError;
+import com.zang.sftptrans.exception.BusinessException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 基于CompletableFuture的异步sftp操作
+ * <p>
+ * 每个操作在专用的有界线程池中执行，内部从连接池借用客户端并在结束后归还（连接失效时作废），
+ * 调用方无需自行管理borrowObject/returnObject；线程池队列已满时返回的future以异常结束
+ *
+ * @author xssdpgy
+ * @version xssdpgy: AsyncSftpOperations.java,v1.0 2026/10/18 17:05 xssdpgy Exp $$
+ * @since 1.0
+ */
+@Slf4j
+public class AsyncSftpOperations implements Closeable {
+
+    private final SftpClientPool pool;
+
+    private final ExecutorService executor;
+
+    /**
+     * 使用专用的有界线程池
+     *
+     * @param pool          sftp连接池
+     * @param threads       工作线程数，一般不超过连接池最大连接数
+     * @param queueCapacity 等待队列容量
+     */
+    public AsyncSftpOperations(SftpClientPool pool, int threads, int queueCapacity) {
+        this.pool = pool;
+        this.executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new SftpThreadFactory());
+    }
+
+    /**
+     * 异步将本地文件上传到sftp相对目录下
+     *
+     * @param localFilePath 本地文件
+     * @param sftpDirectory 上传目录的相对路径
+     * @return java.util.concurrent.CompletableFuture<java.nio.file.Path>
+     */
+    public CompletableFuture<Path> uploadFile(Path localFilePath, String sftpDirectory) {
+        return execute(client -> client.uploadFileToRelativePath(localFilePath, sftpDirectory));
+    }
+
+    /**
+     * 异步将文件流上传到sftp相对目录下，流由调用方负责关闭
+     *
+     * @param in            上传文件输入流
+     * @param sftpDirectory 上传目录的相对路径
+     * @param filename      上传文件名
+     * @return java.util.concurrent.CompletableFuture<java.nio.file.Path>
+     */
+    public CompletableFuture<Path> uploadStream(InputStream in, String sftpDirectory, String filename) {
+        return execute(client -> client.uploadStreamToRelativePath(in, sftpDirectory, filename));
+    }
+
+    /**
+     * 异步下载sftp文件并保存在本地
+     *
+     * @param sftpFilePath  目标文件的全路径
+     * @param localSavePath 本地保存文件路径
+     * @return java.util.concurrent.CompletableFuture<java.lang.Void>
+     */
+    public CompletableFuture<Void> download(String sftpFilePath, Path localSavePath) {
+        return execute(client -> {
+            client.downloadAsFile(sftpFilePath, localSavePath);
+            return null;
+        });
+    }
+
+    /**
+     * 异步列出目录下的文件
+     * PS：同步接口查询失败时返回null，这里与其他操作一致，future以BusinessException异常结束
+     *
+     * @param sftpDirectory 要列出的目录
+     * @return java.util.concurrent.CompletableFuture<java.util.List<com.jcraft.jsch.ChannelSftp.LsEntry>>
+     */
+    public CompletableFuture<List<ChannelSftp.LsEntry>> listFiles(String sftpDirectory) {
+        return execute(client -> {
+            List<ChannelSftp.LsEntry> files = client.listFiles(sftpDirectory);
+            if (files == null) {
+                throw new BusinessException(EnumBusinessError.SFTP_OPERATION_FAILURE.getCode(), EnumBusinessError.SFTP_OPERATION_FAILURE.getMsg());
+            }
+            return files;
+        });
+    }
+
+    /**
+     * 异步查询文件属性
+     *
+     * @param sftpFilePath 目标文件的全路径
+     * @return java.util.concurrent.CompletableFuture<com.jcraft.jsch.SftpATTRS>
+     */
+    public CompletableFuture<SftpATTRS> getFileAttrs(String sftpFilePath) {
+        return execute(client -> client.getFileAttrs(sftpFilePath));
+    }
+
+    /**
+     * 异步删除sftp中的文件
+     *
+     * @param sftpFilePath 目标文件的全路径
+     * @return java.util.concurrent.CompletableFuture<java.lang.Void>
+     */
+    public CompletableFuture<Void> delete(String sftpFilePath) {
+        return execute(client -> {
+            client.delete(sftpFilePath);
+            return null;
+        });
+    }
+
+    /**
+     * 借用客户端异步执行任意操作，操作结束后自动归还客户端
+     *
+     * @param operation 使用客户端的操作
+     * @return java.util.concurrent.CompletableFuture<T>
+     */
+    public <T> CompletableFuture<T> execute(Function<SftpClient, T> operation) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                SftpClient client = pool.borrowObject();
+                boolean broken = false;
+                try {
+                    return operation.apply(client);
+                } catch (RuntimeException e) {
+                    broken = !client.testConnect();
+                    throw e;
+                } finally {
+                    if (broken) {
+                        pool.invalidateObject(client);
+                    } else {
+                        pool.returnObject(client);
+                    }
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            log.error("异步sftp任务队列已满，拒绝执行");
+            CompletableFuture<T> future = new CompletableFuture<>();
+            future.completeExceptionally(new BusinessException(e, EnumBusinessError.SFTP_GET_CLIENT_FAILURE.getCode(), EnumBusinessError.SFTP_GET_CLIENT_FAILURE.getMsg()));
+            return future;
+        }
+    }
+
+    /**
+     * 关闭线程池，已提交的任务继续执行
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    /**
+     * 异步sftp工作线程工厂
+     */
+    private static class SftpThreadFactory implements ThreadFactory {
+
+        private static final AtomicInteger POOL_SEQ = new AtomicInteger();
+
+        private final int poolSeq = POOL_SEQ.incrementAndGet();
+
+        private final AtomicInteger threadSeq = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "sftp-async-" + poolSeq + "-" + threadSeq.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
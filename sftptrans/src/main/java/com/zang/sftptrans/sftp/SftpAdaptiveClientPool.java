@@ -0,0 +1,222 @@
+package com.zang.sftptrans.sftp;
+
+import com.zang.sftptrans.bean.SftpServerProperties;
+import com.zang.sftptrans.enums.EnumCompressionPolicy;
+import com.zang.sftptrans.exception.BusinessException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+
+import java.io.Closeable;
+import java.nio.file.Path;
+
+/**
+ * 按压缩策略分别维护压缩与不压缩连接的sftp连接池
+ * <p>
+ * SSH压缩在会话握手时协商，同一会话不能按文件切换，因此两类连接各自成池，按单个文件的判断结果借用；
+ * 策略为OFF或ALWAYS时只建立对应的一个池，另一类的借用请求也落到该池
+ *
+ * @author xssdpgy
+ * @version xssdpgy: SftpAdaptiveClientPool.java,v1.0 2026/10/18 23:40 xssdpgy Exp $$
+ * @since 1.0
+ */
+@Slf4j
+public class SftpAdaptiveClientPool implements Closeable {
+
+    private final SftpCompressionAdvisor advisor;
+
+    /**
+     * 不压缩连接池，策略为ALWAYS时为空
+     */
+    private final SftpClientPool plainPool;
+
+    /**
+     * 压缩连接池，策略为OFF时为空
+     */
+    private final SftpClientPool compressedPool;
+
+    /**
+     * 两个池同时建立时按配置均分最大连接数、最大与最小空闲数，两个池合计不超过配置的上限，
+     * 不限制（负数）的配置保持不限制；统计指标中的连接池状态为两个池之和
+     * <p>
+     * 最大连接数不足两个时无法同时建立两个池，只建立不压缩连接池
+     *
+     * @param properties
+     * @param config
+     */
+    public SftpAdaptiveClientPool(SftpServerProperties properties, GenericObjectPoolConfig<SftpClient> config) {
+        this.advisor = new SftpCompressionAdvisor(properties);
+        EnumCompressionPolicy policy = properties.getCompressionPolicy();
+        if (policy != EnumCompressionPolicy.ADAPTIVE) {
+            this.compressedPool = policy == EnumCompressionPolicy.OFF ? null
+                    : new SftpClientPool(new SftpClientFactory(properties, true), config.clone());
+            this.plainPool = policy == EnumCompressionPolicy.ALWAYS ? null
+                    : new SftpClientPool(new SftpClientFactory(properties, false), config.clone());
+            return;
+        }
+        if (config.getMaxTotal() >= 0 && config.getMaxTotal() < 2) {
+            log.warn("自适应压缩需要至少2个连接，最大连接数为{}，只建立不压缩连接池。host={}", config.getMaxTotal(), properties.getHost());
+            this.compressedPool = null;
+            this.plainPool = new SftpClientPool(new SftpClientFactory(properties, false), config.clone());
+            return;
+        }
+        GenericObjectPoolConfig<SftpClient> compressedConfig = config.clone();
+        compressedConfig.setMaxTotal(half(config.getMaxTotal()));
+        compressedConfig.setMaxIdle(half(config.getMaxIdle()));
+        compressedConfig.setMinIdle(half(config.getMinIdle()));
+        GenericObjectPoolConfig<SftpClient> plainConfig = config.clone();
+        plainConfig.setMaxTotal(rest(config.getMaxTotal()));
+        plainConfig.setMaxIdle(rest(config.getMaxIdle()));
+        plainConfig.setMinIdle(rest(config.getMinIdle()));
+        this.compressedPool = new SftpClientPool(new SftpClientFactory(properties, true), compressedConfig);
+        this.plainPool = new SftpClientPool(new SftpClientFactory(properties, false), plainConfig);
+    }
+
+    /**
+     * 借用指定类型的连接
+     *
+     * @param compressed 是否压缩
+     * @return com.zang.sftptrans.sftp.SftpClient
+     */
+    public SftpClient borrowObject(boolean compressed) {
+        return pool(compressed).borrowObject();
+    }
+
+    /**
+     * 按上传文件借用连接，扩展名无法判断时读取首块采样
+     *
+     * @param localFilePath 待上传的本地文件
+     * @return com.zang.sftptrans.sftp.SftpClient
+     */
+    public SftpClient borrowForUpload(Path localFilePath) {
+        return borrowObject(advisor.shouldCompress(localFilePath));
+    }
+
+    /**
+     * 按下载文件的文件名与大小借用连接
+     *
+     * @param sftpFilePath 待下载的sftp文件路径
+     * @param size         文件大小，未知时传-1
+     * @return com.zang.sftptrans.sftp.SftpClient
+     */
+    public SftpClient borrowForDownload(String sftpFilePath, long size) {
+        return borrowObject(advisor.shouldCompress(sftpFilePath, size));
+    }
+
+    /**
+     * 归还连接到其所属的池
+     *
+     * @param client
+     */
+    public void returnObject(SftpClient client) {
+        if (client != null) {
+            pool(client.isCompressed()).returnObject(client);
+        }
+    }
+
+    /**
+     * 销毁失效的连接
+     *
+     * @param client
+     */
+    public void invalidateObject(SftpClient client) {
+        if (client != null) {
+            pool(client.isCompressed()).invalidateObject(client);
+        }
+    }
+
+    /**
+     * 上传本地文件，按文件判断结果选择压缩或不压缩的连接
+     *
+     * @param localFilePath 本地文件
+     * @param sftpDirectory 上传目录的相对路径
+     * @return java.nio.file.Path
+     */
+    public Path uploadFileToRelativePath(Path localFilePath, String sftpDirectory) {
+        SftpClient client = borrowForUpload(localFilePath);
+        try {
+            return client.uploadFileToRelativePath(localFilePath, sftpDirectory);
+        } catch (BusinessException e) {
+            release(client);
+            client = null;
+            throw e;
+        } finally {
+            returnObject(client);
+        }
+    }
+
+    /**
+     * 下载sftp文件，按文件名与大小选择压缩或不压缩的连接
+     *
+     * @param sftpFilePath  sftp文件路径
+     * @param size          文件大小，未知时传-1
+     * @param localSavePath 本地保存路径
+     */
+    public void downloadAsFile(String sftpFilePath, long size, Path localSavePath) {
+        SftpClient client = borrowForDownload(sftpFilePath, size);
+        try {
+            client.downloadAsFile(sftpFilePath, localSavePath);
+        } catch (BusinessException e) {
+            release(client);
+            client = null;
+            throw e;
+        } finally {
+            returnObject(client);
+        }
+    }
+
+    public SftpCompressionAdvisor getAdvisor() {
+        return advisor;
+    }
+
+    /**
+     * 指定类型的连接池，该类型未建池时返回另一个池
+     *
+     * @param compressed 是否压缩
+     * @return com.zang.sftptrans.sftp.SftpClientPool
+     */
+    public SftpClientPool getPool(boolean compressed) {
+        return pool(compressed);
+    }
+
+    @Override
+    public void close() {
+        if (plainPool != null) {
+            plainPool.close();
+        }
+        if (compressedPool != null) {
+            compressedPool.close();
+        }
+    }
+
+    private SftpClientPool pool(boolean compressed) {
+        if (compressed) {
+            return compressedPool != null ? compressedPool : plainPool;
+        }
+        return plainPool != null ? plainPool : compressedPool;
+    }
+
+    /**
+     * 压缩连接池分得的份额，负数表示不限制
+     */
+    private static int half(int value) {
+        return value < 0 ? value : value / 2;
+    }
+
+    /**
+     * 不压缩连接池分得的份额，奇数时多分一个
+     */
+    private static int rest(int value) {
+        return value < 0 ? value : value - value / 2;
+    }
+
+    /**
+     * 传输失败后连接仍可用时归还，否则销毁
+     */
+    private void release(SftpClient client) {
+        if (client.testConnect()) {
+            returnObject(client);
+        } else {
+            invalidateObject(client);
+        }
+    }
+}
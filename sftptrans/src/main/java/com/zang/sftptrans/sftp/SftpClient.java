@@ -1,16 +1,31 @@
 package com.zang.sftptrans.sftp;
 
+import com.jcraft.jsch.ChannelExec;
 import com.jcraft.jsch.ChannelSftp;
 import com.jcraft.jsch.JSch;
+import com.jcraft.jsch.JSchException;
 import com.jcraft.jsch.Session;
 import com.jcraft.jsch.SftpATTRS;
 import com.jcraft.jsch.SftpException;
+import com.jcraft.jsch.SftpProgressMonitor;
 import com.zang.sftptrans.bean.SftpAuthKeyUserInfo;
+import com.zang.sftptrans.bean.SftpListFilter;
 import com.zang.sftptrans.bean.SftpServerProperties;
+import com.zang.sftptrans.bean.TransferCheckpoint;
+import com.zang.sftptrans.bean.TransferChecksum;
 import com.zang.sftptrans.enums.EnumBusinessError;
+import com.zang.sftptrans.enums.EnumChecksumAlgorithm;
+import com.zang.sftptrans.enums.EnumCompressionPolicy;
+import com.zang.sftptrans.enums.EnumCryptoProfile;
+import com.zang.sftptrans.enums.EnumSftpOperation;
+import com.zang.sftptrans.enums.EnumTransferDirection;
 import com.zang.sftptrans.exception.BusinessException;
-import com.zang.sftptrans.file.FileProgressMonitor;
+import com.zang.sftptrans.file.TransferCheckpointJournal;
+import com.zang.sftptrans.file.TransferEngine;
+import com.zang.sftptrans.file.TransferProgressRegistry;
+import com.zang.sftptrans.metrics.SftpMetrics;
 import com.zang.sftptrans.util.PathUtils;
+import com.zang.sftptrans.util.SftpAttrUtils;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
@@ -19,14 +34,28 @@ import org.apache.commons.io.IOUtils;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * sftp客户端
@@ -39,10 +68,81 @@ import java.util.concurrent.atomic.AtomicBoolean;
 @Data
 public class SftpClient {
 
+    /**
+     * 区间下载时的读缓冲大小
+     */
+    private static final int RANGE_BUFFER_SIZE = 32 * 1024;
+
+    /**
+     * 按偏移量写入远程文件的put模式
+     * PS：JSch仅在RESUME/APPEND模式下以远程文件大小修正偏移量，仅在OVERWRITE模式下以TRUNC方式打开文件，
+     * 使用其他模式值时既不截断文件也不修正偏移量，可供多个连接并发写入同一文件的不同区间
+     */
+    private static final int POSITIONAL_WRITE_MODE = 3;
+
+    /**
+     * 请求往返次数估算：cd需realpath与stat两次往返
+     */
+    private static final int RT_CD = 2;
+    /**
+     * 请求往返次数估算：stat/lstat/rm/mkdir/rename等单次往返操作
+     */
+    private static final int RT_SIMPLE = 1;
+    /**
+     * 请求往返次数估算：get/put需stat、open与close（数据读写包不计）
+     */
+    private static final int RT_TRANSFER = 3;
+    /**
+     * 请求往返次数估算：ls需stat、opendir与close（readdir分批往返不计）
+     */
+    private static final int RT_LIST = 3;
+
+    /**
+     * 原子覆盖目标文件的重命名扩展
+     */
+    private static final String POSIX_RENAME_EXTENSION = "posix-rename@openssh.com";
+
+    /**
+     * 服务端计算校验和输出结束后等待exec通道关闭的最长时间（milliseconds）
+     */
+    private static final long EXEC_CLOSE_TIMEOUT = 1000L;
+
+    /**
+     * 开启压缩时向服务端提议的压缩算法
+     */
+    private static final String COMPRESSION_ALGORITHMS = "zlib@openssh.com,zlib,none";
+    /**
+     * 按服务器与私钥文件共享的JSch实例，已解析的私钥随实例复用
+     */
+    private static final ConcurrentMap<String, JSch> JSCH_INSTANCES = new ConcurrentHashMap<>();
+    /**
+     * 执行连接探测请求的线程池，使探测可以限时
+     */
+    private static final ExecutorService PROBE_EXECUTOR = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "sftp-probe");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * exec请求等待服务端应答的超时时间（milliseconds），不支持exec的服务端据此及时拒绝而非不响应
+     */
+    private static final int EXEC_REPLY_TIMEOUT = 10000;
+
     private volatile AtomicBoolean initialized = new AtomicBoolean(false);
 
     /**
-     * sftp root目录
+     * 是否已断开，保证重复调用disconnect时只释放一次会话
+     */
+    private final AtomicBoolean disconnected = new AtomicBoolean(false);
+
+    /**
+     * 按操作类型估算的sftp请求往返次数，并非实际发出的请求数
+     */
+    private final AtomicLong estimatedRoundTrips = new AtomicLong();
+
+    /**
+     * sftp root目录的服务端绝对路径，配置为相对路径时按home目录解析
      */
     private String rootDirectory;
 
@@ -55,8 +155,62 @@ public class SftpClient {
      */
     private ChannelSftp channel;
 
+    /**
+     * 复用的SSH会话，独占会话时为空
+     */
+    private SftpSharedSession sharedSession;
+
+    /**
+     * 同一服务器共享的已知目录缓存
+     */
+    private SftpDirectoryCache directoryCache;
+
+    /**
+     * 同一服务器共享的文件属性与目录列表缓存
+     */
+    private SftpMetadataCache metadataCache;
+
+    /**
+     * 同一服务器共享的数据拷贝引擎
+     */
+    private TransferEngine transferEngine;
+
+    /**
+     * 同一服务器共享的统计指标
+     */
+    private SftpMetrics metrics;
+
+    /**
+     * 会话是否协商了SSH zlib压缩
+     */
+    private boolean compressed;
+
     public SftpClient(SftpServerProperties properties) {
-        init(properties);
+        this(properties, properties.getCompressionPolicy() == EnumCompressionPolicy.ALWAYS);
+    }
+
+    /**
+     * 建立指定是否压缩的独占会话，自适应压缩模式下由连接池分别维护压缩与不压缩的连接
+     *
+     * @param properties
+     * @param compressed 是否协商SSH zlib压缩
+     */
+    public SftpClient(SftpServerProperties properties, boolean compressed) {
+        this.compressed = compressed;
+        init(properties, null);
+        initialized.compareAndSet(false, true);
+    }
+
+    /**
+     * 在已建立的SSH会话上打开sftp通道
+     *
+     * @param properties
+     * @param sharedSession 已占用通道名额的复用会话
+     * @param compressed    复用会话是否已协商压缩
+     */
+    SftpClient(SftpServerProperties properties, SftpSharedSession sharedSession, boolean compressed) {
+        this.compressed = compressed;
+        init(properties, sharedSession);
         initialized.compareAndSet(false, true);
     }
 
@@ -64,43 +218,13 @@ public class SftpClient {
      * 初始化sftp连接
      *
      * @param properties
+     * @param sharedSession 复用的SSH会话，为空时新建独占会话
      */
-    private void init(SftpServerProperties properties) {
+    private void init(SftpServerProperties properties, SftpSharedSession sharedSession) {
+        Session session = null;
+        this.metrics = SftpMetrics.forServer(properties);
         try {
-            JSch jsch = new JSch();
-            if (StringUtils.isNotBlank(properties.getPrivateKeyFile())) {
-                jsch.addIdentity(properties.getPrivateKeyFile());
-            }
-            Session session = jsch.getSession(properties.getUsername(), properties.getHost(), properties.getPort());
-            switch (properties.getAuthType()) {
-                case PASSWORD:
-                    Objects.requireNonNull(properties.getPassword());
-                    session.setPassword(properties.getPassword());
-                    break;
-                case PUBLIC_KEY:
-                    Objects.requireNonNull(properties.getPrivateKeyFile());
-                    if (StringUtils.isBlank(properties.getPassphrase())) {
-                        throw new IllegalArgumentException("口令不为能空（私钥未加密时填任意值）");
-                    }
-                    session.setUserInfo(new SftpAuthKeyUserInfo(properties.getPassphrase()));
-                    break;
-            }
-            // 设置timeout时间
-            session.setTimeout(properties.getConnectTimeout());
-            // 设置keep-alive消息发送间隔（milliseconds）
-            session.setServerAliveCountMax(properties.getServerAliveCountMax());
-            // 设置发送keep-alive消息的最大次数
-            session.setServerAliveInterval(properties.getServerAliveInterval());
-            //第一次登陆时候，是否需要提示信息
-            session.setConfig("StrictHostKeyChecking", "no");
-            //设置ssh的DH秘钥交换
-            session.setConfig("kex", "diffie-hellman-group1-sha1");
-            //跳过Kerberos username 身份验证提示
-            session.setConfig("PreferredAuthentications", "publickey,keyboard-interactive,password");
-            // 通过Session建立链接
-            synchronized (properties) {
-                session.connect();
-            }
+            session = sharedSession == null ? openSession(properties, compressed) : sharedSession.getSession();
             // 打开SFTP通道
             ChannelSftp channel = (ChannelSftp) session.openChannel("sftp");
             // 建立SFTP通道的连接
@@ -108,16 +232,138 @@ public class SftpClient {
             if (log.isDebugEnabled()) {
                 log.debug("SSH Channel connected.session={},channel={}", session, channel);
             }
-            this.rootDirectory = properties.getRoot();
+            this.rootDirectory = absoluteRoot(channel, properties.getRoot());
             this.session = session;
             this.channel = channel;
+            this.sharedSession = sharedSession;
+            this.directoryCache = SftpDirectoryCache.forServer(properties);
+            this.metadataCache = SftpMetadataCache.forServer(properties);
+            this.transferEngine = TransferEngine.forServer(properties);
         } catch (Exception e) {
+            if (sharedSession == null && session != null) {
+                session.disconnect();
+            }
             log.error("连接SFTP服务失败！打印配置：{}", properties);
+            metrics.error(EnumBusinessError.SFTP_CONNECTION_ERROR);
             throw new BusinessException(e, EnumBusinessError.SFTP_CONNECTION_ERROR.getCode(), EnumBusinessError.SFTP_CONNECTION_ERROR.getMsg(), e.getMessage());
 
         }
     }
 
+    /**
+     * 将配置的root目录转为服务端绝对路径：相对路径按登录后的home目录解析（仅此时需一次realpath往返），
+     * 此后所有路径都在本地拼接，不依赖通道的当前目录
+     *
+     * @param channel 已连接的sftp通道
+     * @param root    配置的root目录
+     * @return java.lang.String
+     */
+    static String absoluteRoot(ChannelSftp channel, String root) throws SftpException {
+        if (StringUtils.startsWith(root, PathUtils.WIDELY_ACCEPTED_PATH_SEPARATOR)) {
+            return PathUtils.resolveRemotePath(root);
+        }
+        return PathUtils.resolveRemotePath(channel.getHome(), root);
+    }
+
+    /**
+     * 建立SSH会话
+     *
+     * @param properties
+     * @param compressed 是否协商SSH zlib压缩，服务端不支持时退化为不压缩
+     * @return com.jcraft.jsch.Session
+     */
+    static Session openSession(SftpServerProperties properties, boolean compressed) throws JSchException {
+        EnumCryptoProfile profile = properties.getCryptoProfile();
+        return openSession(properties, compressed,
+                StringUtils.defaultIfBlank(properties.getKexAlgorithms(), profile.getKex()),
+                StringUtils.defaultIfBlank(properties.getCiphers(), profile.getCiphers()),
+                StringUtils.defaultIfBlank(properties.getMacs(), profile.getMacs()));
+    }
+
+    /**
+     * 按指定算法建立SSH会话
+     *
+     * @param properties
+     * @param compressed 是否协商SSH zlib压缩
+     * @param kex        密钥交换算法，为空时使用JSch默认顺序
+     * @param ciphers    加密算法，为空时使用JSch默认顺序
+     * @param macs       MAC算法，为空时使用JSch默认顺序
+     * @return com.jcraft.jsch.Session
+     */
+    static Session openSession(SftpServerProperties properties, boolean compressed, String kex, String ciphers, String macs) throws JSchException {
+        JSch jsch = sharedJsch(properties);
+        Session session = jsch.getSession(properties.getUsername(), properties.getHost(), properties.getPort());
+        switch (properties.getAuthType()) {
+            case PASSWORD:
+                Objects.requireNonNull(properties.getPassword());
+                session.setPassword(properties.getPassword());
+                break;
+            case PUBLIC_KEY:
+                Objects.requireNonNull(properties.getPrivateKeyFile());
+                if (StringUtils.isBlank(properties.getPassphrase())) {
+                    throw new IllegalArgumentException("口令不为能空（私钥未加密时填任意值）");
+                }
+                session.setUserInfo(new SftpAuthKeyUserInfo(properties.getPassphrase()));
+                break;
+        }
+        // 设置timeout时间
+        session.setTimeout(properties.getConnectTimeout());
+        // 设置keep-alive消息发送间隔（milliseconds）
+        session.setServerAliveCountMax(properties.getServerAliveCountMax());
+        // 设置发送keep-alive消息的最大次数
+        session.setServerAliveInterval(properties.getServerAliveInterval());
+        //第一次登陆时候，是否需要提示信息
+        session.setConfig("StrictHostKeyChecking", "no");
+        //设置ssh的秘钥交换、加密与MAC算法
+        if (StringUtils.isNotBlank(kex)) {
+            session.setConfig("kex", kex);
+        }
+        if (StringUtils.isNotBlank(ciphers)) {
+            session.setConfig("cipher.s2c", ciphers);
+            session.setConfig("cipher.c2s", ciphers);
+        }
+        if (StringUtils.isNotBlank(macs)) {
+            session.setConfig("mac.s2c", macs);
+            session.setConfig("mac.c2s", macs);
+        }
+        //跳过Kerberos username 身份验证提示
+        session.setConfig("PreferredAuthentications", "publickey,keyboard-interactive,password");
+        if (compressed) {
+            // zlib@openssh.com在认证后才开始压缩，优先于zlib协商
+            session.setConfig("compression.s2c", COMPRESSION_ALGORITHMS);
+            session.setConfig("compression.c2s", COMPRESSION_ALGORITHMS);
+            session.setConfig("compression_level", String.valueOf(properties.getCompressionLevel()));
+        }
+        if (properties.getSocketFactory() != null) {
+            session.setSocketFactory(properties.getSocketFactory());
+        }
+        // 通过Session建立链接，同一服务器的多个会话可以并行握手
+        session.connect();
+        return session;
+    }
+
+    /**
+     * 获取服务器共享的JSch实例，私钥文件只在首次获取时读取解析
+     *
+     * @param properties
+     * @return com.jcraft.jsch.JSch
+     */
+    private static JSch sharedJsch(SftpServerProperties properties) throws JSchException {
+        String key = properties.getUsername() + "@" + properties.getHost() + ":" + properties.getPort()
+                + "#" + StringUtils.defaultString(properties.getPrivateKeyFile());
+        JSch jsch = JSCH_INSTANCES.get(key);
+        if (jsch != null) {
+            return jsch;
+        }
+        JSch created = new JSch();
+        if (StringUtils.isNotBlank(properties.getPrivateKeyFile())) {
+            created.addIdentity(properties.getPrivateKeyFile());
+        }
+        // 并发首次获取时可能重复解析私钥，只保留先登记的实例
+        JSch existing = JSCH_INSTANCES.putIfAbsent(key, created);
+        return existing == null ? created : existing;
+    }
+
     /**
      * 将文件流上传到sftp相对目录下，并返回全路径
      *
@@ -127,18 +373,24 @@ public class SftpClient {
      * @return
      */
     public Path uploadStreamToRelativePath(InputStream in, String sftpDirectory, String filename) {
-        changeToDirectories(rootDirectory);
-        if (StringUtils.isNotBlank(sftpDirectory)) {
-            // 判断是否存在此目录不存在则新建此目录
-            stretchIntoDirectories(PathUtils.convertToSubdirectory(sftpDirectory));
-        }
+        long startTime = System.nanoTime();
+        SftpProgressMonitor monitor = transferMonitor(EnumTransferDirection.UPLOAD);
+        String remoteDirectory = prepareDirectory(sftpDirectory);
         Path sftpPath = PathUtils.toPath(rootDirectory, sftpDirectory, filename);
-        try (OutputStream out = channel.put(filename, new FileProgressMonitor(), ChannelSftp.OVERWRITE)) {
-            IOUtils.copy(in, out);
+        String remoteFile = PathUtils.resolveRemotePath(remoteDirectory, filename);
+        try (OutputStream out = roundTrip(RT_TRANSFER).put(remoteFile, monitor, ChannelSftp.OVERWRITE)) {
+            transferEngine.copy(in, out, null);
             return sftpPath;
         } catch (SftpException | IOException e) {
+            // 目录可能已被外部删除，下次上传时重新确认
+            directoryCache.remove(remoteDirectory);
             log.error("上传SFTP文件{}失败！原因：{}", sftpPath, e.getMessage());
+            metrics.error(EnumBusinessError.SFTP_UPLOAD_FILE_FAILURE);
             throw new BusinessException(e, EnumBusinessError.SFTP_UPLOAD_FILE_FAILURE.getCode(), EnumBusinessError.SFTP_UPLOAD_FILE_FAILURE.getMsg());
+        } finally {
+            monitor.end();
+            metrics.record(EnumSftpOperation.UPLOAD, startTime);
+            metadataCache.invalidate(remoteFile);
         }
     }
 
@@ -150,21 +402,278 @@ public class SftpClient {
      * @return
      */
     public Path uploadFileToRelativePath(Path localFilePath, String sftpDirectory) {
+        long startTime = System.nanoTime();
+        SftpProgressMonitor monitor = transferMonitor(EnumTransferDirection.UPLOAD);
         PathUtils.checkReadable(localFilePath);
-        changeToDirectories(rootDirectory);
-        if (StringUtils.isNotBlank(sftpDirectory)) {
-            // 判断是否存在此目录，不存在则新建此目录
-            stretchIntoDirectories(PathUtils.convertToSubdirectory(sftpDirectory));
-        }
+        String remoteDirectory = prepareDirectory(sftpDirectory);
         String filename = localFilePath.getFileName().toString();
         Path sftpPath = PathUtils.toPath(rootDirectory, sftpDirectory, filename);
-        try (InputStream in = Files.newInputStream(localFilePath, StandardOpenOption.READ);
-             OutputStream out = channel.put(filename, new FileProgressMonitor(), ChannelSftp.OVERWRITE)) {
-            IOUtils.copy(in, out);
+        String remoteFile = PathUtils.resolveRemotePath(remoteDirectory, filename);
+        try (FileChannel source = FileChannel.open(localFilePath, StandardOpenOption.READ);
+             OutputStream out = roundTrip(RT_TRANSFER).put(remoteFile, monitor, ChannelSftp.OVERWRITE)) {
+            transferEngine.upload(source, out, null);
             return sftpPath;
         } catch (SftpException | IOException e) {
+            // 目录可能已被外部删除，下次上传时重新确认
+            directoryCache.remove(remoteDirectory);
             log.error("上传SFTP文件{}失败！原因：{}", sftpPath, e.getMessage());
+            metrics.error(EnumBusinessError.SFTP_UPLOAD_FILE_FAILURE);
+            throw new BusinessException(e, EnumBusinessError.SFTP_UPLOAD_FILE_FAILURE.getCode(), EnumBusinessError.SFTP_UPLOAD_FILE_FAILURE.getMsg());
+        } finally {
+            monitor.end();
+            metrics.record(EnumSftpOperation.UPLOAD, startTime);
+            metadataCache.invalidate(remoteFile);
+        }
+    }
+
+    /**
+     * 将文件流上传到sftp相对目录下，上传的同时计算校验和，不额外读取数据
+     *
+     * @param in            上传文件输入流
+     * @param sftpDirectory 上传目录的相对路径
+     * @param filename      上传文件名
+     * @param algorithm     校验和算法
+     * @param verifyRemote  是否与服务端计算的校验和比对，服务端无法提供时跳过比对
+     * @return com.zang.sftptrans.bean.TransferChecksum
+     */
+    public TransferChecksum uploadStreamToRelativePath(InputStream in, String sftpDirectory, String filename,
+                                                       EnumChecksumAlgorithm algorithm, boolean verifyRemote) {
+        long startTime = System.nanoTime();
+        SftpProgressMonitor monitor = transferMonitor(EnumTransferDirection.UPLOAD);
+        String remoteDirectory = prepareDirectory(sftpDirectory);
+        String remoteFile = PathUtils.resolveRemotePath(remoteDirectory, filename);
+        MessageDigest digest = algorithm.newDigest();
+        TransferChecksum checksum = new TransferChecksum();
+        checksum.setAlgorithm(algorithm);
+        try (OutputStream out = roundTrip(RT_TRANSFER).put(remoteFile, monitor, ChannelSftp.OVERWRITE)) {
+            checksum.setBytes(transferEngine.copy(in, out, digest));
+        } catch (SftpException | IOException e) {
+            // 目录可能已被外部删除，下次上传时重新确认
+            directoryCache.remove(remoteDirectory);
+            log.error("上传SFTP文件{}失败！原因：{}", remoteFile, e.getMessage());
+            metrics.error(EnumBusinessError.SFTP_UPLOAD_FILE_FAILURE);
+            throw new BusinessException(e, EnumBusinessError.SFTP_UPLOAD_FILE_FAILURE.getCode(), EnumBusinessError.SFTP_UPLOAD_FILE_FAILURE.getMsg());
+        } finally {
+            monitor.end();
+            metrics.record(EnumSftpOperation.UPLOAD, startTime);
+            metadataCache.invalidate(remoteFile);
+        }
+        return completeChecksum(checksum, digest, remoteFile, verifyRemote);
+    }
+
+    /**
+     * 将本地文件上传到sftp相对目录下，上传的同时计算校验和，不额外读取数据
+     *
+     * @param localFilePath 本地文件
+     * @param sftpDirectory 上传目录的相对路径
+     * @param algorithm     校验和算法
+     * @param verifyRemote  是否与服务端计算的校验和比对，服务端无法提供时跳过比对
+     * @return com.zang.sftptrans.bean.TransferChecksum
+     */
+    public TransferChecksum uploadFileToRelativePath(Path localFilePath, String sftpDirectory, EnumChecksumAlgorithm algorithm, boolean verifyRemote) {
+        PathUtils.checkReadable(localFilePath);
+        try (InputStream in = Files.newInputStream(localFilePath, StandardOpenOption.READ)) {
+            return uploadStreamToRelativePath(in, sftpDirectory, localFilePath.getFileName().toString(), algorithm, verifyRemote);
+        } catch (IOException e) {
+            log.error("读取本地文件{}失败！原因：{}", localFilePath, e.getMessage());
+            metrics.error(EnumBusinessError.SFTP_UPLOAD_FILE_FAILURE);
+            throw new BusinessException(e, EnumBusinessError.SFTP_UPLOAD_FILE_FAILURE.getCode(), EnumBusinessError.SFTP_UPLOAD_FILE_FAILURE.getMsg());
+        }
+    }
+
+    /**
+     * 将文件流断点续传到sftp相对目录下，并返回全路径
+     * PS：流无法校验内容是否变化，调用方需保证重试时提供的是同一份数据；续传时会跳过流中已上传的字节
+     *
+     * @param in            上传文件输入流
+     * @param sftpDirectory 上传目录的相对路径
+     * @param filename      上传文件名
+     * @param journal       断点续传检查点日志
+     * @return java.nio.file.Path
+     */
+    public Path uploadStreamToRelativePath(InputStream in, String sftpDirectory, String filename, TransferCheckpointJournal journal) {
+        long startTime = System.nanoTime();
+        String remoteDirectory = prepareDirectory(sftpDirectory);
+        Path sftpPath = PathUtils.toPath(rootDirectory, sftpDirectory, filename);
+        String remoteFile = PathUtils.resolveRemotePath(remoteDirectory, filename);
+        TransferCheckpoint checkpoint = journal.load(EnumTransferDirection.UPLOAD, sftpPath.toString(), null);
+        long offset = resumableUploadOffset(checkpoint, remoteFile, Long.MAX_VALUE);
+        if (checkpoint == null) {
+            checkpoint = journal.create(EnumTransferDirection.UPLOAD, sftpPath.toString(), null);
+        }
+        try {
+            skipFully(in, offset);
+            uploadWithCheckpoint(in, remoteFile, offset, checkpoint, journal);
+            return sftpPath;
+        } catch (SftpException | IOException e) {
+            // 目录可能已被外部删除，下次上传时重新确认
+            directoryCache.remove(remoteDirectory);
+            log.error("断点续传SFTP文件{}失败，已确认偏移量{}！原因：{}", sftpPath, checkpoint.getOffset(), e.getMessage());
+            metrics.error(EnumBusinessError.SFTP_UPLOAD_FILE_FAILURE);
+            throw new BusinessException(e, EnumBusinessError.SFTP_UPLOAD_FILE_FAILURE.getCode(), EnumBusinessError.SFTP_UPLOAD_FILE_FAILURE.getMsg());
+        } finally {
+            metrics.record(EnumSftpOperation.UPLOAD, startTime);
+        }
+    }
+
+    /**
+     * 将本地文件断点续传到sftp相对目录下，并返回全路径
+     * PS：本地文件大小或修改时间与检查点不一致时从头上传
+     *
+     * @param localFilePath 本地文件
+     * @param sftpDirectory 上传目录的相对路径
+     * @param journal       断点续传检查点日志
+     * @return java.nio.file.Path
+     */
+    public Path uploadFileToRelativePath(Path localFilePath, String sftpDirectory, TransferCheckpointJournal journal) {
+        long startTime = System.nanoTime();
+        PathUtils.checkReadable(localFilePath);
+        String remoteDirectory = prepareDirectory(sftpDirectory);
+        String filename = localFilePath.getFileName().toString();
+        Path sftpPath = PathUtils.toPath(rootDirectory, sftpDirectory, filename);
+        String remoteFile = PathUtils.resolveRemotePath(remoteDirectory, filename);
+        TransferCheckpoint checkpoint = null;
+        try (FileChannel source = FileChannel.open(localFilePath, StandardOpenOption.READ)) {
+            long size = source.size();
+            long lastModifiedTime = Files.getLastModifiedTime(localFilePath).toMillis();
+            checkpoint = journal.load(EnumTransferDirection.UPLOAD, sftpPath.toString(), localFilePath);
+            if (checkpoint != null && !checkpoint.matches(size, lastModifiedTime)) {
+                log.info("本地文件{}已变化，从头上传", localFilePath);
+                checkpoint = null;
+            }
+            long offset = resumableUploadOffset(checkpoint, remoteFile, size);
+            if (checkpoint == null) {
+                checkpoint = journal.create(EnumTransferDirection.UPLOAD, sftpPath.toString(), localFilePath);
+                checkpoint.setSize(size);
+                checkpoint.setLastModifiedTime(lastModifiedTime);
+            }
+            source.position(offset);
+            uploadWithCheckpoint(Channels.newInputStream(source), remoteFile, offset, checkpoint, journal);
+            return sftpPath;
+        } catch (SftpException | IOException e) {
+            // 目录可能已被外部删除，下次上传时重新确认
+            directoryCache.remove(remoteDirectory);
+            log.error("断点续传SFTP文件{}失败，已确认偏移量{}！原因：{}", sftpPath, checkpoint == null ? 0 : checkpoint.getOffset(), e.getMessage());
+            metrics.error(EnumBusinessError.SFTP_UPLOAD_FILE_FAILURE);
+            throw new BusinessException(e, EnumBusinessError.SFTP_UPLOAD_FILE_FAILURE.getCode(), EnumBusinessError.SFTP_UPLOAD_FILE_FAILURE.getMsg());
+        } finally {
+            metrics.record(EnumSftpOperation.UPLOAD, startTime);
+        }
+    }
+
+    /**
+     * 将本地文件通道的指定字节区间按偏移量写入sftp文件
+     *
+     * @param source       本地文件通道
+     * @param offset       区间起始偏移量
+     * @param length       区间长度
+     * @param sftpFilePath 目标文件的全路径
+     * @param monitor      进度监控
+     * @return void
+     */
+    public void uploadRange(FileChannel source, long offset, long length, String sftpFilePath, SftpProgressMonitor monitor) {
+        long startTime = System.nanoTime();
+        ByteBuffer buffer = ByteBuffer.allocate(RANGE_BUFFER_SIZE);
+        long position = offset;
+        long end = offset + length;
+        String remoteFile = resolve(sftpFilePath);
+        try (OutputStream out = roundTrip(RT_TRANSFER).put(remoteFile, metrics.monitor(EnumTransferDirection.UPLOAD, monitor), POSITIONAL_WRITE_MODE, offset)) {
+            while (position < end) {
+                buffer.clear();
+                buffer.limit((int) Math.min(buffer.capacity(), end - position));
+                int read = source.read(buffer, position);
+                if (read < 0) {
+                    throw new IOException("local file ended at " + position + ", expected " + end);
+                }
+                out.write(buffer.array(), 0, read);
+                position += read;
+            }
+        } catch (SftpException | IOException e) {
+            log.error("上传SFTP文件{}区间[{}, {})失败！原因：{}", sftpFilePath, offset, end, e.getMessage());
+            metrics.error(EnumBusinessError.SFTP_UPLOAD_FILE_FAILURE);
             throw new BusinessException(e, EnumBusinessError.SFTP_UPLOAD_FILE_FAILURE.getCode(), EnumBusinessError.SFTP_UPLOAD_FILE_FAILURE.getMsg());
+        } finally {
+            metadataCache.invalidate(remoteFile);
+            metrics.record(EnumSftpOperation.UPLOAD, startTime);
+        }
+    }
+
+    /**
+     * 在sftp相对目录下创建空文件，文件已存在时截断为空
+     *
+     * @param sftpDirectory 目录的相对路径
+     * @param filename      文件名
+     * @return java.nio.file.Path
+     */
+    public Path createEmptyFile(String sftpDirectory, String filename) {
+        String remoteDirectory = prepareDirectory(sftpDirectory);
+        Path sftpPath = PathUtils.toPath(rootDirectory, sftpDirectory, filename);
+        String remoteFile = PathUtils.resolveRemotePath(remoteDirectory, filename);
+        try {
+            roundTrip(RT_TRANSFER).put(remoteFile, ChannelSftp.OVERWRITE).close();
+            return sftpPath;
+        } catch (SftpException | IOException e) {
+            // 目录可能已被外部删除，下次上传时重新确认
+            directoryCache.remove(remoteDirectory);
+            log.error("创建SFTP文件{}失败！原因：{}", sftpPath, e.getMessage());
+            metrics.error(EnumBusinessError.SFTP_UPLOAD_FILE_FAILURE);
+            throw new BusinessException(e, EnumBusinessError.SFTP_UPLOAD_FILE_FAILURE.getCode(), EnumBusinessError.SFTP_UPLOAD_FILE_FAILURE.getMsg());
+        } finally {
+            metadataCache.invalidate(remoteFile);
+        }
+    }
+
+    /**
+     * 重命名sftp中的文件，目标文件已存在时覆盖
+     * PS：服务端支持posix-rename@openssh.com扩展时（JSch自动使用）为原子替换；否则仅在确认源文件存在且目标文件已存在时
+     * 先删除目标文件再重命名，删除与重命名之间目标路径短暂不存在，读取方可能在此期间找不到文件，但不会读到不完整的文件
+     *
+     * @param sftpFilePath    源文件的全路径
+     * @param newSftpFilePath 目标文件的全路径
+     * @return void
+     */
+    public void rename(String sftpFilePath, String newSftpFilePath) {
+        long startTime = System.nanoTime();
+        String from = resolve(sftpFilePath);
+        String to = resolve(newSftpFilePath);
+        try {
+            try {
+                roundTrip(RT_SIMPLE).rename(from, to);
+            } catch (SftpException e) {
+                if (!canReplaceByDelete(from, to)) {
+                    throw e;
+                }
+                roundTrip(RT_SIMPLE).rm(to);
+                roundTrip(RT_SIMPLE).rename(from, to);
+            }
+        } catch (SftpException ex) {
+            log.error("重命名SFTP文件{}为{}失败！原因：{}", sftpFilePath, newSftpFilePath, ex.getMessage());
+            metrics.error(EnumBusinessError.SFTP_OPERATION_FAILURE);
+            throw new BusinessException(ex, EnumBusinessError.SFTP_OPERATION_FAILURE.getCode(), EnumBusinessError.SFTP_OPERATION_FAILURE.getMsg());
+        } finally {
+            metadataCache.invalidate(from);
+            metadataCache.invalidate(to);
+            metrics.record(EnumSftpOperation.RENAME, startTime);
+        }
+    }
+
+    /**
+     * 重命名失败后能否以先删除目标文件的方式重试：服务端不支持原子替换，且源文件存在、目标文件已存在。
+     * 源文件缺失、无权限等其他原因导致的失败不删除已发布的目标文件
+     *
+     * @param from 源文件绝对路径
+     * @param to   目标文件绝对路径
+     * @return boolean
+     */
+    private boolean canReplaceByDelete(String from, String to) {
+        if ("1".equals(channel.getExtension(POSIX_RENAME_EXTENSION))) {
+            return false;
+        }
+        try {
+            roundTrip(RT_SIMPLE).lstat(from);
+            return !roundTrip(RT_SIMPLE).lstat(to).isDir();
+        } catch (SftpException e) {
+            return false;
         }
     }
 
@@ -177,14 +686,19 @@ public class SftpClient {
      * @return void
      */
     public void downloadAsFile(String sftpDirectory, String sftpFilename, Path localSavePath) {
+        long startTime = System.nanoTime();
+        SftpProgressMonitor monitor = transferMonitor(EnumTransferDirection.DOWNLOAD);
         PathUtils.checkWritable(localSavePath);
-        changeToDirectories(rootDirectory);
-        try (OutputStream os = Files.newOutputStream(localSavePath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
-            channel.cd(PathUtils.convertToSubdirectory(sftpDirectory));
-            channel.get(sftpFilename, os);
+        try (FileChannel target = FileChannel.open(localSavePath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+             InputStream in = roundTrip(RT_TRANSFER).get(resolve(sftpDirectory, sftpFilename), monitor)) {
+            transferEngine.download(in, target, null);
         } catch (SftpException | IOException e) {
             log.error("下载SFTP文件{}/{}/{}至本地{}失败！原因：{}", rootDirectory, sftpDirectory, sftpFilename, localSavePath, e.getMessage());
+            metrics.error(EnumBusinessError.SFTP_DOWNLOAD_FILE_FAILURE);
             throw new BusinessException(e, EnumBusinessError.SFTP_DOWNLOAD_FILE_FAILURE.getCode(), EnumBusinessError.SFTP_DOWNLOAD_FILE_FAILURE.getMsg());
+        } finally {
+            monitor.end();
+            metrics.record(EnumSftpOperation.DOWNLOAD, startTime);
         }
     }
 
@@ -196,13 +710,109 @@ public class SftpClient {
      * @return void
      */
     public void downloadAsFile(String sftpFilePath, Path localSavePath) {
+        long startTime = System.nanoTime();
+        SftpProgressMonitor monitor = transferMonitor(EnumTransferDirection.DOWNLOAD);
+        PathUtils.checkWritable(localSavePath);
+        try (FileChannel target = FileChannel.open(localSavePath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+             InputStream in = roundTrip(RT_TRANSFER).get(resolve(sftpFilePath), monitor)) {
+            transferEngine.download(in, target, null);
+        } catch (SftpException | IOException e) {
+            log.error("下载SFTP文件{}至本地{}失败！原因：{}", sftpFilePath, localSavePath, e.getMessage());
+            metrics.error(EnumBusinessError.SFTP_DOWNLOAD_FILE_FAILURE);
+            throw new BusinessException(e, EnumBusinessError.SFTP_DOWNLOAD_FILE_FAILURE.getCode(), EnumBusinessError.SFTP_DOWNLOAD_FILE_FAILURE.getMsg());
+        } finally {
+            monitor.end();
+            metrics.record(EnumSftpOperation.DOWNLOAD, startTime);
+        }
+    }
+
+    /**
+     * 下载SFTP远程文件并保存在本地，写入的同时计算校验和，不额外读取本地文件
+     *
+     * @param sftpFilePath  目标文件的全路径
+     * @param localSavePath 本地保存文件路径
+     * @param algorithm     校验和算法
+     * @param verifyRemote  是否与服务端计算的校验和比对，服务端无法提供时跳过比对
+     * @return com.zang.sftptrans.bean.TransferChecksum
+     */
+    public TransferChecksum downloadAsFile(String sftpFilePath, Path localSavePath, EnumChecksumAlgorithm algorithm, boolean verifyRemote) {
+        long startTime = System.nanoTime();
+        SftpProgressMonitor monitor = transferMonitor(EnumTransferDirection.DOWNLOAD);
         PathUtils.checkWritable(localSavePath);
-        changeToDirectories(rootDirectory);
-        try (OutputStream os = Files.newOutputStream(localSavePath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
-            channel.get(PathUtils.convertToSubdirectory(sftpFilePath), os);
+        String remoteFile = resolve(sftpFilePath);
+        MessageDigest digest = algorithm.newDigest();
+        TransferChecksum checksum = new TransferChecksum();
+        checksum.setAlgorithm(algorithm);
+        try (InputStream in = roundTrip(RT_TRANSFER).get(remoteFile, monitor);
+             FileChannel target = FileChannel.open(localSavePath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            checksum.setBytes(transferEngine.download(in, target, digest));
         } catch (SftpException | IOException e) {
             log.error("下载SFTP文件{}至本地{}失败！原因：{}", sftpFilePath, localSavePath, e.getMessage());
+            metrics.error(EnumBusinessError.SFTP_DOWNLOAD_FILE_FAILURE);
             throw new BusinessException(e, EnumBusinessError.SFTP_DOWNLOAD_FILE_FAILURE.getCode(), EnumBusinessError.SFTP_DOWNLOAD_FILE_FAILURE.getMsg());
+        } finally {
+            monitor.end();
+            metrics.record(EnumSftpOperation.DOWNLOAD, startTime);
+        }
+        return completeChecksum(checksum, digest, remoteFile, verifyRemote);
+    }
+
+    /**
+     * 断点续传下载SFTP远程文件，并保存在本地
+     * PS：远程文件大小或修改时间与检查点不一致、或本地文件短于检查点偏移量时从头下载
+     *
+     * @param sftpFilePath  目标文件的全路径
+     * @param localSavePath 本地保存文件路径
+     * @param journal       断点续传检查点日志
+     * @return void
+     */
+    public void downloadAsFile(String sftpFilePath, Path localSavePath, TransferCheckpointJournal journal) {
+        long startTime = System.nanoTime();
+        SftpProgressMonitor monitor = transferMonitor(EnumTransferDirection.DOWNLOAD);
+        PathUtils.checkWritable(localSavePath);
+        String remotePath = resolve(sftpFilePath);
+        String checkpointPath = remotePath;
+        TransferCheckpoint checkpoint = null;
+        try (FileChannel target = FileChannel.open(localSavePath, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            SftpATTRS attrs = roundTrip(RT_SIMPLE).lstat(remotePath);
+            long size = SftpAttrUtils.getContentSize(attrs);
+            long lastModifiedTime = SftpAttrUtils.getLastModifiedTime(attrs);
+            checkpoint = journal.load(EnumTransferDirection.DOWNLOAD, checkpointPath, localSavePath);
+            if (checkpoint == null || !checkpoint.matches(size, lastModifiedTime) || target.size() < checkpoint.getOffset()) {
+                checkpoint = journal.create(EnumTransferDirection.DOWNLOAD, checkpointPath, localSavePath);
+                checkpoint.setSize(size);
+                checkpoint.setLastModifiedTime(lastModifiedTime);
+            } else {
+                log.info("从偏移量{}继续下载SFTP文件{}", checkpoint.getOffset(), sftpFilePath);
+            }
+            target.truncate(checkpoint.getOffset());
+            long saved = checkpoint.getOffset();
+            byte[] buffer = new byte[RANGE_BUFFER_SIZE];
+            try (InputStream in = roundTrip(RT_TRANSFER).get(remotePath, monitor, checkpoint.getOffset())) {
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    ByteBuffer src = ByteBuffer.wrap(buffer, 0, read);
+                    while (src.hasRemaining()) {
+                        target.write(src, checkpoint.getOffset() + src.position());
+                    }
+                    checkpoint.setOffset(checkpoint.getOffset() + read);
+                    if (checkpoint.getOffset() - saved >= journal.getCheckpointInterval()) {
+                        journal.save(checkpoint);
+                        saved = checkpoint.getOffset();
+                    }
+                }
+            }
+            journal.remove(checkpoint);
+        } catch (SftpException | IOException e) {
+            if (checkpoint != null && checkpoint.getSize() >= 0) {
+                journal.save(checkpoint);
+            }
+            log.error("断点续传SFTP文件{}至本地{}失败，已确认偏移量{}！原因：{}", sftpFilePath, localSavePath, checkpoint == null ? 0 : checkpoint.getOffset(), e.getMessage());
+            metrics.error(EnumBusinessError.SFTP_DOWNLOAD_FILE_FAILURE);
+            throw new BusinessException(e, EnumBusinessError.SFTP_DOWNLOAD_FILE_FAILURE.getCode(), EnumBusinessError.SFTP_DOWNLOAD_FILE_FAILURE.getMsg());
+        } finally {
+            monitor.end();
+            metrics.record(EnumSftpOperation.DOWNLOAD, startTime);
         }
     }
 
@@ -214,13 +824,15 @@ public class SftpClient {
      * @return java.io.InputStream
      */
     public InputStream downloadAsStream(String relativeSftpDirectory, String sftpFilename) {
-        changeToDirectories(rootDirectory);
+        long startTime = System.nanoTime();
         try {
-            channel.cd(PathUtils.convertToSubdirectory(relativeSftpDirectory));
-            return channel.get(sftpFilename);
+            return roundTrip(RT_TRANSFER).get(resolve(relativeSftpDirectory, sftpFilename), transferMonitor(EnumTransferDirection.DOWNLOAD));
         } catch (SftpException e) {
             log.error("下载SFTP远程文件{}/{}/{}失败！原因：{}", rootDirectory, relativeSftpDirectory, sftpFilename, e.getMessage());
+            metrics.error(EnumBusinessError.SFTP_DOWNLOAD_FILE_FAILURE);
             throw new BusinessException(e, EnumBusinessError.SFTP_DOWNLOAD_FILE_FAILURE.getCode(), EnumBusinessError.SFTP_DOWNLOAD_FILE_FAILURE.getMsg());
+        } finally {
+            metrics.record(EnumSftpOperation.DOWNLOAD, startTime);
         }
     }
 
@@ -231,16 +843,55 @@ public class SftpClient {
      * @return java.io.InputStream
      */
     public InputStream downloadAsStream(String sftpFilePath) {
-        changeToDirectories(rootDirectory);
+        long startTime = System.nanoTime();
         try {
-            return channel.get(PathUtils.convertToSubdirectory(sftpFilePath), new FileProgressMonitor());
+            return roundTrip(RT_TRANSFER).get(resolve(sftpFilePath), transferMonitor(EnumTransferDirection.DOWNLOAD));
         } catch (SftpException e) {
             log.error("下载SFTP远程文件{}失败！原因：{}", sftpFilePath, e.getMessage());
+            metrics.error(EnumBusinessError.SFTP_DOWNLOAD_FILE_FAILURE);
             throw new BusinessException(e, EnumBusinessError.SFTP_DOWNLOAD_FILE_FAILURE.getCode(), EnumBusinessError.SFTP_DOWNLOAD_FILE_FAILURE.getMsg());
+        } finally {
+            metrics.record(EnumSftpOperation.DOWNLOAD, startTime);
         }
     }
 
 
+    /**
+     * 下载SFTP远程文件的指定字节区间，并按偏移量写入本地文件通道
+     *
+     * @param sftpFilePath 目标文件的全路径
+     * @param offset       区间起始偏移量
+     * @param length       区间长度
+     * @param target       本地文件通道
+     * @param monitor      进度监控
+     * @return void
+     */
+    public void downloadRange(String sftpFilePath, long offset, long length, FileChannel target, SftpProgressMonitor monitor) {
+        long startTime = System.nanoTime();
+        byte[] buffer = new byte[RANGE_BUFFER_SIZE];
+        long position = offset;
+        long remaining = length;
+        try (InputStream in = roundTrip(RT_TRANSFER).get(resolve(sftpFilePath), metrics.monitor(EnumTransferDirection.DOWNLOAD, monitor), offset)) {
+            while (remaining > 0) {
+                int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                if (read < 0) {
+                    throw new IOException("remote file ended at " + position + ", expected " + (offset + length));
+                }
+                ByteBuffer src = ByteBuffer.wrap(buffer, 0, read);
+                while (src.hasRemaining()) {
+                    position += target.write(src, position);
+                }
+                remaining -= read;
+            }
+        } catch (SftpException | IOException e) {
+            log.error("下载SFTP文件{}区间[{}, {})失败！原因：{}", sftpFilePath, offset, offset + length, e.getMessage());
+            metrics.error(EnumBusinessError.SFTP_DOWNLOAD_FILE_FAILURE);
+            throw new BusinessException(e, EnumBusinessError.SFTP_DOWNLOAD_FILE_FAILURE.getCode(), EnumBusinessError.SFTP_DOWNLOAD_FILE_FAILURE.getMsg());
+        } finally {
+            metrics.record(EnumSftpOperation.DOWNLOAD, startTime);
+        }
+    }
+
     /**
      * 删除sftp中的文件
      *
@@ -248,12 +899,17 @@ public class SftpClient {
      * @return void
      */
     public void delete(String sftpFilePath) {
-        changeToDirectories(rootDirectory);
+        long startTime = System.nanoTime();
+        String remoteFile = resolve(sftpFilePath);
         try {
-            channel.rm(PathUtils.convertToSubdirectory(sftpFilePath));
+            roundTrip(RT_SIMPLE).rm(remoteFile);
         } catch (SftpException ex) {
             log.error("删除SFTP远程文件{}失败！原因：{}", sftpFilePath, ex.getMessage());
+            metrics.error(EnumBusinessError.SFTP_DELETE_FILE_FAILURE);
             throw new BusinessException(ex, EnumBusinessError.SFTP_DELETE_FILE_FAILURE.getCode(), EnumBusinessError.SFTP_DELETE_FILE_FAILURE.getMsg());
+        } finally {
+            metadataCache.invalidate(remoteFile);
+            metrics.record(EnumSftpOperation.RM, startTime);
         }
     }
 
@@ -265,53 +921,159 @@ public class SftpClient {
      * @return void
      */
     public void delete(String sftpDirectory, String filename) {
-        changeToDirectories(rootDirectory);
+        long startTime = System.nanoTime();
+        String remoteFile = resolve(sftpDirectory, filename);
         try {
-            channel.cd(PathUtils.convertToSubdirectory(sftpDirectory));
-            channel.rm(filename);
+            roundTrip(RT_SIMPLE).rm(remoteFile);
         } catch (SftpException ex) {
             log.error("删除SFTP远程文件{}/{}/{}失败！原因：{}", rootDirectory, sftpDirectory, filename, ex.getMessage());
+            metrics.error(EnumBusinessError.SFTP_DELETE_FILE_FAILURE);
             throw new BusinessException(ex, EnumBusinessError.SFTP_DELETE_FILE_FAILURE.getCode(), EnumBusinessError.SFTP_DELETE_FILE_FAILURE.getMsg());
+        } finally {
+            metadataCache.invalidate(remoteFile);
+            metrics.record(EnumSftpOperation.RM, startTime);
         }
     }
 
     /**
      * 查询文件属性
+     * PS：启用元数据缓存时返回的是各客户端共享的缓存对象，调用方只能读取，不能修改
      *
      * @param sftpDirectory
      * @param filename
      * @return com.jcraft.jsch.SftpATTRS
      */
     public SftpATTRS getFileAttrs(String sftpDirectory, String filename) {
-        changeToDirectories(rootDirectory);
         try {
-            channel.cd(PathUtils.convertToSubdirectory(sftpDirectory));
-            return channel.lstat(filename);
+            return cachedAttrs(resolve(sftpDirectory, filename));
         } catch (SftpException ex) {
             log.error("查询SFTP文件{}/{}/{}属性失败！原因：{}", rootDirectory, sftpDirectory, filename, ex.getMessage());
+            metrics.error(EnumBusinessError.SFTP_OPERATION_FAILURE);
+            throw new BusinessException(ex, EnumBusinessError.SFTP_OPERATION_FAILURE.getCode(), EnumBusinessError.SFTP_OPERATION_FAILURE.getMsg());
+        }
+    }
+
+    /**
+     * 查询文件属性
+     * PS：启用元数据缓存时返回的是各客户端共享的缓存对象，调用方只能读取，不能修改
+     *
+     * @param sftpFilePath 目标文件的全路径
+     * @return com.jcraft.jsch.SftpATTRS
+     */
+    public SftpATTRS getFileAttrs(String sftpFilePath) {
+        try {
+            return cachedAttrs(resolve(sftpFilePath));
+        } catch (SftpException ex) {
+            log.error("查询SFTP文件{}属性失败！原因：{}", sftpFilePath, ex.getMessage());
+            metrics.error(EnumBusinessError.SFTP_OPERATION_FAILURE);
+            throw new BusinessException(ex, EnumBusinessError.SFTP_OPERATION_FAILURE.getCode(), EnumBusinessError.SFTP_OPERATION_FAILURE.getMsg());
+        }
+    }
+
+    /**
+     * 设置文件最后修改时间
+     * PS：sftp协议的修改时间精度为秒，毫秒部分被舍弃
+     *
+     * @param sftpFilePath     目标文件的全路径
+     * @param lastModifiedTime 最后修改时间（milliseconds）
+     * @return void
+     */
+    public void setLastModifiedTime(String sftpFilePath, long lastModifiedTime) {
+        String remoteFile = resolve(sftpFilePath);
+        try {
+            // setMtime需先stat再setstat
+            roundTrip(2 * RT_SIMPLE).setMtime(remoteFile, (int) (lastModifiedTime / 1000L));
+        } catch (SftpException ex) {
+            log.error("设置SFTP文件{}修改时间失败！原因：{}", sftpFilePath, ex.getMessage());
+            metrics.error(EnumBusinessError.SFTP_OPERATION_FAILURE);
             throw new BusinessException(ex, EnumBusinessError.SFTP_OPERATION_FAILURE.getCode(), EnumBusinessError.SFTP_OPERATION_FAILURE.getMsg());
+        } finally {
+            metadataCache.invalidate(remoteFile);
         }
     }
 
+    /**
+     * 由服务端计算文件校验和（通过exec通道执行md5sum/sha256sum）
+     * PS：仅限制为sftp子系统的服务端不支持exec，此时返回空
+     *
+     * @param sftpFilePath 目标文件的全路径
+     * @param algorithm    校验和算法
+     * @return java.lang.String 小写十六进制校验和，服务端无法提供时为空
+     */
+    public String remoteChecksum(String sftpFilePath, EnumChecksumAlgorithm algorithm) {
+        return execChecksum(resolve(sftpFilePath), algorithm);
+    }
+
+    /**
+     * 判断目录是否存在
+     *
+     * @param sftpDirectory 目录的相对路径
+     * @return boolean
+     */
+    public boolean directoryExists(String sftpDirectory) {
+        return isDirectory(resolve(sftpDirectory));
+    }
+
     /**
      * 列出目录下的文件
+     * PS：启用元数据缓存时返回的列表及其中的条目为各客户端共享的缓存对象，调用方只能读取，不能修改
      *
      * @param sftpDirectory 要列出的目录
      * @return UnmodifiableList<ChannelSftp.LsEntry>
      */
     public List<ChannelSftp.LsEntry> listFiles(String sftpDirectory) {
-        changeToDirectories(rootDirectory);
+        String remoteDirectory = resolve(sftpDirectory);
+        List<ChannelSftp.LsEntry> cached = metadataCache.getList(remoteDirectory);
+        if (cached != null) {
+            return cached;
+        }
+        long startTime = System.nanoTime();
         final List<ChannelSftp.LsEntry> rptFiles = new LinkedList<>();
         ChannelSftp.LsEntrySelector selector = entry -> {
             rptFiles.add(entry);
             return ChannelSftp.LsEntrySelector.CONTINUE;
         };
         try {
-            channel.ls(PathUtils.convertToSubdirectory(sftpDirectory), selector);
-            return Collections.unmodifiableList(rptFiles);
+            roundTrip(RT_LIST).ls(remoteDirectory, selector);
+            List<ChannelSftp.LsEntry> files = Collections.unmodifiableList(rptFiles);
+            metadataCache.putList(remoteDirectory, files);
+            return files;
         } catch (SftpException ex) {
             log.error("查询SFTP目录{}所有文件列表失败！原因：{}", sftpDirectory, ex.getMessage());
             return null;
+        } finally {
+            metrics.record(EnumSftpOperation.LS, startTime);
+        }
+    }
+
+    /**
+     * 流式列出目录下满足条件的条目，每读到一个条目即回调，不在内存中保留整个列表
+     *
+     * @param sftpDirectory 要列出的目录
+     * @param filter        过滤条件，为空时只忽略"."与".."
+     * @param visitor       条目回调，返回false时提前结束
+     * @return long 已回调的条目数
+     */
+    public long listFiles(String sftpDirectory, SftpListFilter filter, SftpEntryVisitor visitor) {
+        long startTime = System.nanoTime();
+        final SftpListFilter entryFilter = filter == null ? new SftpListFilter() : filter;
+        final long[] visited = new long[1];
+        ChannelSftp.LsEntrySelector selector = entry -> {
+            if (!entryFilter.accept(entry)) {
+                return ChannelSftp.LsEntrySelector.CONTINUE;
+            }
+            visited[0]++;
+            return visitor.visit(entry) ? ChannelSftp.LsEntrySelector.CONTINUE : ChannelSftp.LsEntrySelector.BREAK;
+        };
+        try {
+            roundTrip(RT_LIST).ls(resolve(sftpDirectory), selector);
+            return visited[0];
+        } catch (SftpException ex) {
+            log.error("流式查询SFTP目录{}/{}文件列表失败！原因：{}", rootDirectory, sftpDirectory, ex.getMessage());
+            metrics.error(EnumBusinessError.SFTP_OPERATION_FAILURE);
+            throw new BusinessException(ex, EnumBusinessError.SFTP_OPERATION_FAILURE.getCode(), EnumBusinessError.SFTP_OPERATION_FAILURE.getMsg());
+        } finally {
+            metrics.record(EnumSftpOperation.LS, startTime);
         }
     }
 
@@ -323,7 +1085,7 @@ public class SftpClient {
      * @return ChannelSftp.LsEntry
      */
     public ChannelSftp.LsEntry firstFileWithPrefix(String sftpDirectory, String filenamePrefix) {
-        changeToDirectories(rootDirectory);
+        long startTime = System.nanoTime();
         final List<ChannelSftp.LsEntry> rptFiles = new LinkedList<>();
         ChannelSftp.LsEntrySelector selector = entry -> {
             SftpATTRS attrs = entry.getAttrs();
@@ -335,11 +1097,13 @@ public class SftpClient {
             return ChannelSftp.LsEntrySelector.CONTINUE;
         };
         try {
-            channel.ls(PathUtils.convertToSubdirectory(sftpDirectory), selector);
+            roundTrip(RT_LIST).ls(resolve(sftpDirectory), selector);
             return rptFiles.size() > 0 ? rptFiles.get(0) : null;
         } catch (SftpException ex) {
             log.error("查询SFTP目录{}/{}下以{}开头的第一个文件失败！原因：{}", rootDirectory, sftpDirectory, filenamePrefix, ex.getMessage());
             return null;
+        } finally {
+            metrics.record(EnumSftpOperation.LS, startTime);
         }
     }
 
@@ -351,7 +1115,7 @@ public class SftpClient {
      * @return UnmodifiableList<ChannelSftp.LsEntry>
      */
     public List<ChannelSftp.LsEntry> listFilesWithPrefix(String sftpDirectory, String filenamePrefix) {
-        changeToDirectories(rootDirectory);
+        long startTime = System.nanoTime();
         final List<ChannelSftp.LsEntry> rptFiles = new LinkedList<>();
         ChannelSftp.LsEntrySelector selector = entry -> {
             SftpATTRS attrs = entry.getAttrs();
@@ -362,11 +1126,13 @@ public class SftpClient {
             return ChannelSftp.LsEntrySelector.CONTINUE;
         };
         try {
-            channel.ls(sftpDirectory, selector);
+            roundTrip(RT_LIST).ls(resolve(sftpDirectory), selector);
             return Collections.unmodifiableList(rptFiles);
         } catch (SftpException ex) {
             log.error("查询SFTP目录{}/{}下以{}开头的所有文件列表失败！原因：{}", rootDirectory, sftpDirectory, filenamePrefix, ex.getMessage());
             return null;
+        } finally {
+            metrics.record(EnumSftpOperation.LS, startTime);
         }
     }
 
@@ -377,11 +1143,19 @@ public class SftpClient {
      * @param targetDirectories
      */
     public void changeToDirectories(String targetDirectories) {
+        long startTime = System.nanoTime();
         try {
-            channel.cd(targetDirectories);
+            if (StringUtils.equals(channel.pwd(), targetDirectories)) {
+                // JSch在本地记录当前目录，已在目标目录时无需再向服务端确认
+                return;
+            }
+            roundTrip(RT_CD).cd(targetDirectories);
         } catch (SftpException e) {
             log.error("无法跳转至sftp目录：{}，原因：{}", targetDirectories, e.getMessage());
+            metrics.error(EnumBusinessError.SFTP_OPERATION_FAILURE);
             throw new BusinessException(e, EnumBusinessError.SFTP_OPERATION_FAILURE.getCode(), EnumBusinessError.SFTP_OPERATION_FAILURE.getMsg());
+        } finally {
+            metrics.record(EnumSftpOperation.CD, startTime);
         }
     }
 
@@ -392,16 +1166,289 @@ public class SftpClient {
      * @return void
      */
     public void stretchIntoDirectories(String targetDirectories) {
+        long startTime = System.nanoTime();
         try {
-            channel.cd(targetDirectories);
-        } catch (SftpException e) {
+            makeDirectories(PathUtils.resolveRemotePath(channel.pwd(), targetDirectories));
+            roundTrip(RT_CD).cd(targetDirectories);
+        } catch (SftpException ex) {
+            log.error("无法跳转至sftp目录：{}，原因：{}", targetDirectories, ex.getMessage());
+            metrics.error(EnumBusinessError.SFTP_UPLOAD_FILE_FAILURE);
+            throw new BusinessException(ex, EnumBusinessError.SFTP_UPLOAD_FILE_FAILURE.getCode(), EnumBusinessError.SFTP_UPLOAD_FILE_FAILURE.getMsg());
+        } finally {
+            metrics.record(EnumSftpOperation.CD, startTime);
+        }
+    }
+
+    /**
+     * 估算的sftp请求往返次数
+     * PS：按每类操作的典型请求数（见RT_*常量）累加，JSch不提供实际请求计数，数据读写包、readdir分批与
+     * JSch内部附加的stat均不精确计入，只用于比较不同调用方式的往返开销
+     *
+     * @return long
+     */
+    public long getEstimatedRoundTrips() {
+        return estimatedRoundTrips.get();
+    }
+
+    /**
+     * 将相对root目录的路径在客户端解析为服务端绝对路径，避免通过cd切换目录产生的往返
+     *
+     * @param relativePaths 相对root目录的路径
+     * @return java.lang.String
+     */
+    private String resolve(String... relativePaths) {
+        return PathUtils.resolveRemotePath(rootDirectory, relativePaths);
+    }
+
+    /**
+     * 解析上传目录的绝对路径，目录不存在时创建
+     *
+     * @param sftpDirectory 上传目录的相对路径
+     * @return java.lang.String
+     */
+    private String prepareDirectory(String sftpDirectory) {
+        String remoteDirectory = resolve(sftpDirectory);
+        if (StringUtils.isNotBlank(sftpDirectory)) {
+            // 判断是否存在此目录，不存在则新建此目录
+            makeDirectories(remoteDirectory);
+        }
+        return remoteDirectory;
+    }
+
+    /**
+     * 逐级创建目录（mkdir -p），已缓存的目录不再向服务端确认
+     *
+     * @param remoteDirectory 目录绝对路径
+     */
+    private void makeDirectories(String remoteDirectory) {
+        if (directoryCache.contains(remoteDirectory)) {
+            return;
+        }
+        if (isDirectory(remoteDirectory)) {
+            directoryCache.add(remoteDirectory);
+            return;
+        }
+        StringBuilder current = new StringBuilder();
+        for (String segment : StringUtils.split(remoteDirectory, PathUtils.WIDELY_ACCEPTED_PATH_SEPARATOR)) {
+            current.append(PathUtils.WIDELY_ACCEPTED_PATH_SEPARATOR).append(segment);
+            String directory = current.toString();
+            if (directoryCache.contains(directory)) {
+                continue;
+            }
+            if (!isDirectory(directory)) {
+                long startTime = System.nanoTime();
+                try {
+                    roundTrip(RT_SIMPLE).mkdir(directory);
+                    metrics.record(EnumSftpOperation.MKDIR, startTime);
+                } catch (SftpException ex) {
+                    // 并发上传时目录可能已由其他客户端创建
+                    if (!isDirectory(directory)) {
+                        log.error("无法在sftp服务器上创建目录{}", directory);
+                        metrics.error(EnumBusinessError.SFTP_UPLOAD_FILE_FAILURE);
+                        throw new BusinessException(ex, EnumBusinessError.SFTP_UPLOAD_FILE_FAILURE.getCode(), EnumBusinessError.SFTP_UPLOAD_FILE_FAILURE.getMsg());
+                    }
+                } finally {
+                    metadataCache.invalidate(directory);
+                }
+            }
+            directoryCache.add(directory);
+        }
+    }
+
+    /**
+     * 查询文件属性，启用元数据缓存时优先使用未过期的缓存
+     *
+     * @param remotePath 服务端绝对路径
+     * @return com.jcraft.jsch.SftpATTRS
+     */
+    private SftpATTRS cachedAttrs(String remotePath) throws SftpException {
+        SftpATTRS attrs = metadataCache.getAttrs(remotePath);
+        if (attrs == null) {
+            long startTime = System.nanoTime();
             try {
-                channel.mkdir(targetDirectories);
-                channel.cd(targetDirectories);
-            } catch (SftpException ex) {
-                log.error("无法在sftp服务器上创建目录{}", targetDirectories);
-                throw new BusinessException(ex, EnumBusinessError.SFTP_UPLOAD_FILE_FAILURE.getCode(), EnumBusinessError.SFTP_UPLOAD_FILE_FAILURE.getMsg());
+                attrs = roundTrip(RT_SIMPLE).lstat(remotePath);
+            } finally {
+                metrics.record(EnumSftpOperation.STAT, startTime);
             }
+            metadataCache.putAttrs(remotePath, attrs);
+        }
+        return attrs;
+    }
+
+    private boolean isDirectory(String remoteDirectory) {
+        long startTime = System.nanoTime();
+        try {
+            return roundTrip(RT_SIMPLE).stat(remoteDirectory).isDir();
+        } catch (SftpException e) {
+            return false;
+        } finally {
+            metrics.record(EnumSftpOperation.STAT, startTime);
+        }
+    }
+
+    /**
+     * 生成传输校验和，需要时与服务端校验和比对，不一致时抛出异常
+     */
+    private TransferChecksum completeChecksum(TransferChecksum checksum, MessageDigest digest, String remoteFile, boolean verifyRemote) {
+        checksum.setValue(toHex(digest.digest()));
+        if (verifyRemote) {
+            checksum.setRemoteValue(execChecksum(remoteFile, checksum.getAlgorithm()));
+            if (checksum.getRemoteValue() == null) {
+                log.warn("sftp服务端无法提供文件{}的{}校验和，跳过比对", remoteFile, checksum.getAlgorithm().getDescription());
+            } else if (!checksum.isVerified()) {
+                log.error("SFTP文件{}校验和不一致！传输：{}，服务端：{}", remoteFile, checksum.getValue(), checksum.getRemoteValue());
+                metrics.error(EnumBusinessError.SFTP_CHECKSUM_MISMATCH);
+                throw new BusinessException(EnumBusinessError.SFTP_CHECKSUM_MISMATCH.getCode(), EnumBusinessError.SFTP_CHECKSUM_MISMATCH.getMsg());
+            }
+        }
+        return checksum;
+    }
+
+    private String execChecksum(String remoteFile, EnumChecksumAlgorithm algorithm) {
+        if (algorithm.getRemoteCommand() == null) {
+            return null;
+        }
+        ChannelExec exec = null;
+        try {
+            exec = (ChannelExec) session.openChannel("exec");
+            exec.setCommand(algorithm.getRemoteCommand() + " -- '" + StringUtils.replace(remoteFile, "'", "'\\''") + "'");
+            InputStream in = exec.getInputStream();
+            // 指定超时时jsch才要求服务端应答exec请求，请求被拒绝时抛出异常，否则读取输出将一直阻塞
+            exec.connect(EXEC_REPLY_TIMEOUT);
+            String output = IOUtils.toString(in, StandardCharsets.UTF_8.name());
+            // 输出已读完，部分服务端不会及时关闭通道，最多再等待片刻获取退出码
+            long deadline = System.currentTimeMillis() + EXEC_CLOSE_TIMEOUT;
+            while (!exec.isClosed() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            String value = StringUtils.substringBefore(StringUtils.trimToEmpty(output), " ").toLowerCase();
+            // 通道未关闭时退出码为-1，命令是否成功未知，与失败一样不采用输出
+            if (exec.getExitStatus() != 0 || value.length() != algorithm.newDigest().getDigestLength() * 2
+                    || !StringUtils.containsOnly(value, "0123456789abcdef")) {
+                return null;
+            }
+            return value;
+        } catch (JSchException | IOException e) {
+            log.warn("sftp服务端计算文件{}校验和失败！原因：{}", remoteFile, e.getMessage());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } finally {
+            if (exec != null) {
+                exec.disconnect();
+            }
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 累加即将执行的操作估算的请求往返次数
+     *
+     * @param requests 本次操作估算的请求往返次数
+     * @return com.jcraft.jsch.ChannelSftp
+     */
+    private ChannelSftp roundTrip(int requests) {
+        estimatedRoundTrips.addAndGet(requests);
+        return channel;
+    }
+
+    /**
+     * 计算上传续传的起始偏移量：检查点存在且远程文件不短于已确认偏移量、不长于源文件时，从远程文件末尾继续
+     *
+     * @param checkpoint 检查点，可为空
+     * @param remoteFile 目标文件的绝对路径
+     * @param size       源文件大小
+     * @return long
+     */
+    private long resumableUploadOffset(TransferCheckpoint checkpoint, String remoteFile, long size) {
+        if (checkpoint == null) {
+            return 0;
+        }
+        try {
+            long remoteSize = SftpAttrUtils.getContentSize(roundTrip(RT_SIMPLE).lstat(remoteFile));
+            if (remoteSize >= checkpoint.getOffset() && remoteSize <= size) {
+                log.info("从偏移量{}继续上传SFTP文件{}", remoteSize, checkpoint.getRemotePath());
+                return remoteSize;
+            }
+        } catch (SftpException e) {
+            log.info("SFTP文件{}不存在，从头上传", checkpoint.getRemotePath());
+        }
+        return 0;
+    }
+
+    /**
+     * 上传并定期记录检查点，记录前等待服务端确认已发送的数据
+     *
+     * @param in         已跳过续传偏移量的输入流
+     * @param remoteFile 目标文件的绝对路径
+     * @param offset     续传起始偏移量
+     * @param checkpoint 检查点
+     * @param journal    断点续传检查点日志
+     */
+    private void uploadWithCheckpoint(InputStream in, String remoteFile, long offset, TransferCheckpoint checkpoint,
+                                      TransferCheckpointJournal journal) throws SftpException, IOException {
+        checkpoint.setOffset(offset);
+        int mode = offset > 0 ? ChannelSftp.RESUME : ChannelSftp.OVERWRITE;
+        byte[] buffer = new byte[RANGE_BUFFER_SIZE];
+        long written = offset;
+        SftpProgressMonitor monitor = transferMonitor(EnumTransferDirection.UPLOAD);
+        try (OutputStream out = roundTrip(RT_TRANSFER).put(remoteFile, monitor, mode)) {
+            // 目标文件已截断或确认可续传，先记录起始检查点，使中途失败后的重试能够识别续传
+            journal.save(checkpoint);
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+                written += read;
+                if (written - checkpoint.getOffset() >= journal.getCheckpointInterval()) {
+                    out.flush();
+                    checkpoint.setOffset(written);
+                    journal.save(checkpoint);
+                }
+            }
+        } finally {
+            monitor.end();
+            metadataCache.invalidate(remoteFile);
+        }
+        journal.remove(checkpoint);
+    }
+
+    /**
+     * 创建传输进度监控：字节数同时计入服务器指标与全局传输登记表
+     * <p>
+     * jsch在传输失败时不一定回调end，调用方需在finally中再次调用end，重复调用无效
+     *
+     * @param direction 传输方向
+     * @return com.jcraft.jsch.SftpProgressMonitor
+     */
+    private SftpProgressMonitor transferMonitor(EnumTransferDirection direction) {
+        return metrics.monitor(direction, TransferProgressRegistry.getDefault().newMonitor());
+    }
+
+    /**
+     * 跳过输入流中指定字节数
+     *
+     * @param in
+     * @param count
+     */
+    private static void skipFully(InputStream in, long count) throws IOException {
+        long remaining = count;
+        while (remaining > 0) {
+            long skipped = in.skip(remaining);
+            if (skipped <= 0) {
+                if (in.read() == -1) {
+                    throw new IOException("input stream ended before resume offset " + count);
+                }
+                skipped = 1;
+            }
+            remaining -= skipped;
         }
     }
 
@@ -417,19 +1464,66 @@ public class SftpClient {
         return session.isConnected() && channel.isConnected();
     }
 
+    /**
+     * 主动探测连接：在限定时间内对根目录执行一次stat
+     * <p>
+     * 半开的TCP连接仍显示为已连接，只有真实请求才能发现；请求在探测线程上执行，超时即判定连接失效，
+     * 调用方销毁客户端时通道关闭，阻塞的请求随之结束。根目录不存在等服务端错误说明连接可用，视为探测成功
+     *
+     * @param timeout 超时时间（milliseconds）
+     * @return boolean
+     */
+    public boolean probe(long timeout) {
+        if (!testConnect()) {
+            return false;
+        }
+        Future<?> future = PROBE_EXECUTOR.submit(() -> {
+            long startTime = System.nanoTime();
+            try {
+                roundTrip(RT_SIMPLE).stat(rootDirectory);
+            } catch (SftpException e) {
+                if (!channel.isConnected()) {
+                    throw e;
+                }
+            }
+            // 探测成功的耗时同样计入stat，连接池空闲时往返时延仍有样本
+            metrics.record(EnumSftpOperation.STAT, startTime);
+            return null;
+        });
+        try {
+            future.get(timeout, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            log.warn("探测SFTP连接超时（{}ms），判定连接失效！session={}", timeout, session);
+        } catch (ExecutionException e) {
+            log.warn("探测SFTP连接失败！原因：{}", e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        future.cancel(true);
+        return false;
+    }
+
     /**
      * 关闭sftp服务连接
      *
      * @return void
      */
     public void disconnect() {
+        // 用户主动断开后连接池销毁时会再次调用，复用会话的通道名额不能重复释放
+        if (!disconnected.compareAndSet(false, true)) {
+            return;
+        }
         if (channel != null) {
             channel.disconnect();
             if (log.isDebugEnabled()) {
                 log.debug("SSH Channel disconnected.channel={}", channel);
             }
         }
-        if (session != null) {
+        if (sharedSession != null) {
+            // 复用会话在最后一个通道释放时断开
+            sharedSession.release();
+        } else if (session != null) {
             session.disconnect();
             if (log.isDebugEnabled()) {
                 log.debug("SSH session disconnected.session={}", session);
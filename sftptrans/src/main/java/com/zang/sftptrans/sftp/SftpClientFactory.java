@@ -1,11 +1,18 @@
 package com.zang.sftptrans.sftp;
 
 import com.zang.sftptrans.bean.SftpServerProperties;
+import com.zang.sftptrans.enums.EnumBusinessError;
+import com.zang.sftptrans.enums.EnumCompressionPolicy;
+import com.zang.sftptrans.exception.BusinessException;
+import com.zang.sftptrans.metrics.SftpMetrics;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.pool2.BasePooledObjectFactory;
 import org.apache.commons.pool2.PooledObject;
 import org.apache.commons.pool2.impl.DefaultPooledObject;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
 /**
  * sftp客户端对象工厂
  *
@@ -18,13 +25,53 @@ public class SftpClientFactory extends BasePooledObjectFactory<SftpClient> {
 
     private SftpServerProperties server;
 
+    /**
+     * 会话复用模式下已建立的SSH会话
+     */
+    private final List<SftpSharedSession> sharedSessions = new CopyOnWriteArrayList<>();
+
+    /**
+     * 正在建立中的SSH会话数，由工厂锁保护
+     */
+    private int openingSessions;
+
+    /**
+     * 等待建立中的会话分配通道的线程数，由工厂锁保护
+     */
+    private int openingWaiters;
+
+    /**
+     * 创建的连接是否协商SSH zlib压缩
+     */
+    private final boolean compressed;
+
     public SftpClientFactory(SftpServerProperties properties) {
+        this(properties, properties.getCompressionPolicy() == EnumCompressionPolicy.ALWAYS);
+    }
+
+    /**
+     * 创建指定是否压缩的连接，自适应压缩模式下压缩与不压缩的连接分属两个工厂
+     *
+     * @param properties
+     * @param compressed 是否协商SSH zlib压缩
+     */
+    public SftpClientFactory(SftpServerProperties properties, boolean compressed) {
         this.server = properties;
+        this.compressed = compressed;
     }
 
     @Override
     public SftpClient create() {
-        return new SftpClient(server);
+        if (server.getChannelsPerSession() <= 1) {
+            return new SftpClient(server, compressed);
+        }
+        SftpSharedSession sharedSession = acquireSharedSession();
+        try {
+            return new SftpClient(server, sharedSession, compressed);
+        } catch (BusinessException e) {
+            sharedSession.release();
+            throw e;
+        }
     }
 
     @Override
@@ -32,9 +79,20 @@ public class SftpClientFactory extends BasePooledObjectFactory<SftpClient> {
         return new DefaultPooledObject<>(sftpClient);
     }
 
+    /**
+     * 校验连接：开启探测时对服务端执行限时stat，否则只检查会话与通道状态
+     * <p>
+     * 探测需要一次往返，建议只开启testWhileIdle由驱逐线程在后台执行，借用时不校验
+     *
+     * @param p
+     * @return boolean
+     */
     @Override
     public boolean validateObject(PooledObject<SftpClient> p) {
         SftpClient client = p.getObject();
+        if (server.getProbeInterval() > 0) {
+            return client.probe(server.getProbeTimeout());
+        }
         return client.testConnect();
     }
 
@@ -42,4 +100,120 @@ public class SftpClientFactory extends BasePooledObjectFactory<SftpClient> {
     public void destroyObject(PooledObject<SftpClient> p) {
         p.getObject().disconnect();
     }
+
+    /**
+     * 工厂连接的服务器配置
+     *
+     * @return com.zang.sftptrans.bean.SftpServerProperties
+     */
+    public SftpServerProperties getServer() {
+        return server;
+    }
+
+    /**
+     * 创建的连接是否协商SSH zlib压缩
+     *
+     * @return boolean
+     */
+    public boolean isCompressed() {
+        return compressed;
+    }
+
+    /**
+     * 当前已建立的SSH会话数，独占会话模式下返回0
+     *
+     * @return int
+     */
+    public int getSharedSessionCount() {
+        sharedSessions.removeIf(s -> !s.isAvailable());
+        return sharedSessions.size();
+    }
+
+    /**
+     * 复用会话上已分配的sftp通道总数
+     *
+     * @return int
+     */
+    public int getSharedChannelCount() {
+        int channels = 0;
+        for (SftpSharedSession sharedSession : sharedSessions) {
+            channels += sharedSession.getChannels();
+        }
+        return channels;
+    }
+
+    /**
+     * 优先从通道最少的已有会话中分配通道，所有会话饱和时才建立新会话
+     * <p>
+     * 锁内只挑选已有会话或登记一个建立中的会话，TCP连接、密钥交换与认证在锁外完成，
+     * 建立中的会话尚有空余通道时，其他线程等待其完成而不重复建立
+     *
+     * @return com.zang.sftptrans.sftp.SftpSharedSession
+     */
+    private SftpSharedSession acquireSharedSession() {
+        synchronized (this) {
+            for (; ; ) {
+                SftpSharedSession candidate = acquireExistingSession();
+                if (candidate != null) {
+                    return candidate;
+                }
+                if (openingWaiters >= openingSessions * (server.getChannelsPerSession() - 1)) {
+                    break;
+                }
+                openingWaiters++;
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                } finally {
+                    openingWaiters--;
+                }
+            }
+            openingSessions++;
+        }
+        SftpSharedSession sharedSession = null;
+        try {
+            sharedSession = new SftpSharedSession(SftpClient.openSession(server, compressed), server.getChannelsPerSession());
+            sharedSession.tryAcquire();
+        } catch (Exception e) {
+            log.error("连接SFTP服务失败！host={}，port={}，原因：{}", server.getHost(), server.getPort(), e.getMessage());
+            SftpMetrics.forServer(server).error(EnumBusinessError.SFTP_CONNECTION_ERROR);
+            throw new BusinessException(e, EnumBusinessError.SFTP_CONNECTION_ERROR.getCode(), EnumBusinessError.SFTP_CONNECTION_ERROR.getMsg(), e.getMessage());
+        } finally {
+            synchronized (this) {
+                openingSessions--;
+                if (sharedSession != null) {
+                    sharedSessions.add(sharedSession);
+                }
+                notifyAll();
+            }
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("SSH shared session opened.sessions={}", sharedSessions.size());
+        }
+        return sharedSession;
+    }
+
+    private SftpSharedSession acquireExistingSession() {
+        sharedSessions.removeIf(s -> !s.isAvailable());
+        SftpSharedSession candidate;
+        while ((candidate = leastLoadedSession()) != null) {
+            if (candidate.tryAcquire()) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private SftpSharedSession leastLoadedSession() {
+        SftpSharedSession candidate = null;
+        for (SftpSharedSession sharedSession : sharedSessions) {
+            if (sharedSession.isAvailable() && sharedSession.getChannels() < server.getChannelsPerSession()
+                    && (candidate == null || sharedSession.getChannels() < candidate.getChannels())) {
+                candidate = sharedSession;
+            }
+        }
+        return candidate;
+    }
 }
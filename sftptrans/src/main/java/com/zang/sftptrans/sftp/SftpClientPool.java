@@ -2,11 +2,20 @@ package com.zang.sftptrans.sftp;
 
 import com.zang.sftptrans.enums.EnumBusinessError;
 import com.zang.sftptrans.exception.BusinessException;
+import com.zang.sftptrans.metrics.SftpMetrics;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.pool2.PooledObjectFactory;
 import org.apache.commons.pool2.impl.GenericObjectPool;
 import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
 /**
  * sftp连接缓存池
  *
@@ -17,6 +26,11 @@ import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
 @Slf4j
 public class SftpClientPool extends GenericObjectPool<SftpClient> {
 
+    /**
+     * 连接池所属服务器的统计指标，工厂不是SftpClientFactory时为空
+     */
+    private final SftpMetrics metrics;
+
     /**
      * 使用默认的配置构造池
      *
@@ -25,6 +39,9 @@ public class SftpClientPool extends GenericObjectPool<SftpClient> {
      */
     public SftpClientPool(PooledObjectFactory<SftpClient> factory) {
         super(factory);
+        this.metrics = bindMetrics(factory);
+        enableProbe(factory);
+        prewarmIfEnabled(factory);
     }
 
     /**
@@ -36,14 +53,25 @@ public class SftpClientPool extends GenericObjectPool<SftpClient> {
      */
     public SftpClientPool(PooledObjectFactory<SftpClient> factory, GenericObjectPoolConfig config) {
         super(factory, config);
+        this.metrics = bindMetrics(factory);
+        enableProbe(factory);
+        prewarmIfEnabled(factory);
     }
 
     @Override
     public SftpClient borrowObject() {
+        long startTime = System.nanoTime();
         try {
-            return super.borrowObject();
+            SftpClient client = super.borrowObject();
+            if (metrics != null) {
+                metrics.recordBorrowWait(startTime);
+            }
+            return client;
         } catch (Exception e) {
             log.error("从缓存池获取sftp client实例失败！原因：{}", e.getMessage());
+            if (metrics != null) {
+                metrics.error(EnumBusinessError.SFTP_GET_CLIENT_FAILURE);
+            }
             throw new BusinessException(EnumBusinessError.SFTP_GET_CLIENT_FAILURE.getCode(), EnumBusinessError.SFTP_GET_CLIENT_FAILURE.getMsg());
         }
     }
@@ -54,4 +82,131 @@ public class SftpClientPool extends GenericObjectPool<SftpClient> {
             super.returnObject(obj);
         }
     }
+
+    @Override
+    public void invalidateObject(SftpClient obj) {
+        if (null != obj) {
+            try {
+                super.invalidateObject(obj);
+            } catch (Exception e) {
+                log.error("销毁sftp client实例失败！原因：{}", e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (metrics != null) {
+            metrics.unbindPool(this);
+        }
+        super.close();
+    }
+
+    /**
+     * 并行建立连接，将空闲连接补足至minIdle
+     * <p>
+     * 建立失败的连接只打印日志，不影响其余连接，缺少的连接在借用时按需建立
+     *
+     * @param parallelism 最大并行数
+     * @return int 实际新建的连接数
+     */
+    public int prewarm(int parallelism) {
+        int missing = getMinIdle() - getNumIdle();
+        if (getMaxTotal() >= 0) {
+            missing = Math.min(missing, getMaxTotal() - getNumActive() - getNumIdle());
+        }
+        if (missing <= 0) {
+            return 0;
+        }
+        long startTime = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, missing)));
+        List<Future<?>> futures = new ArrayList<>(missing);
+        for (int i = 0; i < missing; i++) {
+            futures.add(executor.submit(() -> {
+                addObject();
+                return null;
+            }));
+        }
+        executor.shutdown();
+        int created = 0;
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+                created++;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                executor.shutdownNow();
+                break;
+            } catch (ExecutionException e) {
+                log.warn("预建sftp连接失败！原因：{}", e.getCause().getMessage());
+            }
+        }
+        log.info("预建sftp连接完成，新建{}个，耗时{}ms", created, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+        return created;
+    }
+
+    /**
+     * 连接池所属服务器的统计指标，工厂不是SftpClientFactory时为空
+     *
+     * @return com.zang.sftptrans.metrics.SftpMetrics
+     */
+    public SftpMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * 会话复用模式下当前已建立的SSH会话数
+     *
+     * @return int
+     */
+    public int getSharedSessionCount() {
+        PooledObjectFactory<SftpClient> factory = getFactory();
+        return factory instanceof SftpClientFactory ? ((SftpClientFactory) factory).getSharedSessionCount() : 0;
+    }
+
+    /**
+     * 会话复用模式下复用会话上已分配的sftp通道总数
+     *
+     * @return int
+     */
+    public int getSharedChannelCount() {
+        PooledObjectFactory<SftpClient> factory = getFactory();
+        return factory instanceof SftpClientFactory ? ((SftpClientFactory) factory).getSharedChannelCount() : 0;
+    }
+
+    /**
+     * 开启探测时由驱逐线程在后台校验全部空闲连接，未配置驱逐间隔时使用探测间隔
+     *
+     * @param factory
+     */
+    private void enableProbe(PooledObjectFactory<SftpClient> factory) {
+        if (!(factory instanceof SftpClientFactory) || ((SftpClientFactory) factory).getServer().getProbeInterval() <= 0) {
+            return;
+        }
+        setTestWhileIdle(true);
+        setNumTestsPerEvictionRun(-1);
+        if (getTimeBetweenEvictionRunsMillis() <= 0) {
+            setTimeBetweenEvictionRunsMillis(((SftpClientFactory) factory).getServer().getProbeInterval());
+        }
+    }
+
+    /**
+     * 服务端配置开启预建连接时并行补足空闲连接至minIdle，两个构造方法均执行；默认配置的minIdle为0，此时不预建
+     *
+     * @param factory
+     */
+    private void prewarmIfEnabled(PooledObjectFactory<SftpClient> factory) {
+        if (factory instanceof SftpClientFactory && ((SftpClientFactory) factory).getServer().isPrewarm()) {
+            prewarm(((SftpClientFactory) factory).getServer().getPrewarmParallelism());
+        }
+    }
+
+    private SftpMetrics bindMetrics(PooledObjectFactory<SftpClient> factory) {
+        if (!(factory instanceof SftpClientFactory)) {
+            return null;
+        }
+        SftpMetrics serverMetrics = SftpMetrics.forServer(((SftpClientFactory) factory).getServer());
+        serverMetrics.bindPool(this);
+        return serverMetrics;
+    }
 }
@@ -0,0 +1,157 @@
+package com.zang.sftptrans.sftp;
+
+import com.zang.sftptrans.bean.SftpServerProperties;
+import com.zang.sftptrans.enums.EnumCompressionPolicy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.Deflater;
+
+/**
+ * 按服务器压缩策略判断单个文件的传输是否使用压缩连接
+ * <p>
+ * 自适应模式依次按文件大小、扩展名判断，扩展名无法判断时用配置的压缩级别试压首块，采样压缩比达到阈值才压缩；
+ * 下载时无法预先采样远端内容，扩展名无法判断的文件不压缩
+ *
+ * @author xssdpgy
+ * @version xssdpgy: SftpCompressionAdvisor.java,v1.0 2026/10/18 23:40 xssdpgy Exp $$
+ * @since 1.0
+ */
+@Slf4j
+public class SftpCompressionAdvisor {
+
+    private final SftpServerProperties server;
+
+    public SftpCompressionAdvisor(SftpServerProperties properties) {
+        this.server = properties;
+    }
+
+    /**
+     * 判断上传本地文件是否压缩，扩展名无法判断时读取首块采样
+     *
+     * @param localFilePath 本地文件
+     * @return boolean
+     */
+    public boolean shouldCompress(Path localFilePath) {
+        long size = -1;
+        try {
+            size = Files.size(localFilePath);
+        } catch (IOException e) {
+            log.warn("读取文件大小失败！file={}，原因：{}", localFilePath, e.getMessage());
+        }
+        Boolean decision = decide(String.valueOf(localFilePath.getFileName()), size);
+        if (decision != null) {
+            return decision;
+        }
+        if (size <= 0) {
+            return false;
+        }
+        byte[] sample = new byte[(int) Math.min(size, server.getCompressionSampleSize())];
+        int length;
+        try (InputStream in = Files.newInputStream(localFilePath)) {
+            length = readFully(in, sample);
+        } catch (IOException e) {
+            log.warn("读取文件采样失败，不压缩传输！file={}，原因：{}", localFilePath, e.getMessage());
+            return false;
+        }
+        return shouldCompress(sample, length);
+    }
+
+    /**
+     * 判断传输指定文件是否压缩，仅按文件名与大小判断，无法判断时不压缩
+     *
+     * @param filename 文件名
+     * @param size     文件大小，未知时传-1
+     * @return boolean
+     */
+    public boolean shouldCompress(String filename, long size) {
+        Boolean decision = decide(filename, size);
+        return decision != null && decision;
+    }
+
+    /**
+     * 按首块采样的压缩比判断是否压缩
+     *
+     * @param sample 首块内容
+     * @param length 有效长度
+     * @return boolean
+     */
+    public boolean shouldCompress(byte[] sample, int length) {
+        double ratio = sampleRatio(sample, length);
+        if (log.isDebugEnabled()) {
+            log.debug("Compression sample ratio={},threshold={}", ratio, server.getCompressionMinRatio());
+        }
+        return ratio >= server.getCompressionMinRatio();
+    }
+
+    /**
+     * 用配置的压缩级别试压采样，返回原始大小与压缩后大小之比
+     *
+     * @param sample 采样内容
+     * @param length 有效长度
+     * @return double 采样为空时返回1
+     */
+    public double sampleRatio(byte[] sample, int length) {
+        if (length <= 0) {
+            return 1D;
+        }
+        Deflater deflater = new Deflater(server.getCompressionLevel());
+        try {
+            deflater.setInput(sample, 0, length);
+            deflater.finish();
+            byte[] output = new byte[Math.max(length / 2, 512)];
+            long compressedLength = 0;
+            while (!deflater.finished()) {
+                compressedLength += deflater.deflate(output);
+            }
+            return (double) length / Math.max(compressedLength, 1);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * 按策略、文件大小与扩展名判断
+     *
+     * @param filename 文件名
+     * @param size     文件大小，未知时传-1
+     * @return java.lang.Boolean 需要采样才能判断时返回null
+     */
+    private Boolean decide(String filename, long size) {
+        switch (server.getCompressionPolicy()) {
+            case OFF:
+                return false;
+            case ALWAYS:
+                return true;
+            default:
+                break;
+        }
+        if (size >= 0 && size < server.getCompressionMinSize()) {
+            return false;
+        }
+        String extension = StringUtils.lowerCase(StringUtils.substringAfterLast(filename, "."));
+        if (StringUtils.isEmpty(extension)) {
+            return null;
+        }
+        if (server.getIncompressibleExtensions().contains(extension)) {
+            return false;
+        }
+        if (server.getCompressibleExtensions().contains(extension)) {
+            return true;
+        }
+        return null;
+    }
+
+    private static int readFully(InputStream in, byte[] buffer) throws IOException {
+        int length = 0;
+        int read;
+        while (length < buffer.length && (read = in.read(buffer, length, buffer.length - length)) > 0) {
+            length += read;
+        }
+        return length;
+    }
+}
@@ -0,0 +1,166 @@
+package com.zang.sftptrans.sftp;
+
+import com.jcraft.jsch.ChannelSftp;
+import com.jcraft.jsch.Session;
+import com.zang.sftptrans.bean.CryptoSelfTestReport;
+import com.zang.sftptrans.bean.CryptoTestResult;
+import com.zang.sftptrans.bean.SftpServerProperties;
+import com.zang.sftptrans.enums.EnumCryptoProfile;
+import com.zang.sftptrans.util.PathUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * SSH算法自测：对指定服务器逐个测试加密算法与各算法组合的握手耗时和批量吞吐量，推荐服务端接受的最快组合
+ * <p>
+ * 先以默认组合预热一轮，每项测试再独立握手若干轮取最短耗时，再在新会话上向root目录上传并下载一份随机样本后删除；
+ * 逐个加密算法测试时密钥交换与MAC使用{@link EnumCryptoProfile#COMPATIBLE}的顺序。
+ * 测试按总耗时（握手与一次样本往返传输）排序，忽略配置中覆盖的算法，且不使用压缩
+ *
+ * @author xssdpgy
+ * @version xssdpgy: SftpCryptoSelfTest.java,v1.0 2026/10/19 0:20 xssdpgy Exp $$
+ * @since 1.0
+ */
+@Slf4j
+public class SftpCryptoSelfTest {
+
+    private static final String SAMPLE_FILE_PREFIX = ".sftptrans-selftest-";
+
+    private final SftpServerProperties server;
+
+    /**
+     * 吞吐测试的样本大小（字节）
+     */
+    private final int sampleSize;
+
+    /**
+     * 每项测试的握手轮数
+     */
+    private final int handshakeRounds;
+
+    /**
+     * 默认样本8MB，握手3轮
+     *
+     * @param properties
+     */
+    public SftpCryptoSelfTest(SftpServerProperties properties) {
+        this(properties, 8 * 1024 * 1024, 3);
+    }
+
+    public SftpCryptoSelfTest(SftpServerProperties properties, int sampleSize, int handshakeRounds) {
+        this.server = properties;
+        this.sampleSize = sampleSize;
+        this.handshakeRounds = Math.max(1, handshakeRounds);
+    }
+
+    /**
+     * 执行自测
+     *
+     * @return com.zang.sftptrans.bean.CryptoSelfTestReport
+     */
+    public CryptoSelfTestReport run() {
+        byte[] sample = new byte[sampleSize];
+        new Random().nextBytes(sample);
+        CryptoSelfTestReport report = new CryptoSelfTestReport();
+        report.setServer(server.getUsername() + "@" + server.getHost() + ":" + server.getPort());
+        report.setSampleSize(sampleSize);
+        EnumCryptoProfile baseline = EnumCryptoProfile.COMPATIBLE;
+        // 预热一轮不计入结果，避免首个被测算法承担类加载与JIT编译的开销
+        test(baseline.name(), baseline.getKex(), baseline.getCiphers(), baseline.getMacs(), sample);
+        for (String cipher : StringUtils.split(baseline.getCiphers(), ',')) {
+            report.getCiphers().add(test(cipher, baseline.getKex(), cipher, baseline.getMacs(), sample));
+        }
+        for (EnumCryptoProfile profile : EnumCryptoProfile.values()) {
+            report.getProfiles().add(test(profile.name(), profile.getKex(), profile.getCiphers(), profile.getMacs(), sample));
+        }
+        Comparator<CryptoTestResult> byTotal = Comparator.comparingDouble(CryptoTestResult::getTotalMillis);
+        report.getCiphers().stream().filter(CryptoTestResult::isAccepted).min(byTotal)
+                .ifPresent(r -> report.setFastestCipher(r.getName()));
+        report.getProfiles().stream().filter(CryptoTestResult::isAccepted).min(byTotal)
+                .ifPresent(r -> report.setRecommendedProfile(EnumCryptoProfile.valueOf(r.getName())));
+        if (report.getRecommendedProfile() == null) {
+            log.warn("SSH算法自测未找到服务端接受的算法组合！server={}", report.getServer());
+        } else {
+            log.info("SSH算法自测完成，server={}，推荐算法组合={}，最快加密算法={}", report.getServer(),
+                    report.getRecommendedProfile(), report.getFastestCipher());
+        }
+        return report;
+    }
+
+    private CryptoTestResult test(String name, String kex, String ciphers, String macs, byte[] sample) {
+        CryptoTestResult result = new CryptoTestResult();
+        result.setName(name);
+        result.setKex(kex);
+        result.setCiphers(ciphers);
+        result.setMacs(macs);
+        try {
+            long fastest = Long.MAX_VALUE;
+            for (int i = 0; i < handshakeRounds; i++) {
+                long startTime = System.nanoTime();
+                Session session = SftpClient.openSession(server, false, kex, ciphers, macs);
+                fastest = Math.min(fastest, System.nanoTime() - startTime);
+                session.disconnect();
+            }
+            result.setHandshakeMillis(fastest / 1e6);
+            result.setAccepted(true);
+            transfer(result, sample);
+        } catch (Exception e) {
+            result.setAccepted(false);
+            result.setErrorMessage(e.getMessage());
+            if (log.isDebugEnabled()) {
+                log.debug("Crypto self test failed.name={},error={}", name, e.getMessage());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 上传并下载样本，测量两个方向的吞吐量
+     */
+    private void transfer(CryptoTestResult result, byte[] sample) throws Exception {
+        Session session = SftpClient.openSession(server, false, result.getKex(), result.getCiphers(), result.getMacs());
+        ChannelSftp channel = null;
+        String remoteFile = null;
+        try {
+            channel = (ChannelSftp) session.openChannel("sftp");
+            channel.connect();
+            remoteFile = PathUtils.resolveRemotePath(SftpClient.absoluteRoot(channel, server.getRoot()), SAMPLE_FILE_PREFIX + UUID.randomUUID());
+            long startTime = System.nanoTime();
+            channel.put(new ByteArrayInputStream(sample), remoteFile);
+            long uploadNanos = System.nanoTime() - startTime;
+            startTime = System.nanoTime();
+            byte[] buffer = new byte[64 * 1024];
+            try (InputStream in = channel.get(remoteFile)) {
+                while (in.read(buffer) != -1) {
+                    // 只计时，丢弃内容
+                }
+            }
+            long downloadNanos = System.nanoTime() - startTime;
+            result.setTransferMillis((uploadNanos + downloadNanos) / 1e6);
+            result.setUploadThroughput(throughput(sample.length, uploadNanos));
+            result.setDownloadThroughput(throughput(sample.length, downloadNanos));
+        } finally {
+            if (channel != null && channel.isConnected()) {
+                if (remoteFile != null) {
+                    try {
+                        channel.rm(remoteFile);
+                    } catch (Exception e) {
+                        log.warn("删除自测样本文件失败！file={}，原因：{}", remoteFile, e.getMessage());
+                    }
+                }
+                channel.disconnect();
+            }
+            session.disconnect();
+        }
+    }
+
+    private static long throughput(long bytes, long nanos) {
+        return nanos <= 0 ? 0 : (long) (bytes * 1e9 / nanos);
+    }
+}
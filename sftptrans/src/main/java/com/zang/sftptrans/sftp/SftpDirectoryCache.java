@@ -0,0 +1,94 @@
+package com.zang.sftptrans.sftp;
+
+import com.zang.sftptrans.bean.SftpServerProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 已确认存在的sftp目录缓存（LRU，容量有限）
+ * <p>
+ * 同一服务器的所有客户端共享一个缓存，上传到已知目录时无需再向服务端确认目录是否存在
+ *
+ * @author xssdpgy
+ * @version xssdpgy: SftpDirectoryCache.java,v1.0 2026/10/18 15:30 xssdpgy Exp $$
+ * @since 1.0
+ */
+public class SftpDirectoryCache {
+
+    /**
+     * 按服务器（用户名@主机:端口）区分的缓存
+     */
+    private static final ConcurrentMap<String, SftpDirectoryCache> CACHES = new ConcurrentHashMap<>();
+
+    private final int maxSize;
+
+    private final Map<String, Boolean> directories;
+
+    SftpDirectoryCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.directories = new LinkedHashMap<String, Boolean>(16, 0.75f, true) {
+            private static final long serialVersionUID = -3162316390461734237L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > SftpDirectoryCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * 获取服务器对应的目录缓存
+     *
+     * @param properties sftp服务端配置
+     * @return com.zang.sftptrans.sftp.SftpDirectoryCache
+     */
+    public static SftpDirectoryCache forServer(SftpServerProperties properties) {
+        String key = properties.getUsername() + "@" + properties.getHost() + ":" + properties.getPort();
+        return CACHES.computeIfAbsent(key, k -> new SftpDirectoryCache(properties.getKnownDirectoryCacheSize()));
+    }
+
+    /**
+     * 目录是否已确认存在
+     *
+     * @param directory 目录绝对路径
+     * @return boolean
+     */
+    public synchronized boolean contains(String directory) {
+        return maxSize > 0 && directories.get(directory) != null;
+    }
+
+    /**
+     * 记录已确认存在的目录
+     *
+     * @param directory 目录绝对路径
+     */
+    public synchronized void add(String directory) {
+        if (maxSize > 0) {
+            directories.put(directory, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * 移除目录及其子目录，用于目录可能已被删除时
+     *
+     * @param directory 目录绝对路径
+     */
+    public synchronized void remove(String directory) {
+        String prefix = directory.endsWith("/") ? directory : directory + "/";
+        directories.keySet().removeIf(d -> d.equals(directory) || d.startsWith(prefix));
+    }
+
+    /**
+     * 清空缓存
+     */
+    public synchronized void clear() {
+        directories.clear();
+    }
+
+    public synchronized int size() {
+        return directories.size();
+    }
+}
@@ -0,0 +1,20 @@
+package com.zang.sftptrans.sftp;
+
+import com.zang.sftptrans.bean.DirectoryChangeEvent;
+
+/**
+ * sftp目录变更监听器，在监听线程上同步回调，耗时处理应转交其他线程
+ *
+ * @author xssdpgy
+ * @version xssdpgy: SftpDirectoryListener.java,v1.0 2026/10/19 2:30 xssdpgy Exp $$
+ * @since 1.0
+ */
+public interface SftpDirectoryListener {
+
+    /**
+     * 目录中的文件发生变更
+     *
+     * @param event 变更事件
+     */
+    void onChange(DirectoryChangeEvent event);
+}
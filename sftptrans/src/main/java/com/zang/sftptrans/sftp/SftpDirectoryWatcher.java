@@ -0,0 +1,328 @@
+package com.zang.sftptrans.sftp;
+
+import com.jcraft.jsch.SftpATTRS;
+import com.zang.sftptrans.bean.DirectoryChangeEvent;
+import com.zang.sftptrans.bean.SftpListFilter;
+import com.zang.sftptrans.bean.SftpWatchProperties;
+import com.zang.sftptrans.enums.EnumDirectoryChangeType;
+import com.zang.sftptrans.exception.BusinessException;
+import com.zang.sftptrans.util.SftpAttrUtils;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * sftp目录变更监听
+ * <p>
+ * 每个监听目录保存一份快照（文件名 → 大小、修改时间），轮询时流式列目录与快照逐条比较，只上报新增、修改、删除事件，
+ * 不在内存中保留每次的完整列表。文件大小与修改时间连续{@link SftpWatchProperties#getStablePolls()}次轮询不变后
+ * 上报写入完成事件，写入完成后再次变化则重新计算。
+ * <p>
+ * 轮询间隔按目录繁忙程度自适应：有变更或有未写完的文件时回到下限，无变更时按系数放大直至上限。
+ * 所有目录共用一个监听线程，每次轮询从连接池借用客户端，列目录失败时保留快照、不上报删除并放大间隔。
+ *
+ * @author xssdpgy
+ * @version xssdpgy: SftpDirectoryWatcher.java,v1.0 2026/10/19 2:30 xssdpgy Exp $$
+ * @since 1.0
+ */
+@Slf4j
+public class SftpDirectoryWatcher implements Closeable {
+
+    private final SftpClientPool pool;
+
+    private final SftpWatchProperties properties;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final ConcurrentMap<String, WatchedDirectory> directories = new ConcurrentHashMap<>();
+
+    public SftpDirectoryWatcher(SftpClientPool pool, SftpWatchProperties properties) {
+        if (properties.getStablePolls() < 1 || properties.getMinInterval() <= 0
+                || properties.getMaxInterval() < properties.getMinInterval()) {
+            throw new IllegalArgumentException("目录监听配置不合法：" + properties);
+        }
+        this.pool = pool;
+        this.properties = properties;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "sftp-dir-watcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 开始监听目录，立即执行首次轮询
+     *
+     * @param sftpDirectory sftp目录相对root目录的路径
+     * @param filter        文件过滤条件，为空时监听所有普通文件
+     * @param listener      变更监听器
+     */
+    public void watch(String sftpDirectory, SftpListFilter filter, SftpDirectoryListener listener) {
+        WatchedDirectory watched = new WatchedDirectory(sftpDirectory, filter, listener);
+        if (directories.putIfAbsent(sftpDirectory, watched) != null) {
+            throw new IllegalStateException("目录已在监听中：" + sftpDirectory);
+        }
+        watched.schedule(0);
+    }
+
+    /**
+     * 停止监听目录并丢弃其快照
+     *
+     * @param sftpDirectory sftp目录相对root目录的路径
+     */
+    public void unwatch(String sftpDirectory) {
+        WatchedDirectory watched = directories.remove(sftpDirectory);
+        if (watched != null) {
+            watched.cancel();
+        }
+    }
+
+    /**
+     * 立即轮询一次已监听的目录，事件同时回调监听器
+     *
+     * @param sftpDirectory sftp目录相对root目录的路径
+     * @return 本次轮询的变更事件
+     */
+    public List<DirectoryChangeEvent> poll(String sftpDirectory) {
+        return watched(sftpDirectory).poll();
+    }
+
+    /**
+     * 目录当前的轮询间隔（milliseconds）
+     *
+     * @param sftpDirectory sftp目录相对root目录的路径
+     * @return long
+     */
+    public long getInterval(String sftpDirectory) {
+        return watched(sftpDirectory).interval;
+    }
+
+    /**
+     * 目录快照中的文件数
+     *
+     * @param sftpDirectory sftp目录相对root目录的路径
+     * @return int
+     */
+    public int getSnapshotSize(String sftpDirectory) {
+        WatchedDirectory watched = watched(sftpDirectory);
+        synchronized (watched) {
+            return watched.snapshot.size();
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        directories.clear();
+    }
+
+    private WatchedDirectory watched(String sftpDirectory) {
+        WatchedDirectory watched = directories.get(sftpDirectory);
+        if (watched == null) {
+            throw new IllegalStateException("目录未在监听中：" + sftpDirectory);
+        }
+        return watched;
+    }
+
+    /**
+     * 快照中的单个文件
+     */
+    private static final class FileState {
+
+        private long size;
+
+        private long lastModifiedTime;
+
+        /**
+         * 最近一次出现在列表中的轮询序号，未出现在本次轮询中的文件即已删除
+         */
+        private int generation;
+
+        /**
+         * 大小与修改时间连续不变的轮询次数
+         */
+        private int stablePolls;
+
+        private boolean completed;
+
+        FileState(long size, long lastModifiedTime) {
+            this.size = size;
+            this.lastModifiedTime = lastModifiedTime;
+        }
+    }
+
+    /**
+     * 单个监听目录的快照与轮询状态
+     */
+    private class WatchedDirectory implements Runnable {
+
+        private final String directory;
+
+        private final SftpListFilter filter;
+
+        private final SftpDirectoryListener listener;
+
+        private final Map<String, FileState> snapshot = new HashMap<>();
+
+        private int generation;
+
+        private boolean initialized;
+
+        private volatile long interval;
+
+        private volatile boolean cancelled;
+
+        private ScheduledFuture<?> future;
+
+        WatchedDirectory(String directory, SftpListFilter filter, SftpDirectoryListener listener) {
+            this.directory = directory;
+            this.filter = filter;
+            this.listener = listener;
+            this.interval = properties.getMinInterval();
+        }
+
+        @Override
+        public void run() {
+            if (cancelled) {
+                return;
+            }
+            try {
+                poll();
+            } catch (BusinessException e) {
+                log.warn("轮询sftp目录{}失败，{}ms后重试！原因：{}", directory, interval, e.getErrorMessage());
+            } catch (RuntimeException e) {
+                log.error("轮询sftp目录{}异常！", directory, e);
+            }
+            schedule(interval);
+        }
+
+        synchronized void schedule(long delay) {
+            if (cancelled) {
+                return;
+            }
+            try {
+                future = scheduler.schedule(this, delay, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // 监听已关闭
+                cancelled = true;
+            }
+        }
+
+        synchronized void cancel() {
+            cancelled = true;
+            if (future != null) {
+                future.cancel(false);
+            }
+        }
+
+        List<DirectoryChangeEvent> poll() {
+            List<DirectoryChangeEvent> events = new ArrayList<>();
+            try {
+                synchronized (this) {
+                    diff(events);
+                }
+            } finally {
+                // 列目录中途失败时已比较出的变更仍然有效
+                for (DirectoryChangeEvent event : events) {
+                    try {
+                        listener.onChange(event);
+                    } catch (RuntimeException e) {
+                        log.error("处理sftp目录{}的文件{}变更事件异常！", directory, event.getFilename(), e);
+                    }
+                }
+            }
+            return events;
+        }
+
+        private void diff(List<DirectoryChangeEvent> events) {
+            int current = ++generation;
+            boolean baseline = !initialized && !properties.isReportExisting();
+            SftpClient client = null;
+            boolean success = false;
+            try {
+                client = pool.borrowObject();
+                client.listFiles(directory, filter, entry -> {
+                    SftpATTRS attrs = entry.getAttrs();
+                    if (!attrs.isReg()) {
+                        return true;
+                    }
+                    long size = attrs.getSize();
+                    long lastModifiedTime = SftpAttrUtils.getLastModifiedTime(attrs);
+                    FileState state = snapshot.get(entry.getFilename());
+                    if (state == null) {
+                        state = new FileState(size, lastModifiedTime);
+                        snapshot.put(entry.getFilename(), state);
+                        if (baseline) {
+                            state.completed = true;
+                        } else {
+                            events.add(event(entry.getFilename(), EnumDirectoryChangeType.CREATED, state));
+                        }
+                    } else if (state.size != size || state.lastModifiedTime != lastModifiedTime) {
+                        state.size = size;
+                        state.lastModifiedTime = lastModifiedTime;
+                        state.stablePolls = 0;
+                        state.completed = false;
+                        events.add(event(entry.getFilename(), EnumDirectoryChangeType.MODIFIED, state));
+                    } else if (!state.completed && ++state.stablePolls >= properties.getStablePolls()) {
+                        state.completed = true;
+                        events.add(event(entry.getFilename(), EnumDirectoryChangeType.COMPLETED, state));
+                    }
+                    state.generation = current;
+                    return true;
+                });
+                success = true;
+            } catch (BusinessException e) {
+                adjustInterval(false);
+                throw e;
+            } finally {
+                if (client != null && (success || client.testConnect())) {
+                    pool.returnObject(client);
+                } else if (client != null) {
+                    pool.invalidateObject(client);
+                }
+            }
+            boolean changed = !events.isEmpty();
+            boolean pending = false;
+            for (Iterator<Map.Entry<String, FileState>> it = snapshot.entrySet().iterator(); it.hasNext(); ) {
+                Map.Entry<String, FileState> entry = it.next();
+                FileState state = entry.getValue();
+                if (state.generation != current) {
+                    it.remove();
+                    events.add(event(entry.getKey(), EnumDirectoryChangeType.DELETED, state));
+                    changed = true;
+                } else if (!state.completed) {
+                    pending = true;
+                }
+            }
+            initialized = true;
+            adjustInterval(changed || pending);
+        }
+
+        /**
+         * 有变更或未写完的文件时回到间隔下限，否则按系数放大
+         */
+        private void adjustInterval(boolean busy) {
+            if (busy) {
+                interval = properties.getMinInterval();
+            } else {
+                interval = Math.min(properties.getMaxInterval(), (long) (interval * properties.getBackoffFactor()));
+            }
+        }
+
+        private DirectoryChangeEvent event(String filename, EnumDirectoryChangeType type, FileState state) {
+            return new DirectoryChangeEvent(directory, filename, type, state.size, state.lastModifiedTime);
+        }
+    }
+}
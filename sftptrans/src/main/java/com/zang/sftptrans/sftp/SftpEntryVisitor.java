@@ -0,0 +1,24 @@
+package com.zang.sftptrans.sftp;
+
+import com.jcraft.jsch.ChannelSftp;
+
+/**
+ * sftp目录条目访问回调
+ * <p>
+ * 在读取目录的线程上同步调用，回调返回前不会继续读取后续条目
+ *
+ * @author xssdpgy
+ * @version xssdpgy: SftpEntryVisitor.java,v1.0 2026/10/18 17:50 xssdpgy Exp $$
+ * @since 1.0
+ */
+@FunctionalInterface
+public interface SftpEntryVisitor {
+
+    /**
+     * 处理一个目录条目
+     *
+     * @param entry 目录条目
+     * @return boolean 返回false时停止列出后续条目
+     */
+    boolean visit(ChannelSftp.LsEntry entry);
+}
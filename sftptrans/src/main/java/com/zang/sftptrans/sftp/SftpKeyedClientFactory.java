@@ -0,0 +1,86 @@
+package com.zang.sftptrans.sftp;
+
+import com.zang.sftptrans.bean.SftpServerProperties;
+import com.zang.sftptrans.enums.EnumBusinessError;
+import com.zang.sftptrans.exception.BusinessException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.pool2.BaseKeyedPooledObjectFactory;
+import org.apache.commons.pool2.PooledObject;
+import org.apache.commons.pool2.impl.DefaultPooledObject;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 多服务器sftp客户端对象工厂，以服务器标识为键
+ * <p>
+ * 每个服务器委托给各自的{@link SftpClientFactory}，会话复用等单服务器行为保持一致
+ *
+ * @author xssdpgy
+ * @version xssdpgy: SftpKeyedClientFactory.java,v1.0 2026/10/18 22:10 xssdpgy Exp $$
+ * @since 1.0
+ */
+@Slf4j
+public class SftpKeyedClientFactory extends BaseKeyedPooledObjectFactory<String, SftpClient> {
+
+    private final ConcurrentMap<String, SftpClientFactory> factories = new ConcurrentHashMap<>();
+
+    /**
+     * 登记服务器
+     *
+     * @param serverId   服务器标识
+     * @param properties sftp服务端配置
+     */
+    public void register(String serverId, SftpServerProperties properties) {
+        factories.put(serverId, new SftpClientFactory(properties));
+    }
+
+    /**
+     * 已登记的服务器标识
+     *
+     * @return java.util.Set<java.lang.String>
+     */
+    public Set<String> getServerIds() {
+        return factories.keySet();
+    }
+
+    /**
+     * 服务器的配置
+     *
+     * @param serverId 服务器标识
+     * @return com.zang.sftptrans.bean.SftpServerProperties
+     */
+    public SftpServerProperties getServer(String serverId) {
+        return factory(serverId).getServer();
+    }
+
+    @Override
+    public SftpClient create(String serverId) {
+        return factory(serverId).create();
+    }
+
+    @Override
+    public PooledObject<SftpClient> wrap(SftpClient sftpClient) {
+        return new DefaultPooledObject<>(sftpClient);
+    }
+
+    @Override
+    public boolean validateObject(String serverId, PooledObject<SftpClient> p) {
+        return factory(serverId).validateObject(p);
+    }
+
+    @Override
+    public void destroyObject(String serverId, PooledObject<SftpClient> p) {
+        factory(serverId).destroyObject(p);
+    }
+
+    private SftpClientFactory factory(String serverId) {
+        SftpClientFactory factory = factories.get(serverId);
+        if (factory == null) {
+            log.error("sftp服务器{}未登记！", serverId);
+            throw new BusinessException(EnumBusinessError.SFTP_SERVER_NOT_REGISTERED.getCode(), EnumBusinessError.SFTP_SERVER_NOT_REGISTERED.getMsg(), serverId);
+        }
+        return factory;
+    }
+}
@@ -0,0 +1,231 @@
+package com.zang.sftptrans.sftp;
+
+import com.zang.sftptrans.enums.EnumBusinessError;
+import com.zang.sftptrans.enums.EnumMirrorSelectStrategy;
+import com.zang.sftptrans.exception.BusinessException;
+import com.zang.sftptrans.metrics.SftpMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.pool2.impl.GenericKeyedObjectPool;
+import org.apache.commons.pool2.impl.GenericKeyedObjectPoolConfig;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 多服务器sftp连接缓存池，以服务器标识为键
+ * <p>
+ * 单个服务器的连接数受maxTotalPerKey限制，所有服务器的连接总数受maxTotal限制；
+ * 存放相同数据的服务器可登记为镜像组，通过{@link #borrowFromGroup(String)}按策略选择成员并在连接失败时切换到其他成员
+ * <p>
+ * 连接探测按构造时工厂中已登记的服务器配置，服务器应先在工厂登记再构造连接池
+ *
+ * @author xssdpgy
+ * @version xssdpgy: SftpKeyedClientPool.java,v1.0 2026/10/18 22:10 xssdpgy Exp $$
+ * @since 1.0
+ */
+@Slf4j
+public class SftpKeyedClientPool extends GenericKeyedObjectPool<String, SftpClient> {
+
+    /**
+     * 默认的成员连接失败冷却时间
+     */
+    private static final long DEFAULT_FAILOVER_COOLDOWN = TimeUnit.SECONDS.toMillis(30);
+
+    private final SftpKeyedClientFactory factory;
+
+    private final ConcurrentMap<String, SftpMirrorGroup> groups = new ConcurrentHashMap<>();
+
+    /**
+     * 镜像组成员连接失败后的冷却时间（milliseconds），冷却期内优先选择其他成员
+     */
+    private volatile long failoverCooldown = DEFAULT_FAILOVER_COOLDOWN;
+
+    /**
+     * 使用默认的配置构造池
+     *
+     * @param factory
+     */
+    public SftpKeyedClientPool(SftpKeyedClientFactory factory) {
+        super(factory);
+        this.factory = factory;
+        enableProbe();
+    }
+
+    /**
+     * 使用自定义配置构造池
+     *
+     * @param factory
+     * @param config
+     */
+    public SftpKeyedClientPool(SftpKeyedClientFactory factory, GenericKeyedObjectPoolConfig<SftpClient> config) {
+        super(factory, config);
+        this.factory = factory;
+        enableProbe();
+    }
+
+    @Override
+    public SftpClient borrowObject(String serverId) {
+        try {
+            return borrow(serverId);
+        } catch (Exception e) {
+            log.error("从缓存池获取sftp服务器{}的client实例失败！原因：{}", serverId, e.getMessage());
+            throw new BusinessException(EnumBusinessError.SFTP_GET_CLIENT_FAILURE.getCode(), EnumBusinessError.SFTP_GET_CLIENT_FAILURE.getMsg());
+        }
+    }
+
+    @Override
+    public void returnObject(String serverId, SftpClient obj) {
+        if (null != obj) {
+            super.returnObject(serverId, obj);
+        }
+    }
+
+    @Override
+    public void invalidateObject(String serverId, SftpClient obj) {
+        if (null != obj) {
+            try {
+                super.invalidateObject(serverId, obj);
+            } catch (Exception e) {
+                log.error("销毁sftp服务器{}的client实例失败！原因：{}", serverId, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 登记镜像组，成员需已在工厂中登记
+     *
+     * @param groupId   镜像组标识
+     * @param strategy  成员选择策略
+     * @param serverIds 成员服务器标识
+     */
+    public void addMirrorGroup(String groupId, EnumMirrorSelectStrategy strategy, String... serverIds) {
+        List<String> members = Arrays.asList(serverIds);
+        for (String serverId : members) {
+            factory.getServer(serverId);
+        }
+        groups.put(groupId, new SftpMirrorGroup(groupId, strategy, members));
+    }
+
+    public SftpMirrorGroup getMirrorGroup(String groupId) {
+        return groups.get(groupId);
+    }
+
+    /**
+     * 从镜像组借出客户端：按策略依次尝试成员，成员连接失败时标记冷却并切换到下一个成员
+     *
+     * @param groupId 镜像组标识
+     * @return com.zang.sftptrans.sftp.SftpMirrorLease
+     */
+    public SftpMirrorLease borrowFromGroup(String groupId) {
+        SftpMirrorGroup group = groups.get(groupId);
+        if (group == null) {
+            log.error("sftp镜像组{}未登记！", groupId);
+            throw new BusinessException(EnumBusinessError.SFTP_SERVER_NOT_REGISTERED.getCode(), EnumBusinessError.SFTP_SERVER_NOT_REGISTERED.getMsg(), groupId);
+        }
+        Exception lastError = null;
+        for (String serverId : group.candidates(scoreOf(group.getStrategy()))) {
+            try {
+                SftpClient client = borrow(serverId);
+                group.markUp(serverId);
+                return new SftpMirrorLease(this, serverId, client);
+            } catch (Exception e) {
+                lastError = e;
+                if (isConnectionFailure(e)) {
+                    group.markDown(serverId, failoverCooldown);
+                    log.warn("sftp镜像组{}的成员{}连接失败，切换到其他成员！原因：{}", groupId, serverId, e.getMessage());
+                } else {
+                    log.warn("从sftp镜像组{}的成员{}获取client实例失败，尝试其他成员！原因：{}", groupId, serverId, e.getMessage());
+                }
+            }
+        }
+        log.error("sftp镜像组{}的所有成员均不可用！", groupId);
+        throw new BusinessException(EnumBusinessError.SFTP_GET_CLIENT_FAILURE.getCode(), EnumBusinessError.SFTP_GET_CLIENT_FAILURE.getMsg(), lastError);
+    }
+
+    public long getFailoverCooldown() {
+        return failoverCooldown;
+    }
+
+    public void setFailoverCooldown(long failoverCooldown) {
+        this.failoverCooldown = failoverCooldown;
+    }
+
+    private SftpClient borrow(String serverId) throws Exception {
+        SftpMetrics metrics = SftpMetrics.forServer(factory.getServer(serverId));
+        long startTime = System.nanoTime();
+        try {
+            SftpClient client = super.borrowObject(serverId);
+            metrics.recordBorrowWait(startTime);
+            return client;
+        } catch (Exception e) {
+            metrics.error(EnumBusinessError.SFTP_GET_CLIENT_FAILURE);
+            throw e;
+        }
+    }
+
+    /**
+     * 与SftpClientPool一致，任一已登记服务器开启探测时由驱逐线程在后台校验全部空闲连接，
+     * 未配置驱逐间隔时取各服务器探测间隔的最小值；未开启探测的服务器在校验时只检查会话与通道状态。
+     * PS：按构造时已登记的服务器计算，之后登记的服务器不改变驱逐间隔
+     */
+    private void enableProbe() {
+        long probeInterval = 0;
+        for (String serverId : factory.getServerIds()) {
+            long interval = factory.getServer(serverId).getProbeInterval();
+            if (interval > 0 && (probeInterval == 0 || interval < probeInterval)) {
+                probeInterval = interval;
+            }
+        }
+        if (probeInterval <= 0) {
+            return;
+        }
+        setTestWhileIdle(true);
+        setNumTestsPerEvictionRun(-1);
+        if (getTimeBetweenEvictionRunsMillis() <= 0) {
+            setTimeBetweenEvictionRunsMillis(probeInterval);
+        }
+    }
+
+    /**
+     * 成员得分：已借出连接数或往返时延，往返时延相同时再比较已借出连接数
+     *
+     * @param strategy 成员选择策略
+     * @return java.util.function.Function<java.lang.String, MemberScore>
+     */
+    private Function<String, MemberScore> scoreOf(EnumMirrorSelectStrategy strategy) {
+        if (strategy == EnumMirrorSelectStrategy.LOWEST_LATENCY) {
+            return serverId -> new MemberScore(SftpMetrics.forServer(factory.getServer(serverId)).getRoundTripEwma(), getNumActive(serverId));
+        }
+        return serverId -> new MemberScore(0, getNumActive(serverId));
+    }
+
+    private static boolean isConnectionFailure(Exception e) {
+        return e instanceof BusinessException
+                && EnumBusinessError.SFTP_CONNECTION_ERROR.getCode().equals(((BusinessException) e).getErrorCode());
+    }
+
+    /**
+     * 镜像组成员的得分：先比较往返耗时，再比较活跃连接数
+     */
+    private static final class MemberScore implements Comparable<MemberScore> {
+
+        private final double roundTrip;
+
+        private final int active;
+
+        MemberScore(double roundTrip, int active) {
+            this.roundTrip = roundTrip;
+            this.active = active;
+        }
+
+        @Override
+        public int compareTo(MemberScore other) {
+            int result = Double.compare(roundTrip, other.roundTrip);
+            return result != 0 ? result : Integer.compare(active, other.active);
+        }
+    }
+}
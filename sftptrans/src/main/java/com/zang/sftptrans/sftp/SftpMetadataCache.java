@@ -0,0 +1,196 @@
+package com.zang.sftptrans.sftp;
+
+import com.jcraft.jsch.ChannelSftp;
+import com.jcraft.jsch.SftpATTRS;
+import com.zang.sftptrans.bean.SftpServerProperties;
+import com.zang.sftptrans.util.PathUtils;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * sftp文件属性与目录列表缓存（TTL过期 + 容量有限的LRU淘汰）
+ * <p>
+ * 同一服务器的所有客户端共享一个缓存，以服务端绝对路径为键；本客户端上传、删除、重命名路径时使对应条目及其父目录列表失效，
+ * 其他程序对服务端的修改只能等待TTL过期。失效在服务端修改完成后执行，避免其他客户端在修改期间重新缓存旧状态。
+ * 缓存的SftpATTRS与LsEntry直接返回给所有调用方而不复制，只能读取
+ *
+ * @author xssdpgy
+ * @version xssdpgy: SftpMetadataCache.java,v1.0 2026/10/18 18:20 xssdpgy Exp $$
+ * @since 1.0
+ */
+public class SftpMetadataCache {
+
+    /**
+     * 按服务器（用户名@主机:端口）区分的缓存
+     */
+    private static final ConcurrentMap<String, SftpMetadataCache> CACHES = new ConcurrentHashMap<>();
+
+    private static final String ATTRS_PREFIX = "stat:";
+
+    private static final String LIST_PREFIX = "ls:";
+
+    private final long ttlNanos;
+
+    private final int maxSize;
+
+    private final Map<String, CacheEntry> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final AtomicLong evictions = new AtomicLong();
+
+    SftpMetadataCache(long ttlMillis, int maxSize) {
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<String, CacheEntry>(16, 0.75f, true) {
+            private static final long serialVersionUID = 5902237398176514418L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+                if (size() > SftpMetadataCache.this.maxSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * 获取服务器对应的元数据缓存
+     *
+     * @param properties sftp服务端配置
+     * @return com.zang.sftptrans.sftp.SftpMetadataCache
+     */
+    public static SftpMetadataCache forServer(SftpServerProperties properties) {
+        String key = properties.getUsername() + "@" + properties.getHost() + ":" + properties.getPort();
+        return CACHES.computeIfAbsent(key, k -> new SftpMetadataCache(properties.getMetadataCacheTtl(), properties.getMetadataCacheSize()));
+    }
+
+    /**
+     * 缓存是否启用
+     *
+     * @return boolean
+     */
+    public boolean isEnabled() {
+        return ttlNanos > 0 && maxSize > 0;
+    }
+
+    SftpATTRS getAttrs(String remotePath) {
+        return (SftpATTRS) get(ATTRS_PREFIX + remotePath);
+    }
+
+    void putAttrs(String remotePath, SftpATTRS attrs) {
+        put(ATTRS_PREFIX + remotePath, attrs);
+    }
+
+    @SuppressWarnings("unchecked")
+    List<ChannelSftp.LsEntry> getList(String remoteDirectory) {
+        return (List<ChannelSftp.LsEntry>) get(LIST_PREFIX + remoteDirectory);
+    }
+
+    void putList(String remoteDirectory, List<ChannelSftp.LsEntry> list) {
+        put(LIST_PREFIX + remoteDirectory, list);
+    }
+
+    /**
+     * 路径被修改时，使其属性、目录列表以及父目录列表失效
+     *
+     * @param remotePath 服务端绝对路径
+     */
+    public void invalidate(String remotePath) {
+        if (!isEnabled()) {
+            return;
+        }
+        String parent = PathUtils.resolveRemotePath(remotePath, PathUtils.PARENT_DIRECTORY);
+        synchronized (this) {
+            entries.remove(ATTRS_PREFIX + remotePath);
+            entries.remove(LIST_PREFIX + remotePath);
+            entries.remove(LIST_PREFIX + parent);
+        }
+    }
+
+    /**
+     * 清空缓存
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    /**
+     * 命中率，尚无请求时返回0
+     *
+     * @return double
+     */
+    public double getHitRate() {
+        long h = hits.get();
+        long total = h + misses.get();
+        return total == 0 ? 0 : (double) h / total;
+    }
+
+    private Object get(String key) {
+        if (!isEnabled()) {
+            return null;
+        }
+        Object value = null;
+        synchronized (this) {
+            CacheEntry entry = entries.get(key);
+            if (entry != null) {
+                if (System.nanoTime() - entry.createTime < ttlNanos) {
+                    value = entry.value;
+                } else {
+                    entries.remove(key);
+                }
+            }
+        }
+        (value == null ? misses : hits).incrementAndGet();
+        return value;
+    }
+
+    private void put(String key, Object value) {
+        if (isEnabled()) {
+            synchronized (this) {
+                entries.put(key, new CacheEntry(value, System.nanoTime()));
+            }
+        }
+    }
+
+    /**
+     * 缓存条目
+     */
+    private static class CacheEntry {
+
+        private final Object value;
+
+        private final long createTime;
+
+        CacheEntry(Object value, long createTime) {
+            this.value = value;
+            this.createTime = createTime;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.zang.sftptrans.sftp;
+
+import com.zang.sftptrans.enums.EnumMirrorSelectStrategy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 镜像组：存放相同数据的多台sftp服务器
+ * <p>
+ * 读取时按选择策略排列健康成员，得分相同的成员轮流排在前面，使并发读取分摊到各成员；
+ * 连接失败的成员在冷却期内排在最后，冷却期过后重新参与选择
+ *
+ * @author xssdpgy
+ * @version xssdpgy: SftpMirrorGroup.java,v1.0 2026/10/18 22:10 xssdpgy Exp $$
+ * @since 1.0
+ */
+public class SftpMirrorGroup {
+
+    private final String groupId;
+
+    private final EnumMirrorSelectStrategy strategy;
+
+    private final List<String> members;
+
+    /**
+     * 连接失败成员的冷却截止时间
+     */
+    private final ConcurrentMap<String, Long> downUntil = new ConcurrentHashMap<>();
+
+    private final AtomicInteger rotation = new AtomicInteger();
+
+    public SftpMirrorGroup(String groupId, EnumMirrorSelectStrategy strategy, List<String> members) {
+        if (members.isEmpty()) {
+            throw new IllegalArgumentException("镜像组" + groupId + "至少需要一个成员");
+        }
+        this.groupId = groupId;
+        this.strategy = strategy;
+        this.members = Collections.unmodifiableList(new ArrayList<>(members));
+    }
+
+    /**
+     * 按尝试顺序排列的成员：健康成员按得分升序，冷却中的成员按冷却截止时间升序排在最后
+     * <p>
+     * 得分（活跃连接数、往返耗时）在排序期间会被其他线程修改，先对每个成员取一次得分再排序，
+     * 避免排序过程中比较结果前后不一致
+     *
+     * @param score 成员得分，越低越优先
+     * @return java.util.List<java.lang.String>
+     */
+    <T extends Comparable<? super T>> List<String> candidates(Function<String, T> score) {
+        long now = System.currentTimeMillis();
+        int start = Math.floorMod(rotation.getAndIncrement(), members.size());
+        List<String> healthy = new ArrayList<>(members.size());
+        List<String> down = new ArrayList<>();
+        Map<String, T> scores = new HashMap<>();
+        Map<String, Long> until = new HashMap<>();
+        for (int i = 0; i < members.size(); i++) {
+            String member = members.get((start + i) % members.size());
+            Long memberUntil = downUntil.get(member);
+            if (memberUntil != null && memberUntil > now) {
+                down.add(member);
+                until.put(member, memberUntil);
+            } else {
+                healthy.add(member);
+                scores.put(member, score.apply(member));
+            }
+        }
+        // 稳定排序，得分相同的成员保持轮转后的顺序
+        healthy.sort(Comparator.comparing(scores::get));
+        down.sort(Comparator.comparing(until::get));
+        healthy.addAll(down);
+        return healthy;
+    }
+
+    /**
+     * 标记成员连接失败
+     *
+     * @param member   成员服务器标识
+     * @param cooldown 冷却时间（milliseconds）
+     */
+    void markDown(String member, long cooldown) {
+        downUntil.put(member, System.currentTimeMillis() + cooldown);
+    }
+
+    /**
+     * 标记成员恢复
+     *
+     * @param member 成员服务器标识
+     */
+    void markUp(String member) {
+        downUntil.remove(member);
+    }
+
+    /**
+     * 成员当前是否健康（不在冷却期内）
+     *
+     * @param member 成员服务器标识
+     * @return boolean
+     */
+    public boolean isHealthy(String member) {
+        Long until = downUntil.get(member);
+        return until == null || until <= System.currentTimeMillis();
+    }
+
+    public String getGroupId() {
+        return groupId;
+    }
+
+    public EnumMirrorSelectStrategy getStrategy() {
+        return strategy;
+    }
+
+    public List<String> getMembers() {
+        return members;
+    }
+}
@@ -0,0 +1,51 @@
+package com.zang.sftptrans.sftp;
+
+/**
+ * 从镜像组借出的sftp客户端，关闭时归还到所属服务器的连接池
+ *
+ * @author xssdpgy
+ * @version xssdpgy: SftpMirrorLease.java,v1.0 2026/10/18 22:10 xssdpgy Exp $$
+ * @since 1.0
+ */
+public class SftpMirrorLease implements AutoCloseable {
+
+    private final SftpKeyedClientPool pool;
+
+    private final String serverId;
+
+    private final SftpClient client;
+
+    private boolean closed;
+
+    SftpMirrorLease(SftpKeyedClientPool pool, String serverId, SftpClient client) {
+        this.pool = pool;
+        this.serverId = serverId;
+        this.client = client;
+    }
+
+    public String getServerId() {
+        return serverId;
+    }
+
+    public SftpClient getClient() {
+        return client;
+    }
+
+    /**
+     * 连接已不可用时销毁而非归还
+     */
+    public void invalidate() {
+        if (!closed) {
+            closed = true;
+            pool.invalidateObject(serverId, client);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            pool.returnObject(serverId, client);
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.zang.sftptrans.sftp;
+
+import com.zang.sftptrans.bean.PoolSizeDecision;
+import com.zang.sftptrans.bean.SftpPoolSizingProperties;
+import com.zang.sftptrans.enums.EnumBusinessError;
+import com.zang.sftptrans.enums.EnumPoolSizeDecision;
+import com.zang.sftptrans.metrics.SftpMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * sftp连接池容量自适应调整
+ * <p>
+ * 按固定间隔观察借用等待、往返时延与连接失败，在上下限之间调整连接池的最大连接数。
+ * 往返时延取stat耗时的移动平均，与最近若干周期内的最低值比较判断服务端是否已饱和：
+ * <ul>
+ * <li>出现连接失败（服务端拒绝新会话）时按系数缩减，并在冷却期内不再扩容或重复缩减</li>
+ * <li>借用等待超过阈值或有线程等待，且往返时延未明显劣化时扩容</li>
+ * <li>已借出连接数较低且无等待时缩容，超出的空闲连接在归还时或由驱逐线程按空闲时间销毁</li>
+ * </ul>
+ *
+ * @author xssdpgy
+ * @version xssdpgy: SftpPoolSizeController.java,v1.0 2026/10/18 22:40 xssdpgy Exp $$
+ * @since 1.0
+ */
+@Slf4j
+public class SftpPoolSizeController implements Closeable {
+
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final SftpClientPool pool;
+
+    private final SftpMetrics metrics;
+
+    private final SftpPoolSizingProperties properties;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final Map<EnumPoolSizeDecision, AtomicLong> decisionCounts = new EnumMap<>(EnumPoolSizeDecision.class);
+
+    private volatile PoolSizeDecision lastDecision;
+
+    /**
+     * 上一周期结束时的累计值
+     */
+    private long lastBorrowCount;
+
+    private long lastBorrowNanos;
+
+    private long lastConnectionErrors;
+
+    /**
+     * 最近若干周期的往返时延采样，窗口内的最低值作为服务端未饱和时的基准
+     */
+    private final double[] roundTripWindow;
+
+    private int roundTripSamples;
+
+    private long backoffUntil;
+
+    /**
+     * @param pool       sftp连接池，需由SftpClientFactory创建
+     * @param properties 自适应容量配置
+     */
+    public SftpPoolSizeController(SftpClientPool pool, SftpPoolSizingProperties properties) {
+        if (pool.getMetrics() == null) {
+            throw new IllegalArgumentException("连接池需由SftpClientFactory创建");
+        }
+        if (properties.getMinSize() < 1 || properties.getMaxSize() < properties.getMinSize()) {
+            throw new IllegalArgumentException("连接数上下限不合法：" + properties.getMinSize() + "~" + properties.getMaxSize());
+        }
+        if (properties.getBaselineWindow() < 1) {
+            throw new IllegalArgumentException("往返时延基准窗口不合法：" + properties.getBaselineWindow());
+        }
+        this.pool = pool;
+        this.metrics = pool.getMetrics();
+        this.properties = properties;
+        this.roundTripWindow = new double[properties.getBaselineWindow()];
+        for (EnumPoolSizeDecision decision : EnumPoolSizeDecision.values()) {
+            decisionCounts.put(decision, new AtomicLong());
+        }
+        this.lastBorrowCount = metrics.getBorrowWait().getCount();
+        this.lastBorrowNanos = metrics.getBorrowWait().getTotalNanos();
+        this.lastConnectionErrors = metrics.getErrorCount(EnumBusinessError.SFTP_CONNECTION_ERROR);
+        int maxTotal = pool.getMaxTotal() < 0 ? properties.getMaxSize() : pool.getMaxTotal();
+        resize(clamp(maxTotal));
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "sftp-pool-sizer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::adjust, properties.getInterval(), properties.getInterval(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 执行一次调整，一般由定时任务调用
+     *
+     * @return com.zang.sftptrans.bean.PoolSizeDecision
+     */
+    public synchronized PoolSizeDecision adjust() {
+        long borrowCount = metrics.getBorrowWait().getCount();
+        long borrowNanos = metrics.getBorrowWait().getTotalNanos();
+        long connectionErrors = metrics.getErrorCount(EnumBusinessError.SFTP_CONNECTION_ERROR);
+        long borrows = borrowCount - lastBorrowCount;
+        double borrowWait = borrows == 0 ? 0 : (borrowNanos - lastBorrowNanos) / NANOS_PER_MILLI / borrows;
+        long errors = connectionErrors - lastConnectionErrors;
+        lastBorrowCount = borrowCount;
+        lastBorrowNanos = borrowNanos;
+        lastConnectionErrors = connectionErrors;
+
+        double roundTrip = metrics.getRoundTripEwma();
+        double baselineRoundTrip = baseline(roundTrip);
+        boolean latencyDegraded = baselineRoundTrip > 0 && roundTrip > baselineRoundTrip * properties.getLatencyDegradeRatio();
+
+        PoolSizeDecision decision = new PoolSizeDecision();
+        decision.setTimestamp(System.currentTimeMillis());
+        decision.setBorrowWait(borrowWait);
+        decision.setRoundTrip(roundTrip);
+        decision.setBaselineRoundTrip(baselineRoundTrip);
+        decision.setConnectionErrors(errors);
+        decision.setActive(pool.getNumActive());
+        decision.setIdle(pool.getNumIdle());
+        decision.setWaiters(pool.getNumWaiters());
+        int current = pool.getMaxTotal();
+        decision.setPreviousMaxTotal(current);
+
+        int target = current;
+        if (errors > 0 && decision.getTimestamp() < backoffUntil) {
+            // 退避前已发起的建连仍可能失败，冷却期内不重复缩减
+            decide(decision, EnumPoolSizeDecision.HOLD, "退避冷却中，连接失败" + errors + "次");
+        } else if (errors > 0) {
+            target = clamp((int) (current * properties.getBackoffFactor()));
+            backoffUntil = decision.getTimestamp() + properties.getBackoffCooldown();
+            decide(decision, EnumPoolSizeDecision.BACKOFF, "连接失败" + errors + "次");
+        } else if (borrowWait > properties.getBorrowWaitThreshold() || decision.getWaiters() > 0) {
+            if (decision.getTimestamp() < backoffUntil) {
+                decide(decision, EnumPoolSizeDecision.HOLD, "退避冷却中");
+            } else if (latencyDegraded) {
+                decide(decision, EnumPoolSizeDecision.HOLD, "往返时延已劣化");
+            } else if (current >= properties.getMaxSize()) {
+                decide(decision, EnumPoolSizeDecision.HOLD, "已达上限");
+            } else {
+                target = clamp(current + properties.getStep());
+                decide(decision, EnumPoolSizeDecision.GROW, "借用等待" + String.format("%.1f", borrowWait) + "ms");
+            }
+        } else if (current > properties.getMinSize() && decision.getActive() < current * properties.getShrinkUtilization()) {
+            target = clamp(current - properties.getStep());
+            decide(decision, EnumPoolSizeDecision.SHRINK, "已借出" + decision.getActive() + "/" + current);
+        } else {
+            decide(decision, EnumPoolSizeDecision.HOLD, "负载平稳");
+        }
+        decision.setMaxTotal(target);
+        if (target != current) {
+            resize(target);
+            log.info("调整sftp连接池容量：{} -> {}，决策：{}，原因：{}", current, target,
+                    decision.getDecision().getDescription(), decision.getReason());
+        }
+        lastDecision = decision;
+        return decision;
+    }
+
+    public PoolSizeDecision getLastDecision() {
+        return lastDecision;
+    }
+
+    /**
+     * 某类决策的累计次数
+     *
+     * @param decision 决策类型
+     * @return long
+     */
+    public long getDecisionCount(EnumPoolSizeDecision decision) {
+        return decisionCounts.get(decision).get();
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private void decide(PoolSizeDecision decision, EnumPoolSizeDecision type, String reason) {
+        decision.setDecision(type);
+        decision.setReason(reason);
+        decisionCounts.get(type).incrementAndGet();
+    }
+
+    /**
+     * 记录本周期的往返时延，返回窗口内的最低值
+     *
+     * @param roundTrip 本周期的往返时延，无样本时为0，不计入窗口
+     * @return double 窗口内无样本时返回0
+     */
+    private double baseline(double roundTrip) {
+        if (roundTrip > 0) {
+            roundTripWindow[roundTripSamples++ % roundTripWindow.length] = roundTrip;
+        }
+        double baseline = 0;
+        for (int i = 0, n = Math.min(roundTripSamples, roundTripWindow.length); i < n; i++) {
+            if (baseline == 0 || roundTripWindow[i] < baseline) {
+                baseline = roundTripWindow[i];
+            }
+        }
+        return baseline;
+    }
+
+    private int clamp(int size) {
+        return Math.max(properties.getMinSize(), Math.min(properties.getMaxSize(), size));
+    }
+
+    /**
+     * 调整最大连接数与最大空闲数
+     * <p>
+     * 不主动销毁超出的空闲连接：借出再销毁会与业务线程争抢空闲连接，空闲连接不足时还会新建连接。
+     * 空闲连接数超过maxIdle后，归还的连接直接销毁；长期空闲的连接由驱逐线程按minEvictableIdleTime回收
+     *
+     * @param maxTotal 最大连接数
+     */
+    private void resize(int maxTotal) {
+        pool.setMaxTotal(maxTotal);
+        pool.setMaxIdle(maxTotal);
+        if (pool.getMinIdle() > maxTotal) {
+            pool.setMinIdle(maxTotal);
+        }
+    }
+}
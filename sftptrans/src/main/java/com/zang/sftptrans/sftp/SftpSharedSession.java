@@ -0,0 +1,92 @@
+package com.zang.sftptrans.sftp;
+
+import com.jcraft.jsch.Session;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 多个sftp通道复用的SSH会话
+ * <p>
+ * 通道计数为-1表示会话已关闭，不再分配新的通道
+ *
+ * @author xssdpgy
+ * @version xssdpgy: SftpSharedSession.java,v1.0 2026/10/18 14:20 xssdpgy Exp $$
+ * @since 1.0
+ */
+@Slf4j
+class SftpSharedSession {
+
+    private static final int CLOSED = -1;
+
+    /**
+     * JSch server session
+     */
+    private final Session session;
+
+    /**
+     * 会话最多承载的通道数
+     */
+    private final int maxChannels;
+
+    /**
+     * 已分配的通道数
+     */
+    private final AtomicInteger channels = new AtomicInteger();
+
+    SftpSharedSession(Session session, int maxChannels) {
+        this.session = session;
+        this.maxChannels = maxChannels;
+    }
+
+    Session getSession() {
+        return session;
+    }
+
+    /**
+     * 尝试占用一个通道名额
+     *
+     * @return boolean 会话已满或已关闭时返回false
+     */
+    boolean tryAcquire() {
+        for (; ; ) {
+            int current = channels.get();
+            if (current == CLOSED || current >= maxChannels || !session.isConnected()) {
+                return false;
+            }
+            if (channels.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 释放一个通道名额，最后一个通道释放时断开会话
+     */
+    void release() {
+        if (channels.decrementAndGet() == 0 && channels.compareAndSet(0, CLOSED)) {
+            session.disconnect();
+            if (log.isDebugEnabled()) {
+                log.debug("SSH shared session disconnected.session={}", session);
+            }
+        }
+    }
+
+    /**
+     * 已分配的通道数
+     *
+     * @return int
+     */
+    int getChannels() {
+        return Math.max(0, channels.get());
+    }
+
+    /**
+     * 会话是否可继续分配通道
+     *
+     * @return boolean
+     */
+    boolean isAvailable() {
+        return channels.get() != CLOSED && session.isConnected();
+    }
+}
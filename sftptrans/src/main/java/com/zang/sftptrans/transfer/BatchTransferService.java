@@ -0,0 +1,116 @@
+package com.zang.sftptrans.transfer;
+
+import com.zang.sftptrans.bean.BatchTransferResult;
+import com.zang.sftptrans.bean.FileTransferPair;
+import com.zang.sftptrans.bean.FileTransferResult;
+import com.zang.sftptrans.bean.SftpTransferProperties;
+import com.zang.sftptrans.enums.EnumBusinessError;
+import com.zang.sftptrans.enums.EnumTransferDirection;
+import com.zang.sftptrans.exception.BusinessException;
+import com.zang.sftptrans.sftp.SftpClient;
+import com.zang.sftptrans.sftp.SftpClientPool;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * 批量文件传输
+ * <p>
+ * 按并发上限启动若干个工作任务，每个工作任务只借用一次sftp客户端并依次处理队列中的文件，
+ * 避免逐个文件借还连接；单个文件失败不影响其他文件，结果中记录每个文件的状态、字节数与耗时
+ *
+ * @author xssdpgy
+ * @version xssdpgy: BatchTransferService.java,v1.0 2026/10/18 16:30 xssdpgy Exp $$
+ * @since 1.0
+ */
+@Slf4j
+public class BatchTransferService {
+
+    private final SftpClientPool pool;
+
+    private final ExecutorService executor;
+
+    private final SftpTransferProperties properties;
+
+    public BatchTransferService(SftpClientPool pool, ExecutorService executor, SftpTransferProperties properties) {
+        this.pool = pool;
+        this.executor = executor;
+        this.properties = properties;
+    }
+
+    /**
+     * 批量上传本地文件到sftp路径
+     *
+     * @param pairs 本地文件与sftp文件路径
+     * @return com.zang.sftptrans.bean.BatchTransferResult
+     */
+    public BatchTransferResult upload(List<FileTransferPair> pairs) {
+        return execute(pairs, EnumTransferDirection.UPLOAD);
+    }
+
+    /**
+     * 批量下载sftp文件到本地路径
+     *
+     * @param pairs 本地保存路径与sftp文件路径
+     * @return com.zang.sftptrans.bean.BatchTransferResult
+     */
+    public BatchTransferResult download(List<FileTransferPair> pairs) {
+        return execute(pairs, EnumTransferDirection.DOWNLOAD);
+    }
+
+    private BatchTransferResult execute(List<FileTransferPair> pairs, EnumTransferDirection direction) {
+        long startTime = System.currentTimeMillis();
+        FileTransferResult[] results = new FileTransferResult[pairs.size()];
+        Queue<Integer> queue = new ConcurrentLinkedQueue<>();
+        for (int i = 0; i < pairs.size(); i++) {
+            queue.add(i);
+        }
+        int workers = Math.max(1, Math.min(properties.getBatchParallelism(), pairs.size()));
+        List<Future<?>> futures = new ArrayList<>(workers);
+        try {
+            for (int i = 0; i < workers; i++) {
+                futures.add(executor.submit(() -> work(queue, pairs, results, direction)));
+            }
+            TransferSupport.awaitAll(futures, EnumBusinessError.SFTP_OPERATION_FAILURE);
+        } catch (RuntimeException e) {
+            queue.clear();
+            TransferSupport.cancelAll(futures);
+            throw e;
+        }
+        return TransferSupport.summarize(Arrays.asList(results), System.currentTimeMillis() - startTime);
+    }
+
+    /**
+     * 工作任务：借用一个客户端依次处理队列中的文件，连接失效时归还作废并重新借用
+     */
+    private void work(Queue<Integer> queue, List<FileTransferPair> pairs, FileTransferResult[] results, EnumTransferDirection direction) {
+        SftpClient client = null;
+        try {
+            Integer index;
+            while ((index = queue.poll()) != null) {
+                FileTransferPair pair = pairs.get(index);
+                try {
+                    if (client == null) {
+                        client = pool.borrowObject();
+                    }
+                } catch (BusinessException e) {
+                    results[index] = TransferSupport.failure(pair, 0, e.getErrorCode(), e.getErrorMessage());
+                    continue;
+                }
+                results[index] = TransferSupport.transfer(client, pair, direction, properties);
+                if (!results[index].isSuccess() && !client.testConnect()) {
+                    pool.invalidateObject(client);
+                    client = null;
+                }
+            }
+        } finally {
+            pool.returnObject(client);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.zang.sftptrans.transfer;
+
+import com.zang.sftptrans.bean.SftpTransferProperties;
+import com.zang.sftptrans.enums.EnumBusinessError;
+import com.zang.sftptrans.enums.EnumTransferDirection;
+import com.zang.sftptrans.exception.BusinessException;
+import com.zang.sftptrans.file.CombinedProgressMonitor;
+import com.zang.sftptrans.sftp.SftpClient;
+import com.zang.sftptrans.sftp.SftpClientPool;
+import com.zang.sftptrans.util.PathUtils;
+import com.zang.sftptrans.util.SftpAttrUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * 大文件多连接分块上传
+ * <p>
+ * 本地文件按区间拆分，由连接池中的多个sftp客户端按偏移量写入同一个远程临时文件，
+ * 全部分块完成并校验大小后再重命名为正式文件名，下游不会读取到不完整的文件。
+ * 服务端不支持posix-rename@openssh.com时覆盖已存在的正式文件不是原子操作，见{@link SftpClient#rename(String, String)}
+ *
+ * @author xssdpgy
+ * @version xssdpgy: ChunkedUploader.java,v1.0 2026/10/18 11:05 xssdpgy Exp $$
+ * @since 1.0
+ */
+@Slf4j
+public class ChunkedUploader {
+
+    /**
+     * 临时文件前缀，以点号开头使其对多数下游扫描程序不可见
+     */
+    private static final String TEMP_FILE_PREFIX = ".";
+
+    /**
+     * 临时文件后缀
+     */
+    private static final String TEMP_FILE_SUFFIX = ".part";
+
+    private final SftpClientPool pool;
+
+    private final ExecutorService executor;
+
+    private final SftpTransferProperties properties;
+
+    public ChunkedUploader(SftpClientPool pool, ExecutorService executor, SftpTransferProperties properties) {
+        this.pool = pool;
+        this.executor = executor;
+        this.properties = properties;
+    }
+
+    /**
+     * 将本地文件上传到sftp相对目录下，并返回全路径，大文件自动分块并行上传
+     *
+     * @param localFilePath 本地文件
+     * @param sftpDirectory 上传目录的相对路径
+     * @return java.nio.file.Path
+     */
+    public Path upload(Path localFilePath, String sftpDirectory) {
+        PathUtils.checkReadable(localFilePath);
+        String filename = localFilePath.getFileName().toString();
+        String tempFilename = TEMP_FILE_PREFIX + filename + "." + UUID.randomUUID().toString().replace("-", "") + TEMP_FILE_SUFFIX;
+        String sftpFilePath = PathUtils.appendPath(StringUtils.defaultString(sftpDirectory), filename);
+        String tempFilePath = PathUtils.appendPath(StringUtils.defaultString(sftpDirectory), tempFilename);
+        try (FileChannel source = FileChannel.open(localFilePath, StandardOpenOption.READ)) {
+            long size = source.size();
+            Path tempSftpPath;
+            SftpClient client = pool.borrowObject();
+            try {
+                tempSftpPath = client.createEmptyFile(StringUtils.defaultString(sftpDirectory), tempFilename);
+            } finally {
+                pool.returnObject(client);
+            }
+            try {
+                uploadChunks(source, size, tempFilePath);
+                publish(tempFilePath, sftpFilePath, size);
+            } catch (RuntimeException e) {
+                discard(tempFilePath);
+                throw e;
+            }
+            return tempSftpPath.resolveSibling(filename);
+        } catch (IOException e) {
+            log.error("分块上传本地文件{}至SFTP目录{}失败！原因：{}", localFilePath, sftpDirectory, e.getMessage());
+            throw new BusinessException(e, EnumBusinessError.SFTP_UPLOAD_FILE_FAILURE.getCode(), EnumBusinessError.SFTP_UPLOAD_FILE_FAILURE.getMsg());
+        }
+    }
+
+    /**
+     * 将本地文件各分块并行写入远程临时文件
+     *
+     * @param source       本地文件通道
+     * @param size         本地文件大小
+     * @param tempFilePath 远程临时文件的全路径
+     */
+    private void uploadChunks(FileChannel source, long size, String tempFilePath) {
+        int chunks = TransferSupport.segmentCount(size, properties);
+        long chunkSize = (size + chunks - 1) / chunks;
+        CombinedProgressMonitor monitor = new CombinedProgressMonitor(EnumTransferDirection.UPLOAD, tempFilePath, size);
+        List<Future<?>> futures = new ArrayList<>(chunks);
+        monitor.start(chunks);
+        try {
+            for (int i = 0; i < chunks; i++) {
+                long offset = i * chunkSize;
+                long length = Math.min(chunkSize, size - offset);
+                futures.add(executor.submit(() -> {
+                    SftpClient client = pool.borrowObject();
+                    try {
+                        client.uploadRange(source, offset, length, tempFilePath, monitor.newSegmentMonitor());
+                    } finally {
+                        pool.returnObject(client);
+                    }
+                }));
+            }
+            TransferSupport.awaitAll(futures, EnumBusinessError.SFTP_UPLOAD_FILE_FAILURE);
+        } catch (RuntimeException e) {
+            TransferSupport.cancelAll(futures);
+            throw e;
+        } finally {
+            monitor.end();
+        }
+    }
+
+    /**
+     * 校验远程临时文件大小，并重命名为正式文件
+     *
+     * @param tempFilePath 远程临时文件的全路径
+     * @param sftpFilePath 远程正式文件的全路径
+     * @param size         本地文件大小
+     */
+    private void publish(String tempFilePath, String sftpFilePath, long size) {
+        SftpClient client = pool.borrowObject();
+        try {
+            long remoteSize = SftpAttrUtils.getContentSize(client.getFileAttrs(tempFilePath));
+            if (remoteSize != size) {
+                log.error("SFTP临时文件{}大小{}与本地文件大小{}不一致", tempFilePath, remoteSize, size);
+                throw new BusinessException(EnumBusinessError.SFTP_UPLOAD_FILE_FAILURE.getCode(), EnumBusinessError.SFTP_UPLOAD_FILE_FAILURE.getMsg());
+            }
+            client.rename(tempFilePath, sftpFilePath);
+        } finally {
+            pool.returnObject(client);
+        }
+    }
+
+    /**
+     * 上传失败时尽力删除远程临时文件
+     *
+     * @param tempFilePath 远程临时文件的全路径
+     */
+    private void discard(String tempFilePath) {
+        SftpClient client = null;
+        try {
+            client = pool.borrowObject();
+            client.delete(tempFilePath);
+        } catch (BusinessException e) {
+            log.warn("清理SFTP临时文件{}失败！原因：{}", tempFilePath, e.getMessage());
+        } finally {
+            pool.returnObject(client);
+        }
+    }
+}
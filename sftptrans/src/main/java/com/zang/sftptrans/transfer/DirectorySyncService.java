@@ -0,0 +1,315 @@
+package com.zang.sftptrans.transfer;
+
+import com.zang.sftptrans.bean.BatchTransferResult;
+import com.zang.sftptrans.bean.FileTransferPair;
+import com.zang.sftptrans.bean.SftpListFilter;
+import com.zang.sftptrans.bean.SftpTransferProperties;
+import com.zang.sftptrans.bean.SyncEntry;
+import com.zang.sftptrans.bean.SyncPlan;
+import com.zang.sftptrans.bean.SyncResult;
+import com.zang.sftptrans.enums.EnumBusinessError;
+import com.zang.sftptrans.enums.EnumSftpFileType;
+import com.zang.sftptrans.enums.EnumSyncAction;
+import com.zang.sftptrans.enums.EnumTransferDirection;
+import com.zang.sftptrans.exception.BusinessException;
+import com.zang.sftptrans.sftp.SftpClient;
+import com.zang.sftptrans.sftp.SftpClientPool;
+import com.zang.sftptrans.util.PathUtils;
+import com.zang.sftptrans.util.SftpAttrUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * 目录单向增量同步
+ * <p>
+ * 分别遍历sftp目录与本地目录，按相对路径比较文件大小与修改时间（秒级精度）生成同步计划，
+ * 仅并发传输新增或变更的文件，并将源文件修改时间设置到目标文件，使下次同步时未变更的文件不再传输；
+ * 可选删除目标目录中多余的文件（仅文件，不删除目录）
+ *
+ * @author xssdpgy
+ * @version xssdpgy: DirectorySyncService.java,v1.0 2026/10/18 19:00 xssdpgy Exp $$
+ * @since 1.0
+ */
+@Slf4j
+public class DirectorySyncService {
+
+    /**
+     * sftp协议修改时间精度（milliseconds）
+     */
+    private static final long MOD_TIME_PRECISION = 1000L;
+
+    private final SftpClientPool pool;
+
+    private final BatchTransferService batchTransferService;
+
+    public DirectorySyncService(SftpClientPool pool, ExecutorService executor, SftpTransferProperties properties) {
+        this.pool = pool;
+        this.batchTransferService = new BatchTransferService(pool, executor, properties);
+    }
+
+    /**
+     * 生成同步计划并执行
+     *
+     * @param sftpDirectory     sftp目录相对root目录的路径
+     * @param localDirectory    本地目录
+     * @param direction         同步方向：UPLOAD为本地同步到sftp，DOWNLOAD为sftp同步到本地
+     * @param deleteExtraneous  是否删除目标目录中源目录不存在的文件
+     * @param dryRun            为true时只打印计划，不传输也不删除
+     * @return com.zang.sftptrans.bean.SyncResult
+     */
+    public SyncResult sync(String sftpDirectory, Path localDirectory, EnumTransferDirection direction, boolean deleteExtraneous, boolean dryRun) {
+        SyncPlan plan = plan(sftpDirectory, localDirectory, direction, deleteExtraneous);
+        if (dryRun) {
+            print(plan);
+            SyncResult result = new SyncResult();
+            result.setPlan(plan);
+            result.setDryRun(true);
+            return result;
+        }
+        return execute(plan);
+    }
+
+    /**
+     * 比较源目录与目标目录，生成同步计划
+     *
+     * @param sftpDirectory    sftp目录相对root目录的路径
+     * @param localDirectory   本地目录
+     * @param direction        同步方向
+     * @param deleteExtraneous 是否删除目标目录中源目录不存在的文件
+     * @return com.zang.sftptrans.bean.SyncPlan
+     */
+    public SyncPlan plan(String sftpDirectory, Path localDirectory, EnumTransferDirection direction, boolean deleteExtraneous) {
+        boolean upload = direction == EnumTransferDirection.UPLOAD;
+        if (upload && !PathUtils.checkDirExists(localDirectory)) {
+            throw new IllegalArgumentException(localDirectory + " is not a directory.");
+        }
+        Map<String, SyncEntry> localFiles = scanLocal(localDirectory);
+        Map<String, SyncEntry> remoteFiles = scanRemote(StringUtils.defaultString(sftpDirectory), !upload);
+        Map<String, SyncEntry> source = upload ? localFiles : remoteFiles;
+        Map<String, SyncEntry> target = upload ? remoteFiles : localFiles;
+
+        SyncPlan plan = new SyncPlan();
+        plan.setDirection(direction);
+        plan.setSftpDirectory(StringUtils.defaultString(sftpDirectory));
+        plan.setLocalDirectory(localDirectory);
+        plan.setDeleteExtraneous(deleteExtraneous);
+        for (SyncEntry entry : source.values()) {
+            SyncEntry existing = target.get(entry.getRelativePath());
+            if (existing == null) {
+                entry.setAction(EnumSyncAction.CREATE);
+            } else if (isModified(entry, existing)) {
+                entry.setAction(EnumSyncAction.UPDATE);
+            } else {
+                plan.setUnchanged(plan.getUnchanged() + 1);
+                continue;
+            }
+            plan.getEntries().add(entry);
+            plan.setTransferBytes(plan.getTransferBytes() + entry.getSize());
+        }
+        if (deleteExtraneous) {
+            for (SyncEntry entry : target.values()) {
+                if (!source.containsKey(entry.getRelativePath())) {
+                    entry.setAction(EnumSyncAction.DELETE);
+                    plan.getEntries().add(entry);
+                }
+            }
+        }
+        log.info("{}同步计划：sftp目录{}，本地目录{}，新增{}个，更新{}个，删除{}个，未变更{}个，待传输{}字节", direction.getDescription(),
+                plan.getSftpDirectory(), localDirectory, plan.count(EnumSyncAction.CREATE), plan.count(EnumSyncAction.UPDATE),
+                plan.count(EnumSyncAction.DELETE), plan.getUnchanged(), plan.getTransferBytes());
+        return plan;
+    }
+
+    /**
+     * 执行同步计划：先并发传输新增与更新的文件，再删除多余的文件
+     *
+     * @param plan 同步计划
+     * @return com.zang.sftptrans.bean.SyncResult
+     */
+    public SyncResult execute(SyncPlan plan) {
+        long startTime = System.currentTimeMillis();
+        boolean upload = plan.getDirection() == EnumTransferDirection.UPLOAD;
+        List<FileTransferPair> pairs = new ArrayList<>();
+        List<SyncEntry> deletions = new ArrayList<>();
+        for (SyncEntry entry : plan.getEntries()) {
+            if (entry.getAction() == EnumSyncAction.DELETE) {
+                deletions.add(entry);
+                continue;
+            }
+            FileTransferPair pair = new FileTransferPair(localPath(plan, entry), remotePath(plan, entry));
+            pair.setLastModifiedTime(entry.getLastModifiedTime());
+            pairs.add(pair);
+        }
+        SyncResult result = new SyncResult();
+        result.setPlan(plan);
+        if (!pairs.isEmpty()) {
+            BatchTransferResult transfer = upload ? batchTransferService.upload(pairs) : batchTransferService.download(pairs);
+            result.setTransfer(transfer);
+        }
+        if (!deletions.isEmpty()) {
+            if (upload) {
+                deleteRemote(plan, deletions, result);
+            } else {
+                deleteLocal(plan, deletions, result);
+            }
+        }
+        result.setElapsedMillis(System.currentTimeMillis() - startTime);
+        log.info("{}同步完成：sftp目录{}，本地目录{}，传输{}字节，删除{}个，耗时{}ms，全部成功：{}", plan.getDirection().getDescription(),
+                plan.getSftpDirectory(), plan.getLocalDirectory(), result.getTransfer() == null ? 0 : result.getTransfer().getBytes(),
+                result.getDeleted(), result.getElapsedMillis(), result.isAllSucceeded());
+        return result;
+    }
+
+    /**
+     * 打印同步计划
+     *
+     * @param plan 同步计划
+     */
+    public void print(SyncPlan plan) {
+        for (SyncEntry entry : plan.getEntries()) {
+            log.info("[dry-run] {} {} {}字节", entry.getAction().getDescription(), entry.getRelativePath(), entry.getSize());
+        }
+    }
+
+    private static boolean isModified(SyncEntry source, SyncEntry target) {
+        return source.getSize() != target.getSize()
+                || source.getLastModifiedTime() / MOD_TIME_PRECISION != target.getLastModifiedTime() / MOD_TIME_PRECISION;
+    }
+
+    /**
+     * 递归遍历本地目录下的普通文件，目录不存在时返回空
+     */
+    private static Map<String, SyncEntry> scanLocal(Path localDirectory) {
+        Map<String, SyncEntry> files = new TreeMap<>();
+        if (!PathUtils.checkDirExists(localDirectory)) {
+            return files;
+        }
+        try {
+            Files.walkFileTree(localDirectory, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    if (attrs.isRegularFile()) {
+                        String relativePath = StringUtils.replace(localDirectory.relativize(file).toString(), PathUtils.BACK_SLASH, PathUtils.WIDELY_ACCEPTED_PATH_SEPARATOR);
+                        files.put(relativePath, new SyncEntry(relativePath, null, attrs.size(), attrs.lastModifiedTime().toMillis()));
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            log.error("遍历本地目录{}失败！原因：{}", localDirectory, e.getMessage());
+            throw new BusinessException(e, EnumBusinessError.SFTP_OPERATION_FAILURE.getCode(), EnumBusinessError.SFTP_OPERATION_FAILURE.getMsg());
+        }
+        return files;
+    }
+
+    /**
+     * 使用一个sftp客户端逐级流式遍历sftp目录下的普通文件
+     *
+     * @param sftpDirectory 遍历的目录
+     * @param required      目录不存在时是否抛出异常，为false时返回空
+     */
+    private Map<String, SyncEntry> scanRemote(String sftpDirectory, boolean required) {
+        Map<String, SyncEntry> files = new TreeMap<>();
+        SftpListFilter filter = new SftpListFilter();
+        filter.setTypes(EnumSet.of(EnumSftpFileType.FILE, EnumSftpFileType.DIRECTORY));
+        SftpClient client = pool.borrowObject();
+        try {
+            if (!required && !client.directoryExists(sftpDirectory)) {
+                return files;
+            }
+            Deque<String> directories = new ArrayDeque<>();
+            directories.add("");
+            while (!directories.isEmpty()) {
+                String directory = directories.poll();
+                client.listFiles(PathUtils.resolveRemotePath(sftpDirectory, directory), filter, entry -> {
+                    String relativePath = directory.isEmpty() ? entry.getFilename() : directory + PathUtils.WIDELY_ACCEPTED_PATH_SEPARATOR + entry.getFilename();
+                    if (entry.getAttrs().isDir()) {
+                        directories.add(relativePath);
+                    } else {
+                        files.put(relativePath, new SyncEntry(relativePath, null, SftpAttrUtils.getContentSize(entry.getAttrs()),
+                                SftpAttrUtils.getLastModifiedTime(entry.getAttrs())));
+                    }
+                    return true;
+                });
+            }
+            return files;
+        } catch (BusinessException e) {
+            if (!client.testConnect()) {
+                pool.invalidateObject(client);
+                client = null;
+            }
+            throw e;
+        } finally {
+            pool.returnObject(client);
+        }
+    }
+
+    /**
+     * 逐个删除sftp上多余的文件；连接失效时换用新连接，无法借到连接时其余文件记为删除失败，已完成的删除结果不丢失
+     */
+    private void deleteRemote(SyncPlan plan, List<SyncEntry> deletions, SyncResult result) {
+        SftpClient client = null;
+        try {
+            for (int i = 0; i < deletions.size(); i++) {
+                SyncEntry entry = deletions.get(i);
+                if (client == null) {
+                    try {
+                        client = pool.borrowObject();
+                    } catch (BusinessException e) {
+                        log.error("目录同步删除sftp文件时获取连接失败，剩余{}个文件未删除！原因：{}", deletions.size() - i, e.getErrorMessage());
+                        for (SyncEntry remaining : deletions.subList(i, deletions.size())) {
+                            result.getDeleteFailures().add(remaining.getRelativePath());
+                        }
+                        return;
+                    }
+                }
+                try {
+                    client.delete(remotePath(plan, entry));
+                    result.setDeleted(result.getDeleted() + 1);
+                } catch (BusinessException e) {
+                    result.getDeleteFailures().add(entry.getRelativePath());
+                    if (!client.testConnect()) {
+                        pool.invalidateObject(client);
+                        client = null;
+                    }
+                }
+            }
+        } finally {
+            pool.returnObject(client);
+        }
+    }
+
+    private static void deleteLocal(SyncPlan plan, List<SyncEntry> deletions, SyncResult result) {
+        for (SyncEntry entry : deletions) {
+            if (PathUtils.deleteLocalFile(localPath(plan, entry))) {
+                result.setDeleted(result.getDeleted() + 1);
+            } else {
+                result.getDeleteFailures().add(entry.getRelativePath());
+            }
+        }
+    }
+
+    private static Path localPath(SyncPlan plan, SyncEntry entry) {
+        return plan.getLocalDirectory().resolve(entry.getRelativePath());
+    }
+
+    private static String remotePath(SyncPlan plan, SyncEntry entry) {
+        return StringUtils.isBlank(plan.getSftpDirectory()) ? entry.getRelativePath()
+                : StringUtils.removeEnd(plan.getSftpDirectory(), PathUtils.WIDELY_ACCEPTED_PATH_SEPARATOR) + PathUtils.WIDELY_ACCEPTED_PATH_SEPARATOR + entry.getRelativePath();
+    }
+}
@@ -0,0 +1,161 @@
+package com.zang.sftptrans.transfer;
+
+import com.zang.sftptrans.bean.SftpTransferProperties;
+import com.zang.sftptrans.bean.TransferChecksum;
+import com.zang.sftptrans.enums.EnumBusinessError;
+import com.zang.sftptrans.enums.EnumChecksumAlgorithm;
+import com.zang.sftptrans.exception.BusinessException;
+import com.zang.sftptrans.sftp.SftpClient;
+import com.zang.sftptrans.sftp.SftpClientPool;
+import com.zang.sftptrans.util.PathUtils;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+
+/**
+ * 服务器间直接中转文件，不落本地磁盘
+ * <p>
+ * 读线程从源服务器的连接下载文件流，写入有界环形缓冲；调用线程从缓冲读取并上传到目标服务器，
+ * 内存占用只取决于缓冲大小。两端分别登记下载与上传进度，校验和在上传时同步计算。
+ * 源与目标使用同一连接池时，连接池至少需要两个连接
+ *
+ * @author xssdpgy
+ * @version xssdpgy: RemoteRelayService.java,v1.0 2026/10/19 1:00 xssdpgy Exp $$
+ * @since 1.0
+ */
+@Slf4j
+public class RemoteRelayService {
+
+    /**
+     * 读线程单次读取的大小，jsch下载流每次最多返回一个数据包
+     */
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private final SftpClientPool sourcePool;
+
+    private final SftpClientPool targetPool;
+
+    private final ExecutorService executor;
+
+    private final SftpTransferProperties properties;
+
+    public RemoteRelayService(SftpClientPool sourcePool, SftpClientPool targetPool, ExecutorService executor, SftpTransferProperties properties) {
+        this.sourcePool = sourcePool;
+        this.targetPool = targetPool;
+        this.executor = executor;
+        this.properties = properties;
+    }
+
+    /**
+     * 将源服务器文件中转到目标服务器
+     *
+     * @param sourceFilePath 源文件相对root目录的全路径
+     * @param targetFilePath 目标文件相对root目录的全路径
+     * @return long 中转的字节数
+     */
+    public long relay(String sourceFilePath, String targetFilePath) {
+        return execute(sourceFilePath, targetFilePath, null, false, (client, in) -> {
+            client.uploadStreamToRelativePath(in, PathUtils.remoteParent(targetFilePath), PathUtils.remoteFilename(targetFilePath));
+            return null;
+        }).getBytes();
+    }
+
+    /**
+     * 将源服务器文件中转到目标服务器，中转的同时计算校验和
+     * <p>
+     * 比对服务端校验和时，源与目标服务器能提供校验和的都参与比对，不一致时抛出异常
+     *
+     * @param sourceFilePath 源文件相对root目录的全路径
+     * @param targetFilePath 目标文件相对root目录的全路径
+     * @param algorithm      校验和算法
+     * @param verifyRemote   是否与服务端计算的校验和比对
+     * @return com.zang.sftptrans.bean.TransferChecksum 目标服务器一侧的校验结果
+     */
+    public TransferChecksum relay(String sourceFilePath, String targetFilePath, EnumChecksumAlgorithm algorithm, boolean verifyRemote) {
+        TransferChecksum checksum = execute(sourceFilePath, targetFilePath, algorithm, verifyRemote, (client, in) ->
+                client.uploadStreamToRelativePath(in, PathUtils.remoteParent(targetFilePath), PathUtils.remoteFilename(targetFilePath), algorithm, verifyRemote));
+        String sourceValue = checksum.getSourceValue();
+        if (sourceValue != null && !sourceValue.equalsIgnoreCase(checksum.getValue())) {
+            log.error("中转文件{}与源文件{}校验和不一致！传输：{}，源服务端：{}", targetFilePath, sourceFilePath, checksum.getValue(), sourceValue);
+            throw new BusinessException(EnumBusinessError.SFTP_CHECKSUM_MISMATCH.getCode(), EnumBusinessError.SFTP_CHECKSUM_MISMATCH.getMsg());
+        }
+        return checksum;
+    }
+
+    private TransferChecksum execute(String sourceFilePath, String targetFilePath, EnumChecksumAlgorithm algorithm, boolean verifyRemote,
+                                     BiFunction<SftpClient, InputStream, TransferChecksum> upload) {
+        RingBufferPipe pipe = new RingBufferPipe(properties.getRelayBufferSize());
+        Future<String> reader = executor.submit(() -> read(sourceFilePath, pipe, verifyRemote ? algorithm : null));
+        TransferChecksum checksum;
+        SftpClient target = null;
+        try {
+            target = targetPool.borrowObject();
+            checksum = upload.apply(target, pipe.getInputStream());
+        } catch (RuntimeException e) {
+            deletePartial(target, targetFilePath);
+            if (pipe.abort(e)) {
+                TransferSupport.awaitQuietly(reader);
+                throw e;
+            }
+            // 读端先失败时上传只会看到管道中止，抛出读端的原始异常
+            TransferSupport.await(reader, EnumBusinessError.SFTP_DOWNLOAD_FILE_FAILURE);
+            throw e;
+        } finally {
+            pipe.closeInput();
+            targetPool.returnObject(target);
+        }
+        String sourceValue = TransferSupport.await(reader, EnumBusinessError.SFTP_DOWNLOAD_FILE_FAILURE);
+        if (checksum == null) {
+            checksum = new TransferChecksum();
+        }
+        checksum.setBytes(pipe.getWritten());
+        checksum.setSourceValue(sourceValue);
+        return checksum;
+    }
+
+    /**
+     * 读线程：下载源文件写入管道，写完后按需由源服务端计算校验和
+     *
+     * @return java.lang.String 源服务端校验和，未比对或无法提供时为空
+     */
+    private String read(String sourceFilePath, RingBufferPipe pipe, EnumChecksumAlgorithm algorithm) throws IOException {
+        SftpClient source = null;
+        try {
+            source = sourcePool.borrowObject();
+            try (InputStream in = source.downloadAsStream(sourceFilePath);
+                 OutputStream out = pipe.getOutputStream()) {
+                byte[] buffer = new byte[READ_BUFFER_SIZE];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                }
+            }
+            return algorithm == null ? null : source.remoteChecksum(sourceFilePath, algorithm);
+        } catch (IOException | RuntimeException e) {
+            pipe.abort(e);
+            log.error("中转读取源文件{}失败！原因：{}", sourceFilePath, e.getMessage());
+            throw e;
+        } finally {
+            sourcePool.returnObject(source);
+        }
+    }
+
+    /**
+     * 删除上传失败留下的不完整目标文件，避免下游读取
+     */
+    private void deletePartial(SftpClient target, String targetFilePath) {
+        if (target == null) {
+            return;
+        }
+        try {
+            target.delete(targetFilePath);
+        } catch (BusinessException e) {
+            log.warn("删除不完整的中转文件{}失败！原因：{}", targetFilePath, e.getErrorMessage());
+        }
+    }
+}
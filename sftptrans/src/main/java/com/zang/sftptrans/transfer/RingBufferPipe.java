@@ -0,0 +1,223 @@
+package com.zang.sftptrans.transfer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 单写单读的有界内存管道，数据存放在固定大小的环形缓冲中
+ * <p>
+ * 缓冲满时写端阻塞、为空时读端阻塞；任一端调用{@link #abort(Throwable)}或读端提前关闭后，
+ * 另一端的下一次读写抛出IOException，避免对端永久阻塞
+ *
+ * @author xssdpgy
+ * @version xssdpgy: RingBufferPipe.java,v1.0 2026/10/19 1:00 xssdpgy Exp $$
+ * @since 1.0
+ */
+final class RingBufferPipe {
+
+    private final byte[] buffer;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition notEmpty = lock.newCondition();
+
+    private final Condition notFull = lock.newCondition();
+
+    /**
+     * 下一个可读字节的位置
+     */
+    private int head;
+
+    /**
+     * 缓冲中未读的字节数
+     */
+    private int count;
+
+    private boolean writerClosed;
+
+    private boolean readerClosed;
+
+    private Throwable failure;
+
+    /**
+     * 写入的总字节数
+     */
+    private long written;
+
+    private final InputStream inputStream = new PipeInputStream();
+
+    private final OutputStream outputStream = new PipeOutputStream();
+
+    RingBufferPipe(int capacity) {
+        this.buffer = new byte[Math.max(1, capacity)];
+    }
+
+    InputStream getInputStream() {
+        return inputStream;
+    }
+
+    OutputStream getOutputStream() {
+        return outputStream;
+    }
+
+    /**
+     * 关闭读端，写端的下一次写入抛出IOException
+     */
+    void closeInput() {
+        close(true);
+    }
+
+    /**
+     * 以指定原因中止管道，唤醒两端
+     *
+     * @param cause 中止原因
+     * @return boolean 是否首个中止原因，管道已被中止时返回false
+     */
+    boolean abort(Throwable cause) {
+        lock.lock();
+        try {
+            boolean first = failure == null;
+            if (first) {
+                failure = cause;
+            }
+            notEmpty.signalAll();
+            notFull.signalAll();
+            return first;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 写端已写入的总字节数
+     *
+     * @return long
+     */
+    long getWritten() {
+        lock.lock();
+        try {
+            return written;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        lock.lock();
+        try {
+            while (count == 0 && !writerClosed && failure == null) {
+                notEmpty.await();
+            }
+            if (failure != null) {
+                throw new IOException("relay pipe aborted: " + failure.getMessage(), failure);
+            }
+            if (count == 0) {
+                return -1;
+            }
+            int n = Math.min(len, count);
+            int first = Math.min(n, buffer.length - head);
+            System.arraycopy(buffer, head, b, off, first);
+            System.arraycopy(buffer, 0, b, off + first, n - first);
+            head = (head + n) % buffer.length;
+            count -= n;
+            notFull.signal();
+            return n;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void write(byte[] b, int off, int len) throws IOException {
+        lock.lock();
+        try {
+            while (len > 0) {
+                while (count == buffer.length && !readerClosed && failure == null) {
+                    notFull.await();
+                }
+                if (failure != null) {
+                    throw new IOException("relay pipe aborted: " + failure.getMessage(), failure);
+                }
+                if (readerClosed || writerClosed) {
+                    throw new IOException("relay pipe closed");
+                }
+                int tail = (head + count) % buffer.length;
+                int n = Math.min(len, buffer.length - count);
+                int first = Math.min(n, buffer.length - tail);
+                System.arraycopy(b, off, buffer, tail, first);
+                System.arraycopy(b, off + first, buffer, 0, n - first);
+                count += n;
+                written += n;
+                off += n;
+                len -= n;
+                notEmpty.signal();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void close(boolean reader) {
+        lock.lock();
+        try {
+            if (reader) {
+                readerClosed = true;
+            } else {
+                writerClosed = true;
+            }
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private class PipeInputStream extends InputStream {
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return RingBufferPipe.this.read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return RingBufferPipe.this.read(b, off, len);
+        }
+
+        @Override
+        public void close() {
+            RingBufferPipe.this.close(true);
+        }
+    }
+
+    private class PipeOutputStream extends OutputStream {
+
+        @Override
+        public void write(int b) throws IOException {
+            RingBufferPipe.this.write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            RingBufferPipe.this.write(b, off, len);
+        }
+
+        @Override
+        public void close() {
+            RingBufferPipe.this.close(false);
+        }
+    }
+}
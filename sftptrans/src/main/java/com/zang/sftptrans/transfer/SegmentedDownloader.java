@@ -0,0 +1,109 @@
+package com.zang.sftptrans.transfer;
+
+import com.zang.sftptrans.bean.SftpTransferProperties;
+import com.zang.sftptrans.enums.EnumBusinessError;
+import com.zang.sftptrans.enums.EnumTransferDirection;
+import com.zang.sftptrans.exception.BusinessException;
+import com.zang.sftptrans.file.CombinedProgressMonitor;
+import com.zang.sftptrans.sftp.SftpClient;
+import com.zang.sftptrans.sftp.SftpClientPool;
+import com.zang.sftptrans.util.PathUtils;
+import com.zang.sftptrans.util.SftpAttrUtils;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * 大文件多连接分段下载
+ * <p>
+ * 从连接池借用多个sftp客户端，每个客户端按偏移量读取远程文件的一个区间，并通过FileChannel按位置写入本地文件
+ *
+ * @author xssdpgy
+ * @version xssdpgy: SegmentedDownloader.java,v1.0 2026/10/18 10:10 xssdpgy Exp $$
+ * @since 1.0
+ */
+@Slf4j
+public class SegmentedDownloader {
+
+    private final SftpClientPool pool;
+
+    private final ExecutorService executor;
+
+    private final SftpTransferProperties properties;
+
+    public SegmentedDownloader(SftpClientPool pool, ExecutorService executor, SftpTransferProperties properties) {
+        this.pool = pool;
+        this.executor = executor;
+        this.properties = properties;
+    }
+
+    /**
+     * 下载SFTP远程文件并保存在本地，大文件自动分段并行下载
+     *
+     * @param sftpFilePath  目标文件的全路径
+     * @param localSavePath 本地保存文件路径
+     * @return void
+     */
+    public void download(String sftpFilePath, Path localSavePath) {
+        PathUtils.checkWritable(localSavePath);
+        long size;
+        SftpClient client = pool.borrowObject();
+        try {
+            size = SftpAttrUtils.getContentSize(client.getFileAttrs(sftpFilePath));
+            if (TransferSupport.segmentCount(size, properties) <= 1) {
+                client.downloadAsFile(sftpFilePath, localSavePath);
+                return;
+            }
+        } finally {
+            pool.returnObject(client);
+        }
+        downloadSegments(sftpFilePath, localSavePath, size);
+    }
+
+    private void downloadSegments(String sftpFilePath, Path localSavePath, long size) {
+        int segments = TransferSupport.segmentCount(size, properties);
+        long segmentSize = (size + segments - 1) / segments;
+        CombinedProgressMonitor monitor = new CombinedProgressMonitor(EnumTransferDirection.DOWNLOAD, sftpFilePath, size);
+        List<Future<?>> futures = new ArrayList<>(segments);
+        try (FileChannel target = FileChannel.open(localSavePath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            monitor.start(segments);
+            try {
+                for (int i = 0; i < segments; i++) {
+                    long offset = i * segmentSize;
+                    long length = Math.min(segmentSize, size - offset);
+                    futures.add(executor.submit(() -> {
+                        SftpClient client = pool.borrowObject();
+                        try {
+                            client.downloadRange(sftpFilePath, offset, length, target, monitor.newSegmentMonitor());
+                        } finally {
+                            pool.returnObject(client);
+                        }
+                    }));
+                }
+                TransferSupport.awaitAll(futures, EnumBusinessError.SFTP_DOWNLOAD_FILE_FAILURE);
+            } catch (RuntimeException e) {
+                TransferSupport.cancelAll(futures);
+                throw e;
+            } finally {
+                monitor.end();
+            }
+            if (target.size() != size) {
+                throw new IOException("local file size " + target.size() + " does not match remote size " + size);
+            }
+        } catch (IOException e) {
+            PathUtils.deleteLocalFile(localSavePath);
+            log.error("分段下载SFTP文件{}至本地{}失败！原因：{}", sftpFilePath, localSavePath, e.getMessage());
+            throw new BusinessException(e, EnumBusinessError.SFTP_DOWNLOAD_FILE_FAILURE.getCode(), EnumBusinessError.SFTP_DOWNLOAD_FILE_FAILURE.getMsg());
+        } catch (RuntimeException e) {
+            PathUtils.deleteLocalFile(localSavePath);
+            throw e;
+        }
+    }
+}
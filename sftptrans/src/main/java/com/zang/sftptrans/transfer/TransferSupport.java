@@ -0,0 +1,225 @@
+package com.zang.sftptrans.transfer;
+
+import com.zang.sftptrans.bean.BatchTransferResult;
+import com.zang.sftptrans.bean.FileTransferPair;
+import com.zang.sftptrans.bean.FileTransferResult;
+import com.zang.sftptrans.bean.SftpTransferProperties;
+import com.zang.sftptrans.bean.TransferChecksum;
+import com.zang.sftptrans.enums.EnumBusinessError;
+import com.zang.sftptrans.enums.EnumChecksumAlgorithm;
+import com.zang.sftptrans.enums.EnumTransferDirection;
+import com.zang.sftptrans.exception.BusinessException;
+import com.zang.sftptrans.sftp.SftpClient;
+import com.zang.sftptrans.util.PathUtils;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * 多连接传输公共方法
+ *
+ * @author xssdpgy
+ * @version xssdpgy: TransferSupport.java,v1.0 2026/10/18 11:20 xssdpgy Exp $$
+ * @since 1.0
+ */
+@Slf4j
+final class TransferSupport {
+
+    /**
+     * 根据文件大小计算分段数量，未知大小或小文件返回1
+     *
+     * @param size       文件大小
+     * @param properties 传输配置
+     * @return int
+     */
+    static int segmentCount(long size, SftpTransferProperties properties) {
+        if (size < properties.getSegmentThreshold() || properties.getMaxSegments() <= 1) {
+            return 1;
+        }
+        long minSegmentSize = Math.max(1, properties.getMinSegmentSize());
+        long segments = (size + minSegmentSize - 1) / minSegmentSize;
+        return (int) Math.max(1, Math.min(segments, properties.getMaxSegments()));
+    }
+
+    /**
+     * 等待所有任务完成，任一任务失败时抛出其异常
+     *
+     * @param futures 任务
+     * @param error   非业务异常时使用的错误类型
+     */
+    static void awaitAll(List<? extends Future<?>> futures, EnumBusinessError error) {
+        for (Future<?> future : futures) {
+            await(future, error);
+        }
+    }
+
+    /**
+     * 等待单个任务完成并返回结果，任务失败时抛出其异常
+     *
+     * @param future 任务
+     * @param error  非业务异常时使用的错误类型
+     * @return T
+     */
+    static <T> T await(Future<T> future, EnumBusinessError error) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(e, error.getCode(), error.getMsg());
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof BusinessException) {
+                throw (BusinessException) cause;
+            }
+            throw new BusinessException(cause, error.getCode(), error.getMsg());
+        }
+    }
+
+    /**
+     * 等待任务结束，忽略其结果与异常（失败原因已由调用方抛出）
+     *
+     * @param future 任务
+     */
+    static void awaitQuietly(Future<?> future) {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // 失败原因已由调用方抛出
+        }
+    }
+
+    /**
+     * 取消尚未开始的任务，并等待正在执行的任务结束，避免中断线程破坏sftp通道
+     *
+     * @param futures 任务
+     */
+    static void cancelAll(List<? extends Future<?>> futures) {
+        for (Future<?> future : futures) {
+            future.cancel(false);
+        }
+        for (Future<?> future : futures) {
+            if (!future.isCancelled()) {
+                try {
+                    future.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (ExecutionException e) {
+                    // 失败原因已由首个异常抛出
+                }
+            }
+        }
+    }
+
+    /**
+     * 使用给定客户端传输单个文件，失败时返回失败结果而不抛出异常
+     *
+     * @param client     sftp客户端
+     * @param pair       本地文件与sftp文件路径
+     * @param direction  传输方向
+     * @param properties 传输配置，按其中的校验和设置计算校验和
+     * @return com.zang.sftptrans.bean.FileTransferResult
+     */
+    static FileTransferResult transfer(SftpClient client, FileTransferPair pair, EnumTransferDirection direction, SftpTransferProperties properties) {
+        long startTime = System.currentTimeMillis();
+        try {
+            EnumChecksumAlgorithm algorithm = properties.getChecksumAlgorithm();
+            TransferChecksum checksum = null;
+            if (direction == EnumTransferDirection.UPLOAD) {
+                PathUtils.checkReadable(pair.getLocalPath());
+                try (InputStream in = Files.newInputStream(pair.getLocalPath(), StandardOpenOption.READ)) {
+                    String sftpDirectory = PathUtils.remoteParent(pair.getRemotePath());
+                    String filename = PathUtils.remoteFilename(pair.getRemotePath());
+                    if (algorithm == null) {
+                        client.uploadStreamToRelativePath(in, sftpDirectory, filename);
+                    } else {
+                        checksum = client.uploadStreamToRelativePath(in, sftpDirectory, filename, algorithm, properties.isVerifyRemoteChecksum());
+                    }
+                }
+                if (pair.getLastModifiedTime() >= 0) {
+                    client.setLastModifiedTime(pair.getRemotePath(), pair.getLastModifiedTime());
+                }
+            } else {
+                if (algorithm == null) {
+                    client.downloadAsFile(pair.getRemotePath(), pair.getLocalPath());
+                } else {
+                    checksum = client.downloadAsFile(pair.getRemotePath(), pair.getLocalPath(), algorithm, properties.isVerifyRemoteChecksum());
+                }
+                if (pair.getLastModifiedTime() >= 0) {
+                    Files.setLastModifiedTime(pair.getLocalPath(), FileTime.fromMillis(pair.getLastModifiedTime()));
+                }
+            }
+            FileTransferResult result = result(pair, startTime);
+            result.setSuccess(true);
+            result.setChecksum(checksum);
+            result.setBytes(Files.size(pair.getLocalPath()));
+            return result;
+        } catch (BusinessException e) {
+            return failure(pair, startTime, e.getErrorCode(), e.getErrorMessage());
+        } catch (IOException | RuntimeException e) {
+            log.error("批量{}文件{}失败！原因：{}", direction.getDescription(), pair.getRemotePath(), e.getMessage());
+            return failure(pair, startTime, EnumBusinessError.SFTP_OPERATION_FAILURE.getCode(), e.getMessage());
+        }
+    }
+
+    private static FileTransferResult result(FileTransferPair pair, long startTime) {
+        FileTransferResult result = new FileTransferResult();
+        result.setLocalPath(pair.getLocalPath());
+        result.setRemotePath(pair.getRemotePath());
+        result.setElapsedMillis(startTime > 0 ? System.currentTimeMillis() - startTime : 0);
+        return result;
+    }
+
+    /**
+     * 构造失败结果
+     *
+     * @param pair         本地文件与sftp文件路径
+     * @param startTime    开始时间（milliseconds），小于等于0时耗时记为0
+     * @param errorCode    错误码
+     * @param errorMessage 错误描述
+     * @return com.zang.sftptrans.bean.FileTransferResult
+     */
+    static FileTransferResult failure(FileTransferPair pair, long startTime, String errorCode, String errorMessage) {
+        FileTransferResult result = result(pair, startTime);
+        result.setSuccess(false);
+        result.setErrorCode(errorCode);
+        result.setErrorMessage(errorMessage);
+        return result;
+    }
+
+    /**
+     * 汇总各文件的传输结果
+     *
+     * @param results       各文件的传输结果
+     * @param elapsedMillis 总耗时（milliseconds）
+     * @return com.zang.sftptrans.bean.BatchTransferResult
+     */
+    static BatchTransferResult summarize(List<FileTransferResult> results, long elapsedMillis) {
+        BatchTransferResult batch = new BatchTransferResult();
+        batch.setResults(results);
+        for (FileTransferResult result : results) {
+            if (result.isSuccess()) {
+                batch.setSucceeded(batch.getSucceeded() + 1);
+                batch.setBytes(batch.getBytes() + result.getBytes());
+            } else {
+                batch.setFailed(batch.getFailed() + 1);
+            }
+        }
+        batch.setElapsedMillis(elapsedMillis);
+        log.info("批量传输完成：成功{}个，失败{}个，共{}字节，耗时{}ms", batch.getSucceeded(), batch.getFailed(), batch.getBytes(), elapsedMillis);
+        return batch;
+    }
+
+    private TransferSupport() {
+        // Utility class
+    }
+}
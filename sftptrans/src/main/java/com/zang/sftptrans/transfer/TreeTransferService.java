@@ -0,0 +1,309 @@
+package com.zang.sftptrans.transfer;
+
+import com.zang.sftptrans.bean.BatchTransferResult;
+import com.zang.sftptrans.bean.FileTransferPair;
+import com.zang.sftptrans.bean.FileTransferResult;
+import com.zang.sftptrans.bean.SftpListFilter;
+import com.zang.sftptrans.bean.SftpTransferProperties;
+import com.zang.sftptrans.enums.EnumBusinessError;
+import com.zang.sftptrans.enums.EnumSftpFileType;
+import com.zang.sftptrans.enums.EnumTransferDirection;
+import com.zang.sftptrans.exception.BusinessException;
+import com.zang.sftptrans.sftp.SftpClient;
+import com.zang.sftptrans.sftp.SftpClientPool;
+import com.zang.sftptrans.util.PathUtils;
+import com.zang.sftptrans.util.SftpAttrUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.LinkOption;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.regex.Pattern;
+
+/**
+ * 目录树递归并行上传/下载
+ * <p>
+ * 每个目录与每个文件都是一个fork/join任务：列目录时每读到一个子目录或文件即fork新任务，空闲线程窃取执行，
+ * 子目录的列举与文件传输交错进行而非先遍历后传输。每个任务执行时才从连接池借用客户端、执行完即归还，
+ * 任务等待子任务（join）时不占用连接：ForkJoinPool在join阻塞时会补偿创建工作线程，按线程占用连接会耗尽连接池而死锁。
+ * 同时占用的连接数不超过连接池的maxTotal，ForkJoinPool的并行度与其相当即可。
+ * <p>
+ * 过滤条件只作用于文件；排除表达式为相对传输根目录路径的glob（如 archive、**&#47;tmp、**&#47;*.bak），
+ * 匹配的目录不再遍历。单个文件或目录失败不影响其他条目，结果按sftp路径排序，列目录失败的目录以失败结果记录。
+ * 只传输普通文件，不跟随符号链接，不创建空目录；下载时保留远程文件的修改时间
+ *
+ * @author xssdpgy
+ * @version xssdpgy: TreeTransferService.java,v1.0 2026/10/19 1:40 xssdpgy Exp $$
+ * @since 1.0
+ */
+@Slf4j
+public class TreeTransferService {
+
+    private final SftpClientPool pool;
+
+    private final ForkJoinPool forkJoinPool;
+
+    private final SftpTransferProperties properties;
+
+    public TreeTransferService(SftpClientPool pool, ForkJoinPool forkJoinPool, SftpTransferProperties properties) {
+        this.pool = pool;
+        this.forkJoinPool = forkJoinPool;
+        this.properties = properties;
+    }
+
+    /**
+     * 递归下载sftp目录到本地目录
+     *
+     * @param sftpDirectory  sftp目录相对root目录的路径
+     * @param localDirectory 本地目录
+     * @param filter         文件过滤条件，为空时不过滤
+     * @param excludes       排除的相对路径glob，可为空
+     * @return com.zang.sftptrans.bean.BatchTransferResult
+     */
+    public BatchTransferResult download(String sftpDirectory, Path localDirectory, SftpListFilter filter, List<String> excludes) {
+        Traversal traversal = new Traversal(filter, excludes);
+        return traversal.run(new DownloadDirectoryTask(traversal, sftpDirectory, localDirectory, ""));
+    }
+
+    /**
+     * 递归上传本地目录到sftp目录
+     *
+     * @param localDirectory 本地目录
+     * @param sftpDirectory  sftp目录相对root目录的路径
+     * @param filter         文件过滤条件，为空时不过滤
+     * @param excludes       排除的相对路径glob，可为空
+     * @return com.zang.sftptrans.bean.BatchTransferResult
+     */
+    public BatchTransferResult upload(Path localDirectory, String sftpDirectory, SftpListFilter filter, List<String> excludes) {
+        if (!PathUtils.checkDirExists(localDirectory)) {
+            throw new IllegalArgumentException(localDirectory + " is not a directory.");
+        }
+        Traversal traversal = new Traversal(filter, excludes);
+        return traversal.run(new UploadDirectoryTask(traversal, localDirectory, sftpDirectory, ""));
+    }
+
+    private static String child(String parent, String name) {
+        return StringUtils.isEmpty(parent) ? name
+                : StringUtils.removeEnd(parent, PathUtils.WIDELY_ACCEPTED_PATH_SEPARATOR) + PathUtils.WIDELY_ACCEPTED_PATH_SEPARATOR + name;
+    }
+
+    /**
+     * 一次递归传输的共享状态：过滤条件与结果
+     */
+    private class Traversal {
+
+        private final SftpListFilter filter;
+
+        private final List<Pattern> excludes = new ArrayList<>();
+
+        private final Queue<FileTransferResult> results = new ConcurrentLinkedQueue<>();
+
+        Traversal(SftpListFilter filter, List<String> excludes) {
+            this.filter = filter == null ? new SftpListFilter() : filter;
+            if (excludes != null) {
+                for (String exclude : excludes) {
+                    this.excludes.add(PathUtils.compileGlob(exclude));
+                }
+            }
+        }
+
+        BatchTransferResult run(ForkJoinTask<?> root) {
+            long startTime = System.currentTimeMillis();
+            forkJoinPool.invoke(root);
+            List<FileTransferResult> sorted = new ArrayList<>(results);
+            sorted.sort(Comparator.comparing(FileTransferResult::getRemotePath));
+            return TransferSupport.summarize(Collections.unmodifiableList(sorted), System.currentTimeMillis() - startTime);
+        }
+
+        /**
+         * 归还客户端，操作失败且连接已不可用时销毁
+         */
+        void release(SftpClient client, boolean success) {
+            if (success || client.testConnect()) {
+                pool.returnObject(client);
+            } else {
+                pool.invalidateObject(client);
+            }
+        }
+
+        boolean excluded(String relativePath) {
+            if (excludes.isEmpty()) {
+                return false;
+            }
+            for (Pattern exclude : excludes) {
+                if (exclude.matcher(relativePath).matches()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void failure(Path localPath, String remotePath, String errorCode, String errorMessage) {
+            results.add(TransferSupport.failure(new FileTransferPair(localPath, remotePath), 0, errorCode, errorMessage));
+        }
+    }
+
+    /**
+     * 单个文件的传输任务
+     */
+    private class FileTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 5171554829031545984L;
+
+        private final Traversal traversal;
+
+        private final FileTransferPair pair;
+
+        private final EnumTransferDirection direction;
+
+        FileTask(Traversal traversal, FileTransferPair pair, EnumTransferDirection direction) {
+            this.traversal = traversal;
+            this.pair = pair;
+            this.direction = direction;
+        }
+
+        @Override
+        protected void compute() {
+            SftpClient client;
+            try {
+                client = pool.borrowObject();
+            } catch (BusinessException e) {
+                traversal.failure(pair.getLocalPath(), pair.getRemotePath(), e.getErrorCode(), e.getErrorMessage());
+                return;
+            }
+            FileTransferResult result = TransferSupport.transfer(client, pair, direction, properties);
+            traversal.release(client, result.isSuccess());
+            traversal.results.add(result);
+        }
+    }
+
+    /**
+     * sftp目录的下载任务：流式列目录，每个子目录与文件各fork一个任务
+     */
+    private class DownloadDirectoryTask extends RecursiveAction {
+
+        private static final long serialVersionUID = -6461462252422805632L;
+
+        private final Traversal traversal;
+
+        private final String remoteDirectory;
+
+        private final Path localDirectory;
+
+        private final String relativePath;
+
+        DownloadDirectoryTask(Traversal traversal, String remoteDirectory, Path localDirectory, String relativePath) {
+            this.traversal = traversal;
+            this.remoteDirectory = remoteDirectory;
+            this.localDirectory = localDirectory;
+            this.relativePath = relativePath;
+        }
+
+        @Override
+        protected void compute() {
+            List<ForkJoinTask<?>> tasks = new ArrayList<>();
+            SftpClient client = null;
+            boolean success = false;
+            try {
+                client = pool.borrowObject();
+                client.listFiles(remoteDirectory, null, entry -> {
+                    String filename = entry.getFilename();
+                    String relative = child(relativePath, filename);
+                    if (traversal.excluded(relative)) {
+                        return true;
+                    }
+                    ForkJoinTask<?> task = null;
+                    if (entry.getAttrs().isDir()) {
+                        task = new DownloadDirectoryTask(traversal, child(remoteDirectory, filename), localDirectory.resolve(filename), relative);
+                    } else if (entry.getAttrs().isReg() && traversal.filter.accept(entry)) {
+                        FileTransferPair pair = new FileTransferPair(localDirectory.resolve(filename), child(remoteDirectory, filename),
+                                SftpAttrUtils.getLastModifiedTime(entry.getAttrs()));
+                        task = new FileTask(traversal, pair, EnumTransferDirection.DOWNLOAD);
+                    }
+                    if (task != null) {
+                        tasks.add(task.fork());
+                    }
+                    return true;
+                });
+                success = true;
+            } catch (BusinessException e) {
+                log.error("递归下载时列出目录{}失败！原因：{}", remoteDirectory, e.getErrorMessage());
+                traversal.failure(localDirectory, remoteDirectory, e.getErrorCode(), e.getErrorMessage());
+            } finally {
+                if (client != null) {
+                    traversal.release(client, success);
+                }
+            }
+            for (ForkJoinTask<?> task : tasks) {
+                task.join();
+            }
+        }
+    }
+
+    /**
+     * 本地目录的上传任务：每个子目录与文件各fork一个任务
+     */
+    private class UploadDirectoryTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 5071272452164092907L;
+
+        private final Traversal traversal;
+
+        private final Path localDirectory;
+
+        private final String remoteDirectory;
+
+        private final String relativePath;
+
+        UploadDirectoryTask(Traversal traversal, Path localDirectory, String remoteDirectory, String relativePath) {
+            this.traversal = traversal;
+            this.localDirectory = localDirectory;
+            this.remoteDirectory = remoteDirectory;
+            this.relativePath = relativePath;
+        }
+
+        @Override
+        protected void compute() {
+            List<ForkJoinTask<?>> tasks = new ArrayList<>();
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(localDirectory)) {
+                for (Path entry : entries) {
+                    String filename = entry.getFileName().toString();
+                    String relative = child(relativePath, filename);
+                    if (traversal.excluded(relative)) {
+                        continue;
+                    }
+                    BasicFileAttributes attrs = Files.readAttributes(entry, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                    ForkJoinTask<?> task = null;
+                    if (attrs.isDirectory()) {
+                        task = new UploadDirectoryTask(traversal, entry, child(remoteDirectory, filename), relative);
+                    } else if (attrs.isRegularFile()
+                            && traversal.filter.accept(filename, EnumSftpFileType.FILE, attrs.lastModifiedTime().toMillis())) {
+                        task = new FileTask(traversal, new FileTransferPair(entry, child(remoteDirectory, filename)), EnumTransferDirection.UPLOAD);
+                    }
+                    if (task != null) {
+                        tasks.add(task.fork());
+                    }
+                }
+            } catch (IOException e) {
+                log.error("递归上传时遍历本地目录{}失败！原因：{}", localDirectory, e.getMessage());
+                traversal.failure(localDirectory, remoteDirectory, EnumBusinessError.SFTP_UPLOAD_FILE_FAILURE.getCode(), e.getMessage());
+            }
+            for (ForkJoinTask<?> task : tasks) {
+                task.join();
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.zang.sftptrans.util;
+
+import java.security.MessageDigest;
+
+/**
+ * CRC32C（Castagnoli）摘要，以MessageDigest形式提供，便于与DigestInputStream/DigestOutputStream配合使用
+ * PS：JDK8未提供java.util.zip.CRC32C，此处使用查表法实现，摘要结果为4字节大端序
+ *
+ * @author xssdpgy
+ * @version xssdpgy: Crc32cDigest.java,v1.0 2026/10/18 19:30 xssdpgy Exp $$
+ * @since 1.0
+ */
+public class Crc32cDigest extends MessageDigest {
+
+    public static final String ALGORITHM = "CRC32C";
+
+    /**
+     * Castagnoli多项式（反射形式）
+     */
+    private static final int POLYNOMIAL = 0x82F63B78;
+
+    private static final int[] TABLE = new int[256];
+
+    static {
+        for (int i = 0; i < TABLE.length; i++) {
+            int crc = i;
+            for (int j = 0; j < 8; j++) {
+                crc = (crc & 1) != 0 ? (crc >>> 1) ^ POLYNOMIAL : crc >>> 1;
+            }
+            TABLE[i] = crc;
+        }
+    }
+
+    private int crc = 0xFFFFFFFF;
+
+    public Crc32cDigest() {
+        super(ALGORITHM);
+    }
+
+    @Override
+    protected int engineGetDigestLength() {
+        return 4;
+    }
+
+    @Override
+    protected void engineUpdate(byte input) {
+        crc = (crc >>> 8) ^ TABLE[(crc ^ input) & 0xFF];
+    }
+
+    @Override
+    protected void engineUpdate(byte[] input, int offset, int len) {
+        int value = crc;
+        for (int i = offset; i < offset + len; i++) {
+            value = (value >>> 8) ^ TABLE[(value ^ input[i]) & 0xFF];
+        }
+        crc = value;
+    }
+
+    @Override
+    protected byte[] engineDigest() {
+        int value = ~crc;
+        engineReset();
+        return new byte[]{(byte) (value >>> 24), (byte) (value >>> 16), (byte) (value >>> 8), (byte) value};
+    }
+
+    @Override
+    protected void engineReset() {
+        crc = 0xFFFFFFFF;
+    }
+}
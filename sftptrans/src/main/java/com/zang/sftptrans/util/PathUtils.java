@@ -8,6 +8,10 @@ import java.nio.file.Files;
 import java.nio.file.LinkOption;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 /**
  * 路径工具类
@@ -24,6 +28,7 @@ public class PathUtils {
     public static final String DOUBLE_FORWARD_SLASH = "//";
     public static final String DOUBLE_BACK_SLASH = "\\\\";
     public static final String MCD = ".";
+    public static final String PARENT_DIRECTORY = "..";
 
     public static final String WIDELY_ACCEPTED_PATH_SEPARATOR = FORWARD_SLASH;
 
@@ -42,6 +47,70 @@ public class PathUtils {
         return StringUtils.replace(toPath(parentPath, subPaths).toString(), BACK_SLASH, WIDELY_ACCEPTED_PATH_SEPARATOR);
     }
 
+    /**
+     * 在客户端将相对路径解析为sftp服务端绝对路径，相对路径以"/"开头时同样视为父路径的子路径
+     * PS：统一使用"/"分隔，并规范化"."与".."，".."不会越过根路径"/"
+     *
+     * @param parentPath    父路径（绝对路径）
+     * @param relativePaths 子路径
+     * @return java.lang.String
+     */
+    public static String resolveRemotePath(String parentPath, String... relativePaths) {
+        Deque<String> segments = new ArrayDeque<>();
+        appendSegments(segments, parentPath);
+        if (relativePaths != null) {
+            for (String relativePath : relativePaths) {
+                appendSegments(segments, relativePath);
+            }
+        }
+        if (segments.isEmpty()) {
+            return WIDELY_ACCEPTED_PATH_SEPARATOR;
+        }
+        StringBuilder sb = new StringBuilder();
+        for (String segment : segments) {
+            sb.append(WIDELY_ACCEPTED_PATH_SEPARATOR).append(segment);
+        }
+        return sb.toString();
+    }
+
+    private static void appendSegments(Deque<String> segments, String path) {
+        if (StringUtils.isBlank(path)) {
+            return;
+        }
+        for (String segment : StringUtils.split(StringUtils.replace(path, BACK_SLASH, WIDELY_ACCEPTED_PATH_SEPARATOR), WIDELY_ACCEPTED_PATH_SEPARATOR)) {
+            if (MCD.equals(segment)) {
+                continue;
+            }
+            if (PARENT_DIRECTORY.equals(segment)) {
+                segments.pollLast();
+            } else {
+                segments.addLast(segment);
+            }
+        }
+    }
+
+    /**
+     * 获取sftp路径的父目录，无父目录时返回空字符串
+     *
+     * @param remotePath sftp路径
+     * @return java.lang.String
+     */
+    public static String remoteParent(String remotePath) {
+        String path = StringUtils.removeEnd(StringUtils.replace(remotePath, BACK_SLASH, WIDELY_ACCEPTED_PATH_SEPARATOR), WIDELY_ACCEPTED_PATH_SEPARATOR);
+        return path.contains(WIDELY_ACCEPTED_PATH_SEPARATOR) ? StringUtils.substringBeforeLast(path, WIDELY_ACCEPTED_PATH_SEPARATOR) : "";
+    }
+
+    /**
+     * 获取sftp路径的文件名
+     *
+     * @param remotePath sftp路径
+     * @return java.lang.String
+     */
+    public static String remoteFilename(String remotePath) {
+        String path = StringUtils.removeEnd(StringUtils.replace(remotePath, BACK_SLASH, WIDELY_ACCEPTED_PATH_SEPARATOR), WIDELY_ACCEPTED_PATH_SEPARATOR);
+        return StringUtils.substringAfterLast(WIDELY_ACCEPTED_PATH_SEPARATOR + path, WIDELY_ACCEPTED_PATH_SEPARATOR);
+    }
+
     /**
      * 转为当前目录的子目录
      *
@@ -59,6 +128,138 @@ public class PathUtils {
         return MCD + WIDELY_ACCEPTED_PATH_SEPARATOR + relativePath;
     }
 
+    /**
+     * 将"/"分隔路径的glob表达式编译为正则，语法与FileSystem#getPathMatcher("glob:")相同：
+     * "*"与"?"不跨越"/"，"**"可跨越"/"，支持[...]、[!...]、{a,b}与反斜杠转义
+     * PS：不经过本地文件系统解析路径，Windows下也能匹配含":"、"*"、"?"的sftp文件名
+     *
+     * @param glob glob表达式
+     * @return java.util.regex.Pattern
+     */
+    public static Pattern compileGlob(String glob) {
+        StringBuilder regex = new StringBuilder("^");
+        boolean inGroup = false;
+        int i = 0;
+        while (i < glob.length()) {
+            char c = glob.charAt(i++);
+            switch (c) {
+                case '\\':
+                    if (i == glob.length()) {
+                        throw new PatternSyntaxException("No character to escape", glob, i - 1);
+                    }
+                    appendLiteral(regex, glob.charAt(i++));
+                    break;
+                case '/':
+                    regex.append('/');
+                    break;
+                case '[':
+                    i = appendBracket(regex, glob, i);
+                    break;
+                case '{':
+                    if (inGroup) {
+                        throw new PatternSyntaxException("Cannot nest groups", glob, i - 1);
+                    }
+                    regex.append("(?:(?:");
+                    inGroup = true;
+                    break;
+                case '}':
+                    if (inGroup) {
+                        regex.append("))");
+                        inGroup = false;
+                    } else {
+                        regex.append('}');
+                    }
+                    break;
+                case ',':
+                    regex.append(inGroup ? ")|(?:" : ",");
+                    break;
+                case '*':
+                    if (i < glob.length() && glob.charAt(i) == '*') {
+                        regex.append(".*");
+                        i++;
+                    } else {
+                        regex.append("[^/]*");
+                    }
+                    break;
+                case '?':
+                    regex.append("[^/]");
+                    break;
+                default:
+                    appendLiteral(regex, c);
+                    break;
+            }
+        }
+        if (inGroup) {
+            throw new PatternSyntaxException("Missing '}'", glob, glob.length() - 1);
+        }
+        return Pattern.compile(regex.append('$').toString(), Pattern.DOTALL);
+    }
+
+    /**
+     * 编译[...]字符集合，返回"]"之后的位置
+     */
+    private static int appendBracket(StringBuilder regex, String glob, int start) {
+        int i = start;
+        regex.append("[[^/]&&[");
+        if (i < glob.length() && glob.charAt(i) == '^') {
+            regex.append("\\^");
+            i++;
+        } else {
+            if (i < glob.length() && glob.charAt(i) == '!') {
+                regex.append('^');
+                i++;
+            }
+            if (i < glob.length() && glob.charAt(i) == '-') {
+                regex.append('-');
+                i++;
+            }
+        }
+        boolean hasRangeStart = false;
+        char last = 0;
+        while (i < glob.length()) {
+            char c = glob.charAt(i++);
+            if (c == ']') {
+                regex.append("]]");
+                return i;
+            }
+            if (c == '/') {
+                throw new PatternSyntaxException("Explicit 'name separator' in class", glob, i - 1);
+            }
+            if (c == '\\' || c == '[' || c == '&' && i < glob.length() && glob.charAt(i) == '&') {
+                regex.append('\\');
+            }
+            regex.append(c);
+            if (c == '-') {
+                if (!hasRangeStart) {
+                    throw new PatternSyntaxException("Invalid range", glob, i - 1);
+                }
+                if (i == glob.length() || glob.charAt(i) == ']') {
+                    continue;
+                }
+                char end = glob.charAt(i++);
+                if (end < last) {
+                    throw new PatternSyntaxException("Invalid range", glob, i - 3);
+                }
+                if (end == '\\' || end == '[' || end == '&') {
+                    regex.append('\\');
+                }
+                regex.append(end);
+                hasRangeStart = false;
+            } else {
+                hasRangeStart = true;
+                last = c;
+            }
+        }
+        throw new PatternSyntaxException("Missing ']'", glob, glob.length() - 1);
+    }
+
+    private static void appendLiteral(StringBuilder regex, char c) {
+        if ("\\^$.|?*+()[]{}".indexOf(c) >= 0) {
+            regex.append('\\');
+        }
+        regex.append(c);
+    }
+
     /**
      * 检查目标路径是否可写
      *
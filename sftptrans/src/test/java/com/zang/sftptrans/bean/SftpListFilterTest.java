@@ -0,0 +1,96 @@
+package com.zang.sftptrans.bean;
+
+import com.jcraft.jsch.ChannelSftp;
+import com.jcraft.jsch.SftpATTRS;
+import com.zang.sftptrans.enums.EnumSftpFileType;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * SftpListFilter单元测试
+ *
+ * @author xssdpgy
+ * @version xssdpgy: SftpListFilterTest.java,v1.0 2026/10/18 17:50 xssdpgy Exp $$
+ * @since 1.0
+ */
+class SftpListFilterTest {
+
+    @Test
+    void alwaysRejectsDotEntries() {
+        SftpListFilter filter = new SftpListFilter();
+
+        assertFalse(filter.accept(entry(".", EnumSftpFileType.DIRECTORY, 0)));
+        assertFalse(filter.accept(entry("..", EnumSftpFileType.DIRECTORY, 0)));
+        assertTrue(filter.accept(entry("in", EnumSftpFileType.DIRECTORY, 0)));
+    }
+
+    @Test
+    void filtersByType() {
+        SftpListFilter filter = SftpListFilter.files();
+
+        assertTrue(filter.accept(entry("a.csv", EnumSftpFileType.FILE, 0)));
+        assertFalse(filter.accept(entry("in", EnumSftpFileType.DIRECTORY, 0)));
+        assertFalse(filter.accept(entry("latest", EnumSftpFileType.LINK, 0)));
+    }
+
+    @Test
+    void filtersByGlob() {
+        SftpListFilter filter = SftpListFilter.files("settle_2026??.csv");
+
+        assertTrue(filter.accept(entry("settle_202610.csv", EnumSftpFileType.FILE, 0)));
+        assertFalse(filter.accept(entry("settle_2026100.csv", EnumSftpFileType.FILE, 0)));
+        assertFalse(filter.accept(entry("settle_202610.txt", EnumSftpFileType.FILE, 0)));
+
+        filter.setGlob(null);
+        assertTrue(filter.accept(entry("settle_202610.txt", EnumSftpFileType.FILE, 0)));
+    }
+
+    @Test
+    void globMatchesNamesInvalidOnWindows() {
+        SftpListFilter filter = SftpListFilter.files("*.log");
+
+        assertTrue(filter.accept(entry("app:2026-10-18.log", EnumSftpFileType.FILE, 0)));
+        assertTrue(filter.accept(entry("what?.log", EnumSftpFileType.FILE, 0)));
+        assertTrue(filter.accept(entry("a*b.log", EnumSftpFileType.FILE, 0)));
+        assertFalse(filter.accept(entry("app:2026-10-18.txt", EnumSftpFileType.FILE, 0)));
+    }
+
+    @Test
+    void modifiedTimeRangeIsHalfOpen() {
+        SftpListFilter filter = new SftpListFilter();
+        filter.setModifiedAfter(1_000_000L);
+        filter.setModifiedBefore(2_000_000L);
+
+        assertFalse(filter.accept(entry("a.csv", EnumSftpFileType.FILE, 999)));
+        assertTrue(filter.accept(entry("a.csv", EnumSftpFileType.FILE, 1000)));
+        assertTrue(filter.accept(entry("a.csv", EnumSftpFileType.FILE, 1999)));
+        assertFalse(filter.accept(entry("a.csv", EnumSftpFileType.FILE, 2000)));
+    }
+
+    @Test
+    void modifiedTimeIsReadOnlyWhenRangeIsSet() {
+        ChannelSftp.LsEntry entry = entry("a.csv", EnumSftpFileType.FILE, 1500);
+
+        assertTrue(SftpListFilter.files("*.csv").accept(entry));
+        verify(entry.getAttrs(), never()).getMTime();
+    }
+
+    private static ChannelSftp.LsEntry entry(String filename, EnumSftpFileType type, int mtimeSeconds) {
+        SftpATTRS attrs = mock(SftpATTRS.class);
+        when(attrs.isReg()).thenReturn(type == EnumSftpFileType.FILE);
+        when(attrs.isDir()).thenReturn(type == EnumSftpFileType.DIRECTORY);
+        when(attrs.isLink()).thenReturn(type == EnumSftpFileType.LINK);
+        when(attrs.getFlags()).thenReturn(SftpATTRS.SSH_FILEXFER_ATTR_ACMODTIME);
+        when(attrs.getMTime()).thenReturn(mtimeSeconds);
+        ChannelSftp.LsEntry entry = mock(ChannelSftp.LsEntry.class);
+        when(entry.getFilename()).thenReturn(filename);
+        when(entry.getAttrs()).thenReturn(attrs);
+        return entry;
+    }
+}
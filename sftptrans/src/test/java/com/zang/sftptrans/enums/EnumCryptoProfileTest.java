@@ -0,0 +1,50 @@
+package com.zang.sftptrans.enums;
+
+import com.jcraft.jsch.JSch;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * EnumCryptoProfile单元测试
+ *
+ * @author xssdpgy
+ * @version xssdpgy: EnumCryptoProfileTest.java,v1.0 2026/10/19 16:15 xssdpgy Exp $$
+ * @since 1.0
+ */
+class EnumCryptoProfileTest {
+
+    @Test
+    void everyAlgorithmIsKnownToJsch() {
+        for (EnumCryptoProfile profile : EnumCryptoProfile.values()) {
+            for (String algorithms : new String[]{profile.getKex(), profile.getCiphers(), profile.getMacs()}) {
+                for (String algorithm : StringUtils.split(StringUtils.defaultString(algorithms), ',')) {
+                    assertNotNull(JSch.getConfig(algorithm), profile + "：" + algorithm);
+                }
+            }
+        }
+    }
+
+    @Test
+    void secureProfileExcludesWeakAlgorithms() {
+        String all = String.join(",", EnumCryptoProfile.SECURE.getKex(), EnumCryptoProfile.SECURE.getCiphers(),
+                EnumCryptoProfile.SECURE.getMacs());
+
+        assertFalse(all.contains("sha1"));
+        assertFalse(all.contains("-cbc"));
+        assertFalse(all.contains("md5"));
+        assertFalse(all.contains("group1-"));
+    }
+
+    @Test
+    void findByCode() {
+        for (EnumCryptoProfile profile : EnumCryptoProfile.values()) {
+            assertSame(profile, EnumCryptoProfile.find(profile.getCode()));
+        }
+        assertNull(EnumCryptoProfile.find("0"));
+    }
+}
@@ -0,0 +1,115 @@
+package com.zang.sftptrans.file;
+
+import com.zang.sftptrans.bean.TransferCheckpoint;
+import com.zang.sftptrans.enums.EnumTransferDirection;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * TransferCheckpointJournal单元测试
+ *
+ * @author xssdpgy
+ * @version xssdpgy: TransferCheckpointJournalTest.java,v1.0 2026/10/19 13:45 xssdpgy Exp $$
+ * @since 1.0
+ */
+class TransferCheckpointJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void savedCheckpointLoadsBack() {
+        TransferCheckpointJournal journal = new TransferCheckpointJournal(directory);
+        Path localPath = directory.resolve("a.csv");
+        TransferCheckpoint checkpoint = journal.create(EnumTransferDirection.DOWNLOAD, "/in/a.csv", localPath);
+        checkpoint.setSize(1024);
+        checkpoint.setLastModifiedTime(1_700_000_000_000L);
+        checkpoint.setOffset(512);
+        journal.save(checkpoint);
+
+        TransferCheckpoint loaded = journal.load(EnumTransferDirection.DOWNLOAD, "/in/a.csv", localPath);
+
+        assertNotNull(loaded);
+        assertEquals(localPath.toAbsolutePath().toString(), loaded.getLocalPath());
+        assertEquals(512, loaded.getOffset());
+        assertTrue(loaded.matches(1024, 1_700_000_000_000L));
+    }
+
+    @Test
+    void saveReplacesPreviousOffset() throws IOException {
+        TransferCheckpointJournal journal = new TransferCheckpointJournal(directory);
+        TransferCheckpoint checkpoint = journal.create(EnumTransferDirection.UPLOAD, "/out/a.csv", null);
+        checkpoint.setOffset(100);
+        journal.save(checkpoint);
+        checkpoint.setOffset(200);
+        journal.save(checkpoint);
+
+        assertEquals(200, journal.load(EnumTransferDirection.UPLOAD, "/out/a.csv", null).getOffset());
+        // 临时文件已替换为检查点文件
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void checkpointsAreKeyedByDirectionAndPaths() {
+        TransferCheckpointJournal journal = new TransferCheckpointJournal(directory);
+        Path localPath = directory.resolve("a.csv");
+        journal.save(journal.create(EnumTransferDirection.DOWNLOAD, "/in/a.csv", localPath));
+
+        assertNull(journal.load(EnumTransferDirection.UPLOAD, "/in/a.csv", localPath));
+        assertNull(journal.load(EnumTransferDirection.DOWNLOAD, "/in/b.csv", localPath));
+        assertNull(journal.load(EnumTransferDirection.DOWNLOAD, "/in/a.csv", directory.resolve("b.csv")));
+    }
+
+    @Test
+    void matchesRequiresSameSizeAndModifiedTime() {
+        TransferCheckpoint checkpoint = new TransferCheckpoint();
+        checkpoint.setSize(1024);
+        checkpoint.setLastModifiedTime(1000);
+
+        assertTrue(checkpoint.matches(1024, 1000));
+        assertFalse(checkpoint.matches(2048, 1000));
+        assertFalse(checkpoint.matches(1024, 2000));
+    }
+
+    @Test
+    void removeDeletesCheckpoint() {
+        TransferCheckpointJournal journal = new TransferCheckpointJournal(directory);
+        TransferCheckpoint checkpoint = journal.create(EnumTransferDirection.UPLOAD, "/out/a.csv", null);
+        journal.save(checkpoint);
+
+        journal.remove(checkpoint);
+
+        assertNull(journal.load(EnumTransferDirection.UPLOAD, "/out/a.csv", null));
+    }
+
+    @Test
+    void corruptCheckpointIsIgnored() throws IOException {
+        TransferCheckpointJournal journal = new TransferCheckpointJournal(directory);
+        journal.save(journal.create(EnumTransferDirection.UPLOAD, "/out/a.csv", null));
+        try (Stream<Path> files = Files.list(directory)) {
+            Path file = files.findFirst().orElseThrow(IllegalStateException::new);
+            Files.write(file, "remotePath=/out/a.csv\nsize=abc\n".getBytes());
+        }
+
+        assertNull(journal.load(EnumTransferDirection.UPLOAD, "/out/a.csv", null));
+    }
+
+    @Test
+    void rejectsNonPositiveInterval() {
+        assertThrows(IllegalArgumentException.class, () -> new TransferCheckpointJournal(directory, 0));
+    }
+}
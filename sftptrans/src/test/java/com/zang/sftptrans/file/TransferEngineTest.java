@@ -0,0 +1,128 @@
+package com.zang.sftptrans.file;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * TransferEngine单元测试
+ *
+ * @author xssdpgy
+ * @version xssdpgy: TransferEngineTest.java,v1.0 2026/10/19 15:25 xssdpgy Exp $$
+ * @since 1.0
+ */
+class TransferEngineTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void copyReusesPooledBuffer() throws IOException {
+        TransferEngine engine = new TransferEngine(16, 2);
+        BufferCapturingStream first = new BufferCapturingStream();
+        BufferCapturingStream second = new BufferCapturingStream();
+
+        engine.copy(new ByteArrayInputStream(new byte[40]), first, null);
+        engine.copy(new ByteArrayInputStream(new byte[40]), second, null);
+
+        assertEquals(1, engine.getPooledBuffers());
+        assertEquals(16, first.buffers.get(0).length);
+        assertSame(first.buffers.get(0), second.buffers.get(0));
+    }
+
+    @Test
+    void concurrentCopiesAllocateAndPoolStaysBounded() throws IOException {
+        TransferEngine engine = new TransferEngine(16, 1);
+        BufferCapturingStream inner = new BufferCapturingStream();
+        BufferCapturingStream outer = new BufferCapturingStream() {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                super.write(b, off, len);
+                if (buffers.size() == 1) {
+                    // 外层拷贝占用缓冲期间发起的拷贝只能临时分配
+                    engine.copy(new ByteArrayInputStream(new byte[8]), inner, null);
+                }
+            }
+        };
+
+        engine.copy(new ByteArrayInputStream(new byte[8]), outer, null);
+
+        assertNotSame(outer.buffers.get(0), inner.buffers.get(0));
+        assertEquals(1, engine.getPooledBuffers());
+    }
+
+    @Test
+    void bufferIsReturnedWhenWriteFails() {
+        TransferEngine engine = new TransferEngine(16, 2);
+        OutputStream failing = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("broken pipe");
+            }
+        };
+
+        assertThrows(IOException.class, () -> engine.copy(new ByteArrayInputStream(new byte[8]), failing, null));
+        assertEquals(1, engine.getPooledBuffers());
+    }
+
+    @Test
+    void fileChannelRoundTripUpdatesDigest() throws IOException, NoSuchAlgorithmException {
+        TransferEngine engine = new TransferEngine(1000, 2);
+        byte[] data = new byte[10_007];
+        new Random(1).nextBytes(data);
+        Path source = Files.write(directory.resolve("source.bin"), data);
+        Path target = directory.resolve("target.bin");
+        MessageDigest uploadDigest = MessageDigest.getInstance("MD5");
+        MessageDigest downloadDigest = MessageDigest.getInstance("MD5");
+
+        ByteArrayOutputStream remote = new ByteArrayOutputStream();
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            assertEquals(data.length, engine.upload(channel, remote, uploadDigest));
+        }
+        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            assertEquals(data.length, engine.download(new ByteArrayInputStream(remote.toByteArray()), channel, downloadDigest));
+        }
+
+        assertArrayEquals(data, Files.readAllBytes(target));
+        assertArrayEquals(MessageDigest.getInstance("MD5").digest(data), uploadDigest.digest());
+        assertArrayEquals(uploadDigest.digest(data), downloadDigest.digest());
+        assertEquals(1, engine.getPooledBuffers());
+    }
+
+    /**
+     * 记录每次写入时传入的数组，丢弃写入的内容
+     */
+    private static class BufferCapturingStream extends OutputStream {
+
+        final List<byte[]> buffers = new ArrayList<>();
+
+        @Override
+        public void write(int b) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            buffers.add(b);
+        }
+    }
+}
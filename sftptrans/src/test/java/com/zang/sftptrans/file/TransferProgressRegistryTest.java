@@ -0,0 +1,98 @@
+package com.zang.sftptrans.file;
+
+import com.jcraft.jsch.SftpProgressMonitor;
+import com.zang.sftptrans.enums.EnumTransferDirection;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * TransferProgressRegistry单元测试
+ *
+ * @author xssdpgy
+ * @version xssdpgy: TransferProgressRegistryTest.java,v1.0 2026/10/19 15:50 xssdpgy Exp $$
+ * @since 1.0
+ */
+class TransferProgressRegistryTest {
+
+    @Test
+    void monitorRegistersAndCompletesTransfer() {
+        TransferProgressRegistry registry = new TransferProgressRegistry(1000);
+        SftpProgressMonitor monitor = registry.newMonitor();
+
+        monitor.init(SftpProgressMonitor.PUT, "/local/a.csv", "/out/a.csv", 400);
+        monitor.count(100);
+        monitor.count(100);
+        TransferProgress progress = registry.getActiveTransfers().iterator().next();
+
+        assertEquals(EnumTransferDirection.UPLOAD, progress.getDirection());
+        assertEquals(50, progress.getPercent(), 1e-9);
+        assertEquals(400, registry.getActiveTotal());
+        assertEquals(200, registry.getTotalTransmitted());
+
+        monitor.end();
+        monitor.end();
+
+        assertEquals(0, registry.getActiveCount());
+        assertEquals(1, registry.getCompletedCount());
+        assertEquals(200, registry.getTotalTransmitted());
+    }
+
+    @Test
+    void unknownTotalReportsNoPercent() {
+        TransferProgressRegistry registry = new TransferProgressRegistry(1000);
+        TransferProgress progress = registry.start(EnumTransferDirection.DOWNLOAD, "/in/a.csv", null, 0);
+        progress.add(100);
+
+        assertEquals(-1, progress.getPercent(), 1e-9);
+        assertEquals(0, registry.getActiveTotal());
+    }
+
+    @Test
+    void listenersReceiveEventsAndFailuresAreIsolated() throws InterruptedException {
+        TransferProgressRegistry registry = new TransferProgressRegistry(10);
+        List<String> events = new CopyOnWriteArrayList<>();
+        CountDownLatch sampled = new CountDownLatch(1);
+        TransferProgressListener failing = new TransferProgressListener() {
+            @Override
+            public void onStart(TransferProgress progress) {
+                throw new IllegalStateException("listener failure");
+            }
+        };
+        registry.addListener(failing);
+        TransferProgressListener listener = new TransferProgressListener() {
+            @Override
+            public void onStart(TransferProgress progress) {
+                events.add("start");
+            }
+
+            @Override
+            public void onProgress(TransferProgress progress) {
+                sampled.countDown();
+            }
+
+            @Override
+            public void onComplete(TransferProgress progress) {
+                events.add("complete");
+            }
+        };
+        registry.addListener(listener);
+
+        TransferProgress progress = registry.start(EnumTransferDirection.DOWNLOAD, "/in/a.csv", "/local/a.csv", 100);
+        assertTrue(sampled.await(10, TimeUnit.SECONDS));
+        registry.complete(progress);
+        registry.removeListener(failing);
+        registry.removeListener(listener);
+
+        assertEquals(2, events.size());
+        assertEquals("start", events.get(0));
+        assertEquals("complete", events.get(1));
+        assertEquals(0, registry.getActiveCount());
+    }
+}
@@ -0,0 +1,60 @@
+package com.zang.sftptrans.metrics;
+
+import com.zang.sftptrans.bean.LatencySnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * LatencyHistogram单元测试
+ *
+ * @author xssdpgy
+ * @version xssdpgy: LatencyHistogramTest.java,v1.0 2026/10/18 20:55 xssdpgy Exp $$
+ * @since 1.0
+ */
+class LatencyHistogramTest {
+
+    @Test
+    void emptyHistogramReportsZero() {
+        LatencySnapshot snapshot = new LatencyHistogram().snapshot();
+
+        assertEquals(0, snapshot.getCount());
+        assertEquals(0, snapshot.getMean());
+        assertEquals(0, snapshot.getP99());
+    }
+
+    @Test
+    void percentilesUseBucketUpperBounds() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 90; i++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(1500));
+        }
+        for (int i = 0; i < 10; i++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(40));
+        }
+        LatencySnapshot snapshot = histogram.snapshot();
+
+        assertEquals(100, snapshot.getCount());
+        assertEquals(5.35, snapshot.getMean(), 1e-9);
+        assertEquals(40, snapshot.getMax(), 1e-9);
+        assertEquals(2, snapshot.getP50(), 1e-9);
+        // 分桶上界为50ms，不超过实际最大值
+        assertEquals(40, snapshot.getP95(), 1e-9);
+        assertEquals(40, snapshot.getP99(), 1e-9);
+        assertEquals(100, snapshot.getCumulativeCounts()[snapshot.getCumulativeCounts().length - 1]);
+    }
+
+    @Test
+    void recordsBeyondLastBoundInOverflowBucket() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(TimeUnit.MINUTES.toNanos(10));
+        LatencySnapshot snapshot = histogram.snapshot();
+        long[] cumulative = snapshot.getCumulativeCounts();
+
+        assertEquals(0, cumulative[cumulative.length - 2]);
+        assertEquals(1, cumulative[cumulative.length - 1]);
+        assertEquals(600_000, snapshot.getP99(), 1e-9);
+    }
+}
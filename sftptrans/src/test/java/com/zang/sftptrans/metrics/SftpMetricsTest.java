@@ -0,0 +1,34 @@
+package com.zang.sftptrans.metrics;
+
+import com.zang.sftptrans.enums.EnumSftpOperation;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * SftpMetrics单元测试
+ *
+ * @author xssdpgy
+ * @version xssdpgy: SftpMetricsTest.java,v1.0 2026/10/19 10:40 xssdpgy Exp $$
+ * @since 1.0
+ */
+class SftpMetricsTest {
+
+    @Test
+    void roundTripFollowsStatOnly() {
+        SftpMetrics metrics = new SftpMetrics("u@metrics.test:22");
+        long startTime = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(500);
+        metrics.record(EnumSftpOperation.LS, startTime);
+        metrics.record(EnumSftpOperation.RENAME, startTime);
+        metrics.record(EnumSftpOperation.MKDIR, startTime);
+
+        assertEquals(0, metrics.getRoundTripEwma());
+
+        metrics.record(EnumSftpOperation.STAT, System.nanoTime());
+        assertTrue(metrics.getRoundTripEwma() > 0);
+        assertTrue(metrics.getRoundTripEwma() < 500);
+    }
+}
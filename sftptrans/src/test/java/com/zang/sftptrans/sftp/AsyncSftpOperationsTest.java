@@ -0,0 +1,76 @@
+package com.zang.sftptrans.sftp;
+
+import com.jcraft.jsch.ChannelSftp;
+import com.zang.sftptrans.enums.EnumBusinessError;
+import com.zang.sftptrans.exception.BusinessException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * AsyncSftpOperations单元测试
+ *
+ * @author xssdpgy
+ * @version xssdpgy: AsyncSftpOperationsTest.java,v1.0 2026/10/19 11:05 xssdpgy Exp $$
+ * @since 1.0
+ */
+class AsyncSftpOperationsTest {
+
+    private SftpClientPool pool;
+
+    private SftpClient client;
+
+    private AsyncSftpOperations operations;
+
+    @BeforeEach
+    void mockPool() {
+        pool = mock(SftpClientPool.class);
+        client = mock(SftpClient.class);
+        when(pool.borrowObject()).thenReturn(client);
+        when(client.testConnect()).thenReturn(true);
+        operations = new AsyncSftpOperations(pool, 1, 4);
+    }
+
+    @AfterEach
+    void close() {
+        operations.close();
+    }
+
+    @Test
+    void listFilesCompletesWithListing() throws Exception {
+        List<ChannelSftp.LsEntry> files = Collections.singletonList(mock(ChannelSftp.LsEntry.class));
+        when(client.listFiles("in")).thenReturn(files);
+
+        assertSame(files, operations.listFiles("in").get(10, TimeUnit.SECONDS));
+        verify(pool).returnObject(client);
+    }
+
+    @Test
+    void listFilesFailureCompletesExceptionally() {
+        when(client.listFiles("missing")).thenReturn(null);
+
+        CompletableFuture<List<ChannelSftp.LsEntry>> future = operations.listFiles("missing");
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof BusinessException);
+        assertEquals(EnumBusinessError.SFTP_OPERATION_FAILURE.getCode(), ((BusinessException) e.getCause()).getErrorCode());
+        // 连接仍可用，归还而不作废
+        verify(pool).returnObject(client);
+        verify(pool, never()).invalidateObject(client);
+    }
+}
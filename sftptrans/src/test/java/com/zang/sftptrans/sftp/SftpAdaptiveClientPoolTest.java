@@ -0,0 +1,82 @@
+package com.zang.sftptrans.sftp;
+
+import com.zang.sftptrans.bean.SftpServerProperties;
+import com.zang.sftptrans.enums.EnumCompressionPolicy;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * SftpAdaptiveClientPool单元测试
+ *
+ * @author xssdpgy
+ * @version xssdpgy: SftpAdaptiveClientPoolTest.java,v1.0 2026/10/19 10:15 xssdpgy Exp $$
+ * @since 1.0
+ */
+class SftpAdaptiveClientPoolTest {
+
+    @Test
+    void adaptivePoolsShareConfiguredLimits() {
+        GenericObjectPoolConfig<SftpClient> config = new GenericObjectPoolConfig<>();
+        config.setMaxTotal(9);
+        config.setMaxIdle(5);
+        config.setMinIdle(0);
+
+        try (SftpAdaptiveClientPool pool = new SftpAdaptiveClientPool(server(EnumCompressionPolicy.ADAPTIVE), config)) {
+            SftpClientPool compressed = pool.getPool(true);
+            SftpClientPool plain = pool.getPool(false);
+
+            assertNotSame(compressed, plain);
+            assertEquals(4, compressed.getMaxTotal());
+            assertEquals(5, plain.getMaxTotal());
+            assertEquals(2, compressed.getMaxIdle());
+            assertEquals(3, plain.getMaxIdle());
+        }
+    }
+
+    @Test
+    void unlimitedConfigStaysUnlimited() {
+        GenericObjectPoolConfig<SftpClient> config = new GenericObjectPoolConfig<>();
+        config.setMaxTotal(-1);
+        config.setMaxIdle(-1);
+
+        try (SftpAdaptiveClientPool pool = new SftpAdaptiveClientPool(server(EnumCompressionPolicy.ADAPTIVE), config)) {
+            assertEquals(-1, pool.getPool(true).getMaxTotal());
+            assertEquals(-1, pool.getPool(false).getMaxTotal());
+            assertEquals(-1, pool.getPool(true).getMaxIdle());
+        }
+    }
+
+    @Test
+    void singleConnectionFallsBackToPlainPool() {
+        GenericObjectPoolConfig<SftpClient> config = new GenericObjectPoolConfig<>();
+        config.setMaxTotal(1);
+
+        try (SftpAdaptiveClientPool pool = new SftpAdaptiveClientPool(server(EnumCompressionPolicy.ADAPTIVE), config)) {
+            assertSame(pool.getPool(false), pool.getPool(true));
+            assertEquals(1, pool.getPool(true).getMaxTotal());
+        }
+    }
+
+    @Test
+    void fixedPolicyKeepsFullLimit() {
+        GenericObjectPoolConfig<SftpClient> config = new GenericObjectPoolConfig<>();
+        config.setMaxTotal(8);
+
+        try (SftpAdaptiveClientPool pool = new SftpAdaptiveClientPool(server(EnumCompressionPolicy.ALWAYS), config)) {
+            assertSame(pool.getPool(false), pool.getPool(true));
+            assertEquals(8, pool.getPool(true).getMaxTotal());
+        }
+    }
+
+    private static SftpServerProperties server(EnumCompressionPolicy policy) {
+        SftpServerProperties properties = new SftpServerProperties();
+        properties.setHost("adaptive.test");
+        properties.setCompressionPolicy(policy);
+        properties.setProbeInterval(0);
+        return properties;
+    }
+}
@@ -0,0 +1,100 @@
+package com.zang.sftptrans.sftp;
+
+import com.zang.sftptrans.bean.SftpServerProperties;
+import com.zang.sftptrans.enums.EnumCompressionPolicy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * SftpCompressionAdvisor单元测试
+ *
+ * @author xssdpgy
+ * @version xssdpgy: SftpCompressionAdvisorTest.java,v1.0 2026/10/19 15:00 xssdpgy Exp $$
+ * @since 1.0
+ */
+class SftpCompressionAdvisorTest {
+
+    private static final long MB = 1024 * 1024;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void fixedPoliciesIgnoreFile() {
+        assertFalse(advisor(EnumCompressionPolicy.OFF).shouldCompress("a.csv", 100 * MB));
+        assertTrue(advisor(EnumCompressionPolicy.ALWAYS).shouldCompress("a.zip", 1));
+    }
+
+    @Test
+    void adaptiveDecidesBySizeThenExtension() {
+        SftpCompressionAdvisor advisor = advisor(EnumCompressionPolicy.ADAPTIVE);
+
+        assertFalse(advisor.shouldCompress("a.csv", MB - 1));
+        assertTrue(advisor.shouldCompress("a.csv", MB));
+        assertTrue(advisor.shouldCompress("A.CSV", 10 * MB));
+        assertFalse(advisor.shouldCompress("a.csv.gz", 10 * MB));
+        // 大小未知时只按扩展名判断
+        assertTrue(advisor.shouldCompress("a.log", -1));
+    }
+
+    @Test
+    void adaptiveWithoutKnownExtensionDoesNotCompressDownload() {
+        SftpCompressionAdvisor advisor = advisor(EnumCompressionPolicy.ADAPTIVE);
+
+        assertFalse(advisor.shouldCompress("a.bin", 10 * MB));
+        assertFalse(advisor.shouldCompress("README", 10 * MB));
+    }
+
+    @Test
+    void sampleRatioSeparatesTextFromRandomBytes() {
+        SftpCompressionAdvisor advisor = advisor(EnumCompressionPolicy.ADAPTIVE);
+        byte[] text = repeatedText(64 * 1024);
+        byte[] random = new byte[64 * 1024];
+        new Random(1).nextBytes(random);
+
+        assertTrue(advisor.sampleRatio(text, text.length) > 10);
+        assertTrue(advisor.sampleRatio(random, random.length) < 1.1);
+        assertEquals(1D, advisor.sampleRatio(new byte[0], 0));
+        assertTrue(advisor.shouldCompress(text, text.length));
+        assertFalse(advisor.shouldCompress(random, random.length));
+    }
+
+    @Test
+    void uploadSamplesFileWithUnknownExtension() throws IOException {
+        SftpCompressionAdvisor advisor = advisor(EnumCompressionPolicy.ADAPTIVE);
+        Path text = Files.write(directory.resolve("text.bin"), repeatedText((int) (2 * MB)));
+        byte[] bytes = new byte[(int) (2 * MB)];
+        new Random(1).nextBytes(bytes);
+        Path random = Files.write(directory.resolve("random.bin"), bytes);
+        Path small = Files.write(directory.resolve("small.bin"), repeatedText(1024));
+
+        assertTrue(advisor.shouldCompress(text));
+        assertFalse(advisor.shouldCompress(random));
+        assertFalse(advisor.shouldCompress(small));
+    }
+
+    private static SftpCompressionAdvisor advisor(EnumCompressionPolicy policy) {
+        SftpServerProperties properties = new SftpServerProperties();
+        properties.setCompressionPolicy(policy);
+        return new SftpCompressionAdvisor(properties);
+    }
+
+    private static byte[] repeatedText(int length) {
+        byte[] line = "2026-10-19,settle,0000012345,CNY,100.00\n".getBytes(StandardCharsets.US_ASCII);
+        byte[] text = new byte[length];
+        for (int i = 0; i < length; i++) {
+            text[i] = line[i % line.length];
+        }
+        return text;
+    }
+}
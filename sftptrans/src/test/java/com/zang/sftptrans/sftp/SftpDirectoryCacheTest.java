@@ -0,0 +1,55 @@
+package com.zang.sftptrans.sftp;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * SftpDirectoryCache单元测试
+ *
+ * @author xssdpgy
+ * @version xssdpgy: SftpDirectoryCacheTest.java,v1.0 2026/10/18 15:35 xssdpgy Exp $$
+ * @since 1.0
+ */
+class SftpDirectoryCacheTest {
+
+    @Test
+    void evictsLeastRecentlyUsedDirectory() {
+        SftpDirectoryCache cache = new SftpDirectoryCache(2);
+        cache.add("/a");
+        cache.add("/b");
+        // 访问/a后/b成为最久未使用的目录
+        assertTrue(cache.contains("/a"));
+        cache.add("/c");
+
+        assertEquals(2, cache.size());
+        assertFalse(cache.contains("/b"));
+        assertTrue(cache.contains("/a"));
+        assertTrue(cache.contains("/c"));
+    }
+
+    @Test
+    void removeDropsSubdirectoriesOnly() {
+        SftpDirectoryCache cache = new SftpDirectoryCache(10);
+        cache.add("/in");
+        cache.add("/in/2026");
+        cache.add("/in/2026/10");
+        cache.add("/inbox");
+
+        cache.remove("/in");
+
+        assertEquals(1, cache.size());
+        assertTrue(cache.contains("/inbox"));
+    }
+
+    @Test
+    void zeroSizeDisablesCache() {
+        SftpDirectoryCache cache = new SftpDirectoryCache(0);
+        cache.add("/in");
+
+        assertFalse(cache.contains("/in"));
+        assertEquals(0, cache.size());
+    }
+}
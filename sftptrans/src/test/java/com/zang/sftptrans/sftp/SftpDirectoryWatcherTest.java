@@ -0,0 +1,193 @@
+package com.zang.sftptrans.sftp;
+
+import com.jcraft.jsch.ChannelSftp;
+import com.jcraft.jsch.SftpATTRS;
+import com.zang.sftptrans.bean.DirectoryChangeEvent;
+import com.zang.sftptrans.bean.SftpWatchProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * SftpDirectoryWatcher快照比较的单元测试，sftp端以mock的客户端代替
+ * <p>
+ * 轮询间隔下限设为1小时，watch时的首次后台轮询之后只由测试线程手动轮询
+ *
+ * @author xssdpgy
+ * @version xssdpgy: SftpDirectoryWatcherTest.java,v1.0 2026/10/19 2:35 xssdpgy Exp $$
+ * @since 1.0
+ */
+class SftpDirectoryWatcherTest {
+
+    private static final String DIRECTORY = "in";
+
+    private static final long HOUR = 3_600_000L;
+
+    /**
+     * 当前目录列表：文件名 → {大小, 修改时间（秒）}
+     */
+    private final Map<String, long[]> listing = new TreeMap<>();
+
+    private SftpClientPool pool;
+
+    private SftpDirectoryWatcher watcher;
+
+    @BeforeEach
+    void setUp() {
+        pool = mock(SftpClientPool.class);
+        SftpClient client = mock(SftpClient.class);
+        when(pool.borrowObject()).thenReturn(client);
+        doAnswer(invocation -> {
+            SftpEntryVisitor visitor = invocation.getArgument(2);
+            List<ChannelSftp.LsEntry> entries = new ArrayList<>();
+            synchronized (listing) {
+                for (Map.Entry<String, long[]> file : listing.entrySet()) {
+                    entries.add(entry(file.getKey(), file.getValue()[0], (int) file.getValue()[1]));
+                }
+            }
+            for (ChannelSftp.LsEntry entry : entries) {
+                visitor.visit(entry);
+            }
+            return (long) entries.size();
+        }).when(client).listFiles(anyString(), any(), any());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (watcher != null) {
+            watcher.close();
+        }
+    }
+
+    @Test
+    void existingFilesFormBaselineWithoutEvents() {
+        put("a.csv", 100, 1000);
+        put("b.csv", 200, 1000);
+        SftpDirectoryListener listener = mock(SftpDirectoryListener.class);
+        watch(false, listener);
+
+        assertEquals(2, watcher.getSnapshotSize(DIRECTORY));
+        assertTrue(watcher.poll(DIRECTORY).isEmpty());
+        verify(listener, never()).onChange(any());
+    }
+
+    @Test
+    void reportsCreatedModifiedCompletedAndDeleted() {
+        put("a.csv", 100, 1000);
+        put("b.csv", 200, 1000);
+        SftpDirectoryListener listener = mock(SftpDirectoryListener.class);
+        watch(true, listener);
+        ArgumentCaptor<DirectoryChangeEvent> created = ArgumentCaptor.forClass(DirectoryChangeEvent.class);
+        verify(listener, timeout(5000).times(2)).onChange(created.capture());
+        assertEquals("a.csv:CREATED b.csv:CREATED", describe(created.getAllValues()));
+
+        // 第一次不变
+        assertEquals("", describe(watcher.poll(DIRECTORY)));
+        // 连续两次不变后写入完成
+        assertEquals("a.csv:COMPLETED b.csv:COMPLETED", describe(watcher.poll(DIRECTORY)));
+
+        put("a.csv", 150, 1001);
+        remove("b.csv");
+        put("c.csv", 10, 1001);
+        assertEquals("a.csv:MODIFIED c.csv:CREATED b.csv:DELETED", describe(watcher.poll(DIRECTORY)));
+        assertEquals(2, watcher.getSnapshotSize(DIRECTORY));
+
+        // 写入完成后再次变化时重新计数
+        assertEquals("", describe(watcher.poll(DIRECTORY)));
+        assertEquals("a.csv:COMPLETED c.csv:COMPLETED", describe(watcher.poll(DIRECTORY)));
+    }
+
+    @Test
+    void backsOffWhileIdleAndResetsOnChange() {
+        put("a.csv", 100, 1000);
+        watch(false, mock(SftpDirectoryListener.class));
+        // 首次轮询为基线，无变更时放大间隔
+        assertEquals(2 * HOUR, watcher.getInterval(DIRECTORY));
+
+        watcher.poll(DIRECTORY);
+        assertEquals(4 * HOUR, watcher.getInterval(DIRECTORY));
+        watcher.poll(DIRECTORY);
+        assertEquals(4 * HOUR, watcher.getInterval(DIRECTORY));
+
+        put("b.csv", 1, 1000);
+        watcher.poll(DIRECTORY);
+        assertEquals(HOUR, watcher.getInterval(DIRECTORY));
+    }
+
+    @Test
+    void rejectsDuplicateWatch() {
+        watch(false, mock(SftpDirectoryListener.class));
+
+        assertThrows(IllegalStateException.class, () -> watcher.watch(DIRECTORY, null, event -> {
+        }));
+        watcher.unwatch(DIRECTORY);
+        assertThrows(IllegalStateException.class, () -> watcher.poll(DIRECTORY));
+    }
+
+    /**
+     * 开始监听并等待watch触发的首次后台轮询比较完成，首次轮询的事件回调可能仍在执行
+     */
+    private void watch(boolean reportExisting, SftpDirectoryListener listener) {
+        SftpWatchProperties properties = new SftpWatchProperties();
+        properties.setMinInterval(HOUR);
+        properties.setMaxInterval(4 * HOUR);
+        properties.setBackoffFactor(2.0);
+        properties.setStablePolls(2);
+        properties.setReportExisting(reportExisting);
+        watcher = new SftpDirectoryWatcher(pool, properties);
+        watcher.watch(DIRECTORY, null, listener);
+        // 归还客户端时仍持有快照锁，读取快照大小即等待首次比较完成
+        verify(pool, timeout(5000)).returnObject(any());
+        watcher.getSnapshotSize(DIRECTORY);
+    }
+
+    private void put(String filename, long size, long mtimeSeconds) {
+        synchronized (listing) {
+            listing.put(filename, new long[]{size, mtimeSeconds});
+        }
+    }
+
+    private void remove(String filename) {
+        synchronized (listing) {
+            listing.remove(filename);
+        }
+    }
+
+    private static String describe(List<DirectoryChangeEvent> events) {
+        StringBuilder sb = new StringBuilder();
+        for (DirectoryChangeEvent event : events) {
+            sb.append(sb.length() == 0 ? "" : " ").append(event.getFilename()).append(':').append(event.getType().name());
+        }
+        return sb.toString();
+    }
+
+    private static ChannelSftp.LsEntry entry(String filename, long size, int mtimeSeconds) {
+        SftpATTRS attrs = mock(SftpATTRS.class);
+        when(attrs.isReg()).thenReturn(true);
+        when(attrs.getFlags()).thenReturn(SftpATTRS.SSH_FILEXFER_ATTR_SIZE | SftpATTRS.SSH_FILEXFER_ATTR_ACMODTIME);
+        when(attrs.getSize()).thenReturn(size);
+        when(attrs.getMTime()).thenReturn(mtimeSeconds);
+        ChannelSftp.LsEntry entry = mock(ChannelSftp.LsEntry.class);
+        when(entry.getFilename()).thenReturn(filename);
+        when(entry.getAttrs()).thenReturn(attrs);
+        return entry;
+    }
+}
@@ -0,0 +1,64 @@
+package com.zang.sftptrans.sftp;
+
+import com.zang.sftptrans.bean.SftpServerProperties;
+import org.apache.commons.pool2.impl.GenericKeyedObjectPoolConfig;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * SftpKeyedClientPool单元测试
+ *
+ * @author xssdpgy
+ * @version xssdpgy: SftpKeyedClientPoolTest.java,v1.0 2026/10/19 11:30 xssdpgy Exp $$
+ * @since 1.0
+ */
+class SftpKeyedClientPoolTest {
+
+    @Test
+    void probeUsesShortestServerInterval() {
+        SftpKeyedClientFactory factory = new SftpKeyedClientFactory();
+        factory.register("a", server("a.probe.test", 30_000));
+        factory.register("b", server("b.probe.test", 10_000));
+        factory.register("c", server("c.probe.test", 0));
+
+        try (SftpKeyedClientPool pool = new SftpKeyedClientPool(factory)) {
+            assertTrue(pool.getTestWhileIdle());
+            assertEquals(-1, pool.getNumTestsPerEvictionRun());
+            assertEquals(10_000, pool.getTimeBetweenEvictionRunsMillis());
+        }
+    }
+
+    @Test
+    void configuredEvictionIntervalIsKept() {
+        SftpKeyedClientFactory factory = new SftpKeyedClientFactory();
+        factory.register("a", server("a.probe.test", 30_000));
+        GenericKeyedObjectPoolConfig<SftpClient> config = new GenericKeyedObjectPoolConfig<>();
+        config.setTimeBetweenEvictionRunsMillis(5_000);
+
+        try (SftpKeyedClientPool pool = new SftpKeyedClientPool(factory, config)) {
+            assertTrue(pool.getTestWhileIdle());
+            assertEquals(5_000, pool.getTimeBetweenEvictionRunsMillis());
+        }
+    }
+
+    @Test
+    void probeDisabledLeavesEvictionOff() {
+        SftpKeyedClientFactory factory = new SftpKeyedClientFactory();
+        factory.register("a", server("a.probe.test", 0));
+
+        try (SftpKeyedClientPool pool = new SftpKeyedClientPool(factory)) {
+            assertFalse(pool.getTestWhileIdle());
+            assertTrue(pool.getTimeBetweenEvictionRunsMillis() <= 0);
+        }
+    }
+
+    private static SftpServerProperties server(String host, long probeInterval) {
+        SftpServerProperties properties = new SftpServerProperties();
+        properties.setHost(host);
+        properties.setProbeInterval(probeInterval);
+        return properties;
+    }
+}
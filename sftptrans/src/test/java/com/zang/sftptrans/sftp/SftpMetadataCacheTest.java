@@ -0,0 +1,95 @@
+package com.zang.sftptrans.sftp;
+
+import com.jcraft.jsch.ChannelSftp;
+import com.jcraft.jsch.SftpATTRS;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+
+/**
+ * SftpMetadataCache单元测试
+ *
+ * @author xssdpgy
+ * @version xssdpgy: SftpMetadataCacheTest.java,v1.0 2026/10/18 18:25 xssdpgy Exp $$
+ * @since 1.0
+ */
+class SftpMetadataCacheTest {
+
+    @Test
+    void returnsCachedValuesAndCountsHits() {
+        SftpMetadataCache cache = new SftpMetadataCache(60_000, 10);
+        SftpATTRS attrs = mock(SftpATTRS.class);
+        List<ChannelSftp.LsEntry> list = new ArrayList<>();
+        cache.putAttrs("/in/a.csv", attrs);
+        cache.putList("/in", list);
+
+        assertSame(attrs, cache.getAttrs("/in/a.csv"));
+        assertSame(list, cache.getList("/in"));
+        assertNull(cache.getAttrs("/in/b.csv"));
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(2.0 / 3, cache.getHitRate(), 1e-9);
+    }
+
+    @Test
+    void expiresEntriesAfterTtl() throws InterruptedException {
+        SftpMetadataCache cache = new SftpMetadataCache(50, 10);
+        cache.putAttrs("/in/a.csv", mock(SftpATTRS.class));
+        Thread.sleep(100);
+
+        assertNull(cache.getAttrs("/in/a.csv"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedEntry() {
+        SftpMetadataCache cache = new SftpMetadataCache(60_000, 2);
+        SftpATTRS a = mock(SftpATTRS.class);
+        SftpATTRS c = mock(SftpATTRS.class);
+        cache.putAttrs("/a", a);
+        cache.putAttrs("/b", mock(SftpATTRS.class));
+        // 访问/a后/b成为最久未使用的条目
+        cache.getAttrs("/a");
+        cache.putAttrs("/c", c);
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertNull(cache.getAttrs("/b"));
+        assertSame(a, cache.getAttrs("/a"));
+        assertSame(c, cache.getAttrs("/c"));
+    }
+
+    @Test
+    void invalidateRemovesPathAndParentListing() {
+        SftpMetadataCache cache = new SftpMetadataCache(60_000, 10);
+        cache.putAttrs("/in/a.csv", mock(SftpATTRS.class));
+        cache.putList("/in/a.csv", new ArrayList<>());
+        cache.putList("/in", new ArrayList<>());
+        cache.putList("/out", new ArrayList<>());
+
+        cache.invalidate("/in/a.csv");
+
+        assertNull(cache.getAttrs("/in/a.csv"));
+        assertNull(cache.getList("/in/a.csv"));
+        assertNull(cache.getList("/in"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void disabledCacheStoresNothing() {
+        SftpMetadataCache cache = new SftpMetadataCache(0, 10);
+        cache.putAttrs("/in/a.csv", mock(SftpATTRS.class));
+
+        assertFalse(cache.isEnabled());
+        assertNull(cache.getAttrs("/in/a.csv"));
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getMissCount());
+    }
+}
@@ -0,0 +1,111 @@
+package com.zang.sftptrans.sftp;
+
+import com.zang.sftptrans.bean.SftpServerProperties;
+import com.zang.sftptrans.enums.EnumBusinessError;
+import com.zang.sftptrans.enums.EnumMirrorSelectStrategy;
+import com.zang.sftptrans.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * SftpMirrorGroup单元测试
+ *
+ * @author xssdpgy
+ * @version xssdpgy: SftpMirrorGroupTest.java,v1.0 2026/10/19 14:35 xssdpgy Exp $$
+ * @since 1.0
+ */
+class SftpMirrorGroupTest {
+
+    @Test
+    void equalScoresRotateFirstMember() {
+        SftpMirrorGroup group = new SftpMirrorGroup("g", EnumMirrorSelectStrategy.LEAST_LOADED, Arrays.asList("a", "b", "c"));
+
+        assertEquals(Arrays.asList("a", "b", "c"), group.candidates(member -> 0));
+        assertEquals(Arrays.asList("b", "c", "a"), group.candidates(member -> 0));
+        assertEquals(Arrays.asList("c", "a", "b"), group.candidates(member -> 0));
+    }
+
+    @Test
+    void lowerScoreComesFirst() {
+        SftpMirrorGroup group = new SftpMirrorGroup("g", EnumMirrorSelectStrategy.LEAST_LOADED, Arrays.asList("a", "b", "c"));
+        Map<String, Integer> active = new HashMap<>();
+        active.put("a", 3);
+        active.put("b", 1);
+        active.put("c", 2);
+
+        assertEquals(Arrays.asList("b", "c", "a"), group.candidates(active::get));
+    }
+
+    @Test
+    void membersInCooldownComeLast() throws InterruptedException {
+        SftpMirrorGroup group = new SftpMirrorGroup("g", EnumMirrorSelectStrategy.LEAST_LOADED, Arrays.asList("a", "b", "c"));
+        group.markDown("a", 60_000);
+        group.markDown("b", 30_000);
+
+        assertFalse(group.isHealthy("a"));
+        // 冷却中的成员按冷却截止时间排列
+        assertEquals(Arrays.asList("c", "b", "a"), group.candidates(member -> 0));
+
+        group.markUp("a");
+        group.markDown("b", 20);
+        Thread.sleep(50);
+
+        assertTrue(group.isHealthy("a"));
+        assertTrue(group.isHealthy("b"));
+        // 冷却结束后重新按轮转顺序参与选择
+        assertEquals(Arrays.asList("b", "c", "a"), group.candidates(member -> 0));
+    }
+
+    @Test
+    void rejectsEmptyGroup() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new SftpMirrorGroup("g", EnumMirrorSelectStrategy.LEAST_LOADED, Collections.emptyList()));
+    }
+
+    @Test
+    void poolFailsOverToNextMemberAndCoolsDownFailedOne() {
+        SftpKeyedClientFactory factory = new SftpKeyedClientFactory() {
+            @Override
+            public SftpClient create(String serverId) {
+                if ("a".equals(serverId)) {
+                    throw new BusinessException(EnumBusinessError.SFTP_CONNECTION_ERROR.getCode(), EnumBusinessError.SFTP_CONNECTION_ERROR.getMsg(), serverId);
+                }
+                return mock(SftpClient.class);
+            }
+        };
+        factory.register("a", server("a.mirror.test"));
+        factory.register("b", server("b.mirror.test"));
+
+        try (SftpKeyedClientPool pool = new SftpKeyedClientPool(factory)) {
+            pool.addMirrorGroup("g", EnumMirrorSelectStrategy.LEAST_LOADED, "a", "b");
+            SftpMirrorGroup group = pool.getMirrorGroup("g");
+
+            try (SftpMirrorLease lease = pool.borrowFromGroup("g")) {
+                assertEquals("b", lease.getServerId());
+            }
+            assertFalse(group.isHealthy("a"));
+            // 冷却期内a排在最后，不再先尝试
+            try (SftpMirrorLease lease = pool.borrowFromGroup("g")) {
+                assertEquals("b", lease.getServerId());
+            }
+            assertEquals(1, pool.getCreatedCount());
+        }
+    }
+
+    private static SftpServerProperties server(String host) {
+        SftpServerProperties properties = new SftpServerProperties();
+        properties.setHost(host);
+        properties.setProbeInterval(0);
+        return properties;
+    }
+}
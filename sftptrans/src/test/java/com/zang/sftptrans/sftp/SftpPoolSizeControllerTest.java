@@ -0,0 +1,179 @@
+package com.zang.sftptrans.sftp;
+
+import com.zang.sftptrans.bean.PoolSizeDecision;
+import com.zang.sftptrans.bean.SftpPoolSizingProperties;
+import com.zang.sftptrans.enums.EnumBusinessError;
+import com.zang.sftptrans.enums.EnumPoolSizeDecision;
+import com.zang.sftptrans.metrics.LatencyHistogram;
+import com.zang.sftptrans.metrics.SftpMetrics;
+import org.apache.commons.pool2.PooledObjectFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.when;
+
+/**
+ * SftpPoolSizeController单元测试
+ *
+ * @author xssdpgy
+ * @version xssdpgy: SftpPoolSizeControllerTest.java,v1.0 2026/10/19 10:40 xssdpgy Exp $$
+ * @since 1.0
+ */
+class SftpPoolSizeControllerTest {
+
+    private final AtomicLong connectionErrors = new AtomicLong();
+
+    private final LatencyHistogram borrowWait = new LatencyHistogram();
+
+    private SftpClientPool pool;
+
+    private SftpMetrics metrics;
+
+    private SftpPoolSizeController controller;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void mockPool() {
+        metrics = mock(SftpMetrics.class);
+        when(metrics.getBorrowWait()).thenReturn(borrowWait);
+        when(metrics.getErrorCount(EnumBusinessError.SFTP_CONNECTION_ERROR)).thenAnswer(i -> connectionErrors.get());
+        // 最大连接数的读写是final方法，使用真实池的spy，只替换统计指标与借出、等待数
+        pool = spy(new SftpClientPool(mock(PooledObjectFactory.class)));
+        doReturn(metrics).when(pool).getMetrics();
+    }
+
+    @AfterEach
+    void close() {
+        if (controller != null) {
+            controller.close();
+        }
+        pool.close();
+    }
+
+    @Test
+    void growsWhenBorrowersWait() {
+        pool.setMaxTotal(4);
+        controller = new SftpPoolSizeController(pool, properties());
+        doReturn(4).when(pool).getNumActive();
+        doReturn(2).when(pool).getNumWaiters();
+
+        PoolSizeDecision decision = controller.adjust();
+
+        assertEquals(EnumPoolSizeDecision.GROW, decision.getDecision());
+        assertEquals(4, decision.getPreviousMaxTotal());
+        assertEquals(5, pool.getMaxTotal());
+    }
+
+    @Test
+    void growsWhenAverageBorrowWaitExceedsThreshold() {
+        pool.setMaxTotal(4);
+        controller = new SftpPoolSizeController(pool, properties());
+        doReturn(4).when(pool).getNumActive();
+        borrowWait.record(TimeUnit.MILLISECONDS.toNanos(80));
+        borrowWait.record(TimeUnit.MILLISECONDS.toNanos(120));
+
+        PoolSizeDecision decision = controller.adjust();
+
+        assertEquals(EnumPoolSizeDecision.GROW, decision.getDecision());
+        assertEquals(100, decision.getBorrowWait(), 1e-9);
+        assertEquals(5, pool.getMaxTotal());
+    }
+
+    @Test
+    void holdsGrowthWhileRoundTripDegraded() {
+        pool.setMaxTotal(4);
+        controller = new SftpPoolSizeController(pool, properties());
+        doReturn(4).when(pool).getNumActive();
+        when(metrics.getRoundTripEwma()).thenReturn(10D);
+        controller.adjust();
+        doReturn(2).when(pool).getNumWaiters();
+        when(metrics.getRoundTripEwma()).thenReturn(30D);
+
+        PoolSizeDecision decision = controller.adjust();
+
+        assertEquals(EnumPoolSizeDecision.HOLD, decision.getDecision());
+        assertEquals(10, decision.getBaselineRoundTrip(), 1e-9);
+        assertEquals(4, pool.getMaxTotal());
+    }
+
+    @Test
+    void baselineSlidesOutOfWindow() {
+        pool.setMaxTotal(4);
+        SftpPoolSizingProperties properties = properties();
+        properties.setBaselineWindow(2);
+        controller = new SftpPoolSizeController(pool, properties);
+        doReturn(4).when(pool).getNumActive();
+        when(metrics.getRoundTripEwma()).thenReturn(10D);
+        controller.adjust();
+        when(metrics.getRoundTripEwma()).thenReturn(30D);
+        controller.adjust();
+        doReturn(2).when(pool).getNumWaiters();
+
+        // 网络路径变化后的往返时延成为新的基准
+        PoolSizeDecision decision = controller.adjust();
+
+        assertEquals(30, decision.getBaselineRoundTrip(), 1e-9);
+        assertEquals(EnumPoolSizeDecision.GROW, decision.getDecision());
+        assertEquals(5, pool.getMaxTotal());
+    }
+
+    @Test
+    void shrinksWhenUnderused() {
+        pool.setMaxTotal(8);
+        controller = new SftpPoolSizeController(pool, properties());
+        doReturn(1).when(pool).getNumActive();
+
+        PoolSizeDecision decision = controller.adjust();
+
+        assertEquals(EnumPoolSizeDecision.SHRINK, decision.getDecision());
+        assertEquals(7, pool.getMaxTotal());
+    }
+
+    @Test
+    void backsOffOnConnectionErrorsAndHoldsDuringCooldown() {
+        pool.setMaxTotal(8);
+        controller = new SftpPoolSizeController(pool, properties());
+        doReturn(8).when(pool).getNumActive();
+        connectionErrors.addAndGet(3);
+
+        PoolSizeDecision decision = controller.adjust();
+
+        assertEquals(EnumPoolSizeDecision.BACKOFF, decision.getDecision());
+        assertEquals(3, decision.getConnectionErrors());
+        assertEquals(4, pool.getMaxTotal());
+
+        connectionErrors.incrementAndGet();
+        assertEquals(EnumPoolSizeDecision.HOLD, controller.adjust().getDecision());
+        doReturn(2).when(pool).getNumWaiters();
+        assertEquals(EnumPoolSizeDecision.HOLD, controller.adjust().getDecision());
+        assertEquals(4, pool.getMaxTotal());
+        assertEquals(1, controller.getDecisionCount(EnumPoolSizeDecision.BACKOFF));
+    }
+
+    @Test
+    void backoffStopsAtMinSize() {
+        pool.setMaxTotal(3);
+        controller = new SftpPoolSizeController(pool, properties());
+        connectionErrors.incrementAndGet();
+
+        controller.adjust();
+
+        assertEquals(2, pool.getMaxTotal());
+    }
+
+    private static SftpPoolSizingProperties properties() {
+        SftpPoolSizingProperties properties = new SftpPoolSizingProperties();
+        properties.setMinSize(2);
+        properties.setMaxSize(16);
+        properties.setInterval(TimeUnit.HOURS.toMillis(1));
+        return properties;
+    }
+}
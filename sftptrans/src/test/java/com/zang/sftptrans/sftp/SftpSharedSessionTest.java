@@ -0,0 +1,73 @@
+package com.zang.sftptrans.sftp;
+
+import com.jcraft.jsch.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * SftpSharedSession单元测试
+ *
+ * @author xssdpgy
+ * @version xssdpgy: SftpSharedSessionTest.java,v1.0 2026/10/19 14:10 xssdpgy Exp $$
+ * @since 1.0
+ */
+class SftpSharedSessionTest {
+
+    private Session session;
+
+    @BeforeEach
+    void mockSession() {
+        session = mock(Session.class);
+        when(session.isConnected()).thenReturn(true);
+    }
+
+    @Test
+    void acquireStopsAtMaxChannels() {
+        SftpSharedSession sharedSession = new SftpSharedSession(session, 2);
+
+        assertTrue(sharedSession.tryAcquire());
+        assertTrue(sharedSession.tryAcquire());
+        assertFalse(sharedSession.tryAcquire());
+        assertEquals(2, sharedSession.getChannels());
+
+        sharedSession.release();
+        assertEquals(1, sharedSession.getChannels());
+        assertTrue(sharedSession.tryAcquire());
+        verify(session, never()).disconnect();
+    }
+
+    @Test
+    void lastReleaseDisconnectsAndClosesSession() {
+        SftpSharedSession sharedSession = new SftpSharedSession(session, 2);
+        sharedSession.tryAcquire();
+        sharedSession.tryAcquire();
+
+        sharedSession.release();
+        sharedSession.release();
+
+        verify(session, times(1)).disconnect();
+        assertEquals(0, sharedSession.getChannels());
+        assertFalse(sharedSession.isAvailable());
+        // 已关闭的会话不再分配通道
+        assertFalse(sharedSession.tryAcquire());
+    }
+
+    @Test
+    void disconnectedSessionIsNotAvailable() {
+        SftpSharedSession sharedSession = new SftpSharedSession(session, 2);
+        when(session.isConnected()).thenReturn(false);
+
+        assertFalse(sharedSession.isAvailable());
+        assertFalse(sharedSession.tryAcquire());
+        assertEquals(0, sharedSession.getChannels());
+    }
+}
@@ -0,0 +1,150 @@
+package com.zang.sftptrans.transfer;
+
+import com.zang.sftptrans.bean.BatchTransferResult;
+import com.zang.sftptrans.bean.FileTransferPair;
+import com.zang.sftptrans.bean.SftpTransferProperties;
+import com.zang.sftptrans.enums.EnumBusinessError;
+import com.zang.sftptrans.exception.BusinessException;
+import com.zang.sftptrans.sftp.SftpClient;
+import com.zang.sftptrans.sftp.SftpClientPool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * BatchTransferService单元测试，sftp端以mock的客户端代替
+ *
+ * @author xssdpgy
+ * @version xssdpgy: BatchTransferServiceTest.java,v1.0 2026/10/19 1:40 xssdpgy Exp $$
+ * @since 1.0
+ */
+class BatchTransferServiceTest {
+
+    @TempDir
+    Path localDirectory;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    private SftpClientPool pool;
+
+    private SftpTransferProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        pool = mock(SftpClientPool.class);
+        properties = new SftpTransferProperties();
+        properties.setBatchParallelism(1);
+    }
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void downloadReusesBorrowedClientAndKeepsResultOrder() {
+        SftpClient client = downloadingClient();
+        when(pool.borrowObject()).thenReturn(client);
+        List<FileTransferPair> pairs = pairs("a.txt", "bb.txt", "ccc.txt");
+
+        BatchTransferResult result = new BatchTransferService(pool, executor, properties).download(pairs);
+
+        assertTrue(result.isAllSucceeded());
+        assertEquals(3, result.getSucceeded());
+        assertEquals(5 + 6 + 7, result.getBytes());
+        for (int i = 0; i < pairs.size(); i++) {
+            assertEquals(pairs.get(i).getRemotePath(), result.getResults().get(i).getRemotePath());
+        }
+        verify(pool, times(1)).borrowObject();
+        verify(pool).returnObject(client);
+    }
+
+    @Test
+    void invalidatesBrokenClientAndBorrowsAnother() {
+        SftpClient broken = mock(SftpClient.class);
+        doThrow(new BusinessException(EnumBusinessError.SFTP_DOWNLOAD_FILE_FAILURE.getCode(), EnumBusinessError.SFTP_DOWNLOAD_FILE_FAILURE.getMsg()))
+                .when(broken).downloadAsFile(anyString(), any(Path.class));
+        when(broken.testConnect()).thenReturn(false);
+        SftpClient healthy = downloadingClient();
+        when(pool.borrowObject()).thenReturn(broken, healthy);
+
+        BatchTransferResult result = new BatchTransferService(pool, executor, properties).download(pairs("a.txt", "bb.txt"));
+
+        assertEquals(1, result.getFailed());
+        assertEquals(EnumBusinessError.SFTP_DOWNLOAD_FILE_FAILURE.getCode(), result.getResults().get(0).getErrorCode());
+        assertTrue(result.getResults().get(1).isSuccess());
+        verify(pool).invalidateObject(broken);
+        verify(pool, never()).returnObject(broken);
+        verify(pool).returnObject(healthy);
+    }
+
+    @Test
+    void recordsBorrowFailureAndContinuesWithRemainingFiles() {
+        SftpClient client = downloadingClient();
+        when(pool.borrowObject())
+                .thenThrow(new BusinessException(EnumBusinessError.SFTP_GET_CLIENT_FAILURE.getCode(), EnumBusinessError.SFTP_GET_CLIENT_FAILURE.getMsg()))
+                .thenReturn(client);
+
+        BatchTransferResult result = new BatchTransferService(pool, executor, properties).download(pairs("a.txt", "bb.txt"));
+
+        assertFalse(result.isAllSucceeded());
+        assertEquals(EnumBusinessError.SFTP_GET_CLIENT_FAILURE.getCode(), result.getResults().get(0).getErrorCode());
+        assertTrue(result.getResults().get(1).isSuccess());
+    }
+
+    @Test
+    void boundsWorkersByParallelism() {
+        properties.setBatchParallelism(2);
+        when(pool.borrowObject()).thenAnswer(invocation -> downloadingClient());
+
+        BatchTransferResult result = new BatchTransferService(pool, executor, properties).download(pairs("a", "b", "c", "d", "e"));
+
+        assertEquals(5, result.getSucceeded());
+        // 先启动的工作任务可能在其他任务开始前取完队列
+        verify(pool, atMost(2)).borrowObject();
+    }
+
+    /**
+     * 下载时写入与文件名等长的内容
+     */
+    private static SftpClient downloadingClient() {
+        SftpClient client = mock(SftpClient.class);
+        doAnswer(invocation -> {
+            String remotePath = invocation.getArgument(0);
+            Path localPath = invocation.getArgument(1);
+            Files.write(localPath, new byte[remotePath.length() - remotePath.lastIndexOf('/') - 1]);
+            return null;
+        }).when(client).downloadAsFile(anyString(), any(Path.class));
+        return client;
+    }
+
+    private List<FileTransferPair> pairs(String... filenames) {
+        FileTransferPair[] pairs = new FileTransferPair[filenames.length];
+        for (int i = 0; i < filenames.length; i++) {
+            pairs[i] = new FileTransferPair(localDirectory.resolve(filenames[i]), "/remote/" + filenames[i]);
+        }
+        return Arrays.asList(pairs);
+    }
+}
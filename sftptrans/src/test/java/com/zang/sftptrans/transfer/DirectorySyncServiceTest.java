@@ -0,0 +1,179 @@
+package com.zang.sftptrans.transfer;
+
+import com.jcraft.jsch.ChannelSftp;
+import com.jcraft.jsch.SftpATTRS;
+import com.zang.sftptrans.bean.SftpTransferProperties;
+import com.zang.sftptrans.bean.SyncEntry;
+import com.zang.sftptrans.bean.SyncPlan;
+import com.zang.sftptrans.bean.SyncResult;
+import com.zang.sftptrans.enums.EnumBusinessError;
+import com.zang.sftptrans.enums.EnumSyncAction;
+import com.zang.sftptrans.enums.EnumTransferDirection;
+import com.zang.sftptrans.exception.BusinessException;
+import com.zang.sftptrans.sftp.SftpClient;
+import com.zang.sftptrans.sftp.SftpClientPool;
+import com.zang.sftptrans.sftp.SftpEntryVisitor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * DirectorySyncService同步计划与删除的单元测试，sftp端以mock的客户端代替
+ *
+ * @author xssdpgy
+ * @version xssdpgy: DirectorySyncServiceTest.java,v1.0 2026/10/18 19:05 xssdpgy Exp $$
+ * @since 1.0
+ */
+class DirectorySyncServiceTest {
+
+    @TempDir
+    Path localDirectory;
+
+    private SftpClientPool pool;
+
+    private SftpClient client;
+
+    /**
+     * sftp目录绝对路径 → 目录条目
+     */
+    private final Map<String, List<ChannelSftp.LsEntry>> remote = new HashMap<>();
+
+    private DirectorySyncService service;
+
+    @BeforeEach
+    void setUp() {
+        pool = mock(SftpClientPool.class);
+        client = mock(SftpClient.class);
+        when(pool.borrowObject()).thenReturn(client);
+        when(client.directoryExists(anyString())).thenReturn(true);
+        doAnswer(invocation -> {
+            SftpEntryVisitor visitor = invocation.getArgument(2);
+            long visited = 0;
+            for (ChannelSftp.LsEntry entry : remote.getOrDefault(invocation.<String>getArgument(0), Collections.emptyList())) {
+                visited++;
+                if (!visitor.visit(entry)) {
+                    break;
+                }
+            }
+            return visited;
+        }).when(client).listFiles(anyString(), any(), any());
+        service = new DirectorySyncService(pool, null, new SftpTransferProperties());
+    }
+
+    @Test
+    void downloadPlanComparesSizeAndSecondPrecisionModifiedTime() throws IOException {
+        remote.put("/remote", Arrays.asList(file("a.txt", 10, 1000), file("d.txt", 20, 1000), directory("sub")));
+        remote.put("/remote/sub", Collections.singletonList(file("b.txt", 5, 1000)));
+        // 毫秒部分不参与比较
+        local("a.txt", 10, 1_000_500);
+        local("d.txt", 25, 1_000_000);
+        local("c.txt", 1, 1_000_000);
+
+        SyncPlan plan = service.plan("remote", localDirectory, EnumTransferDirection.DOWNLOAD, true);
+
+        Map<String, EnumSyncAction> expected = new TreeMap<>();
+        expected.put("sub/b.txt", EnumSyncAction.CREATE);
+        expected.put("d.txt", EnumSyncAction.UPDATE);
+        expected.put("c.txt", EnumSyncAction.DELETE);
+        assertEquals(expected, actions(plan));
+        assertEquals(1, plan.getUnchanged());
+        assertEquals(25, plan.getTransferBytes());
+    }
+
+    @Test
+    void uploadPlanKeepsExtraneousTargetFilesByDefault() throws IOException {
+        remote.put("/remote", Arrays.asList(file("a.txt", 10, 1000), file("old.txt", 3, 1000)));
+        local("a.txt", 10, 2_000_000);
+        local("new.txt", 7, 1_000_000);
+
+        SyncPlan plan = service.plan("remote", localDirectory, EnumTransferDirection.UPLOAD, false);
+
+        assertEquals(2, plan.getEntries().size());
+        assertEquals(1, plan.count(EnumSyncAction.UPDATE));
+        assertEquals(1, plan.count(EnumSyncAction.CREATE));
+        assertEquals(0, plan.count(EnumSyncAction.DELETE));
+        assertEquals(17, plan.getTransferBytes());
+    }
+
+    @Test
+    void deleteRemoteRecordsRemainingFilesWhenNoClientCanBeBorrowed() {
+        BusinessException failure = new BusinessException(EnumBusinessError.SFTP_GET_CLIENT_FAILURE.getCode(),
+                EnumBusinessError.SFTP_GET_CLIENT_FAILURE.getMsg());
+        when(pool.borrowObject()).thenReturn(client).thenThrow(failure);
+        doThrow(new BusinessException(EnumBusinessError.SFTP_OPERATION_FAILURE.getCode(), EnumBusinessError.SFTP_OPERATION_FAILURE.getMsg()))
+                .when(client).delete("remote/b.txt");
+        when(client.testConnect()).thenReturn(false);
+        SyncPlan plan = new SyncPlan();
+        plan.setDirection(EnumTransferDirection.UPLOAD);
+        plan.setSftpDirectory("remote");
+        plan.setLocalDirectory(localDirectory);
+        for (String path : new String[]{"a.txt", "b.txt", "c.txt", "d.txt"}) {
+            plan.getEntries().add(new SyncEntry(path, EnumSyncAction.DELETE, 1, 1000));
+        }
+
+        SyncResult result = service.execute(plan);
+
+        assertEquals(1, result.getDeleted());
+        assertEquals(Arrays.asList("b.txt", "c.txt", "d.txt"), result.getDeleteFailures());
+        assertFalse(result.isAllSucceeded());
+        verify(pool).invalidateObject(client);
+    }
+
+    private void local(String relativePath, long size, long lastModifiedTime) throws IOException {
+        Path file = localDirectory.resolve(relativePath);
+        Files.createDirectories(file.getParent());
+        Files.write(file, new byte[(int) size]);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(lastModifiedTime));
+    }
+
+    private static ChannelSftp.LsEntry file(String filename, long size, int mtimeSeconds) {
+        SftpATTRS attrs = mock(SftpATTRS.class);
+        when(attrs.isReg()).thenReturn(true);
+        when(attrs.getFlags()).thenReturn(SftpATTRS.SSH_FILEXFER_ATTR_SIZE | SftpATTRS.SSH_FILEXFER_ATTR_ACMODTIME);
+        when(attrs.getSize()).thenReturn(size);
+        when(attrs.getMTime()).thenReturn(mtimeSeconds);
+        return entry(filename, attrs);
+    }
+
+    private static ChannelSftp.LsEntry directory(String filename) {
+        SftpATTRS attrs = mock(SftpATTRS.class);
+        when(attrs.isDir()).thenReturn(true);
+        return entry(filename, attrs);
+    }
+
+    private static ChannelSftp.LsEntry entry(String filename, SftpATTRS attrs) {
+        ChannelSftp.LsEntry entry = mock(ChannelSftp.LsEntry.class);
+        when(entry.getFilename()).thenReturn(filename);
+        when(entry.getAttrs()).thenReturn(attrs);
+        return entry;
+    }
+
+    private static Map<String, EnumSyncAction> actions(SyncPlan plan) {
+        Map<String, EnumSyncAction> actions = new TreeMap<>();
+        for (SyncEntry entry : plan.getEntries()) {
+            actions.put(entry.getRelativePath(), entry.getAction());
+        }
+        return actions;
+    }
+}
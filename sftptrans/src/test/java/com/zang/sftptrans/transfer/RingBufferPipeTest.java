@@ -0,0 +1,125 @@
+package com.zang.sftptrans.transfer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * RingBufferPipe单元测试
+ *
+ * @author xssdpgy
+ * @version xssdpgy: RingBufferPipeTest.java,v1.0 2026/10/19 1:05 xssdpgy Exp $$
+ * @since 1.0
+ */
+class RingBufferPipeTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void writeWrapsAroundBufferEnd() throws IOException {
+        RingBufferPipe pipe = new RingBufferPipe(8);
+        OutputStream out = pipe.getOutputStream();
+        InputStream in = pipe.getInputStream();
+        out.write(new byte[]{1, 2, 3, 4, 5});
+        byte[] head = new byte[3];
+        assertEquals(3, in.read(head));
+        // 写入位置从5开始，后两个字节回绕到缓冲开头
+        out.write(new byte[]{6, 7, 8, 9, 10});
+        byte[] rest = new byte[16];
+        int read = in.read(rest);
+        out.close();
+
+        assertArrayEquals(new byte[]{1, 2, 3}, head);
+        assertEquals(7, read);
+        assertArrayEquals(new byte[]{4, 5, 6, 7, 8, 9, 10}, Arrays.copyOf(rest, read));
+        assertEquals(-1, in.read());
+        assertEquals(10, pipe.getWritten());
+    }
+
+    @Test
+    void transfersMoreThanCapacityBetweenThreads() throws Exception {
+        RingBufferPipe pipe = new RingBufferPipe(7);
+        byte[] data = new byte[10_000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+        Future<?> writer = executor.submit(() -> {
+            try (OutputStream out = pipe.getOutputStream()) {
+                for (int off = 0; off < data.length; off += 13) {
+                    out.write(data, off, Math.min(13, data.length - off));
+                }
+            }
+            return null;
+        });
+        ByteArrayOutputStream received = new ByteArrayOutputStream();
+        byte[] buffer = new byte[5];
+        int read;
+        while ((read = pipe.getInputStream().read(buffer)) != -1) {
+            received.write(buffer, 0, read);
+        }
+        writer.get(10, TimeUnit.SECONDS);
+
+        assertArrayEquals(data, received.toByteArray());
+    }
+
+    @Test
+    void abortWakesBlockedReader() throws Exception {
+        RingBufferPipe pipe = new RingBufferPipe(8);
+        Future<Integer> reader = executor.submit(() -> pipe.getInputStream().read());
+        IllegalStateException cause = new IllegalStateException("upload failed");
+
+        assertTrue(pipe.abort(cause));
+        assertFalse(pipe.abort(new IllegalStateException("second")));
+        ExecutionException e = assertThrows(ExecutionException.class, () -> reader.get(10, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof IOException);
+        assertSame(cause, e.getCause().getCause());
+    }
+
+    @Test
+    void abortWakesBlockedWriter() throws Exception {
+        RingBufferPipe pipe = new RingBufferPipe(4);
+        Future<?> writer = executor.submit(() -> {
+            pipe.getOutputStream().write(new byte[16]);
+            return null;
+        });
+
+        pipe.abort(new IllegalStateException("download failed"));
+        ExecutionException e = assertThrows(ExecutionException.class, () -> writer.get(10, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof IOException);
+    }
+
+    @Test
+    void closingReaderFailsWriter() throws Exception {
+        RingBufferPipe pipe = new RingBufferPipe(4);
+        Future<?> writer = executor.submit(() -> {
+            pipe.getOutputStream().write(new byte[16]);
+            return null;
+        });
+
+        pipe.closeInput();
+        ExecutionException e = assertThrows(ExecutionException.class, () -> writer.get(10, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof IOException);
+    }
+}
@@ -0,0 +1,56 @@
+package com.zang.sftptrans.transfer;
+
+import com.zang.sftptrans.bean.SftpTransferProperties;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * TransferSupport单元测试
+ *
+ * @author xssdpgy
+ * @version xssdpgy: TransferSupportTest.java,v1.0 2026/10/18 11:25 xssdpgy Exp $$
+ * @since 1.0
+ */
+class TransferSupportTest {
+
+    private static final long MB = 1024L * 1024;
+
+    @Test
+    void smallOrUnknownFilesUseOneSegment() {
+        SftpTransferProperties properties = new SftpTransferProperties();
+
+        assertEquals(1, TransferSupport.segmentCount(-1, properties));
+        assertEquals(1, TransferSupport.segmentCount(0, properties));
+        assertEquals(1, TransferSupport.segmentCount(properties.getSegmentThreshold() - 1, properties));
+    }
+
+    @Test
+    void segmentsFollowMinSegmentSizeUpToMaxSegments() {
+        SftpTransferProperties properties = new SftpTransferProperties();
+        properties.setSegmentThreshold(32 * MB);
+        properties.setMinSegmentSize(16 * MB);
+        properties.setMaxSegments(8);
+
+        assertEquals(2, TransferSupport.segmentCount(32 * MB, properties));
+        // 不足一段的余量单独成段
+        assertEquals(7, TransferSupport.segmentCount(100 * MB, properties));
+        assertEquals(8, TransferSupport.segmentCount(1024 * MB, properties));
+    }
+
+    @Test
+    void maxSegmentsOfOneDisablesSegmenting() {
+        SftpTransferProperties properties = new SftpTransferProperties();
+        properties.setMaxSegments(1);
+
+        assertEquals(1, TransferSupport.segmentCount(1024 * MB, properties));
+    }
+
+    @Test
+    void nonPositiveMinSegmentSizeIsCappedByMaxSegments() {
+        SftpTransferProperties properties = new SftpTransferProperties();
+        properties.setMinSegmentSize(0);
+
+        assertEquals(properties.getMaxSegments(), TransferSupport.segmentCount(properties.getSegmentThreshold(), properties));
+    }
+}
@@ -0,0 +1,81 @@
+package com.zang.sftptrans.util;
+
+import com.zang.sftptrans.enums.EnumChecksumAlgorithm;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Crc32cDigest单元测试，校验值取自RFC 3720附录B.4
+ *
+ * @author xssdpgy
+ * @version xssdpgy: Crc32cDigestTest.java,v1.0 2026/10/19 13:20 xssdpgy Exp $$
+ * @since 1.0
+ */
+class Crc32cDigestTest {
+
+    @Test
+    void matchesRfc3720Vectors() {
+        byte[] zeros = new byte[32];
+        byte[] ones = new byte[32];
+        Arrays.fill(ones, (byte) 0xFF);
+        byte[] ascending = new byte[32];
+        byte[] descending = new byte[32];
+        for (int i = 0; i < 32; i++) {
+            ascending[i] = (byte) i;
+            descending[i] = (byte) (31 - i);
+        }
+
+        assertEquals(0x8A9136AA, crc(zeros));
+        assertEquals(0x62A8AB43, crc(ones));
+        assertEquals(0x46DD794E, crc(ascending));
+        assertEquals(0x113FDB5C, crc(descending));
+    }
+
+    @Test
+    void matchesCheckValue() {
+        assertEquals(0xE3069283, crc("123456789".getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    @Test
+    void digestIsBigEndian() {
+        byte[] digest = new Crc32cDigest().digest("123456789".getBytes(StandardCharsets.US_ASCII));
+
+        assertArrayEquals(new byte[]{(byte) 0xE3, 0x06, (byte) 0x92, (byte) 0x83}, digest);
+    }
+
+    @Test
+    void incrementalUpdateMatchesSingleUpdate() {
+        byte[] data = "123456789".getBytes(StandardCharsets.US_ASCII);
+        MessageDigest digest = new Crc32cDigest();
+        digest.update(data[0]);
+        digest.update(data, 1, 4);
+        digest.update(data, 5, data.length - 5);
+
+        assertArrayEquals(new Crc32cDigest().digest(data), digest.digest());
+    }
+
+    @Test
+    void digestResetsState() {
+        MessageDigest digest = EnumChecksumAlgorithm.CRC32C.newDigest();
+        byte[] first = digest.digest("123456789".getBytes(StandardCharsets.US_ASCII));
+        byte[] second = digest.digest("123456789".getBytes(StandardCharsets.US_ASCII));
+
+        assertTrue(digest instanceof Crc32cDigest);
+        assertEquals(4, digest.getDigestLength());
+        assertArrayEquals(first, second);
+        // 空输入的CRC32C为0
+        assertArrayEquals(new byte[4], digest.digest());
+    }
+
+    private static int crc(byte[] data) {
+        byte[] digest = new Crc32cDigest().digest(data);
+        return (digest[0] & 0xFF) << 24 | (digest[1] & 0xFF) << 16 | (digest[2] & 0xFF) << 8 | digest[3] & 0xFF;
+    }
+}
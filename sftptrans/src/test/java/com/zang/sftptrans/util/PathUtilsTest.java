@@ -0,0 +1,91 @@
+package com.zang.sftptrans.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * PathUtils单元测试
+ *
+ * @author xssdpgy
+ * @version xssdpgy: PathUtilsTest.java,v1.0 2026/10/18 14:40 xssdpgy Exp $$
+ * @since 1.0
+ */
+class PathUtilsTest {
+
+    @Test
+    void resolveRemotePathNormalizesSegments() {
+        assertEquals("/a/b/c", PathUtils.resolveRemotePath("/a/b", "c"));
+        assertEquals("/a/b/c", PathUtils.resolveRemotePath("a", "b/c"));
+        assertEquals("/a/b", PathUtils.resolveRemotePath("/a/./b/."));
+    }
+
+    @Test
+    void resolveRemotePathAppliesParentDirectory() {
+        assertEquals("/a/c", PathUtils.resolveRemotePath("/a/b", "../c"));
+        assertEquals("/a", PathUtils.resolveRemotePath("/a/b", PathUtils.PARENT_DIRECTORY));
+        // 不能越过根目录
+        assertEquals("/x", PathUtils.resolveRemotePath("/", "../..", "x"));
+        assertEquals("/", PathUtils.resolveRemotePath("/a", "..", ".."));
+    }
+
+    @Test
+    void resolveRemotePathConvertsBackSlashes() {
+        assertEquals("/data/in/a.csv", PathUtils.resolveRemotePath("\\data\\in", "a.csv"));
+        assertEquals("/data/a.csv", PathUtils.resolveRemotePath("/data/in", "..\\a.csv"));
+    }
+
+    @Test
+    void resolveRemotePathSkipsBlankSegments() {
+        assertEquals("/a/b", PathUtils.resolveRemotePath("/a//b/", "", "  ", null));
+        assertEquals("/a", PathUtils.resolveRemotePath("/a", (String[]) null));
+        assertEquals("/", PathUtils.resolveRemotePath(""));
+        assertEquals("/", PathUtils.resolveRemotePath(null));
+    }
+
+    @Test
+    void compileGlobWildcardsStopAtSeparator() {
+        Pattern pattern = PathUtils.compileGlob("*.csv");
+
+        assertTrue(pattern.matcher("a.csv").matches());
+        assertTrue(pattern.matcher(".csv").matches());
+        assertFalse(pattern.matcher("in/a.csv").matches());
+        assertTrue(PathUtils.compileGlob("**/*.csv").matcher("in/2026/a.csv").matches());
+        assertTrue(PathUtils.compileGlob("in/?.csv").matcher("in/a.csv").matches());
+        assertFalse(PathUtils.compileGlob("in?a.csv").matcher("in/a.csv").matches());
+    }
+
+    @Test
+    void compileGlobSupportsClassesAndGroups() {
+        assertTrue(PathUtils.compileGlob("settle_[0-9][!a-z].csv").matcher("settle_12.csv").matches());
+        assertFalse(PathUtils.compileGlob("settle_[0-9][!a-z].csv").matcher("settle_1b.csv").matches());
+        assertTrue(PathUtils.compileGlob("*.{csv,txt}").matcher("a.txt").matches());
+        assertFalse(PathUtils.compileGlob("*.{csv,txt}").matcher("a.bak").matches());
+        assertTrue(PathUtils.compileGlob("[-a]").matcher("-").matches());
+    }
+
+    @Test
+    void compileGlobMatchesNamesInvalidOnWindows() {
+        // Windows本地路径不允许这些字符，sftp服务端文件名可以包含
+        assertTrue(PathUtils.compileGlob("*.log").matcher("app:2026-10-18.log").matches());
+        assertTrue(PathUtils.compileGlob("report\\*.csv").matcher("report*.csv").matches());
+        assertFalse(PathUtils.compileGlob("report\\*.csv").matcher("report1.csv").matches());
+        assertTrue(PathUtils.compileGlob("why?.txt").matcher("why?.txt").matches());
+        assertTrue(PathUtils.compileGlob("a.b(1)+$").matcher("a.b(1)+$").matches());
+    }
+
+    @Test
+    void compileGlobRejectsMalformedExpression() {
+        assertThrows(PatternSyntaxException.class, () -> PathUtils.compileGlob("[abc"));
+        assertThrows(PatternSyntaxException.class, () -> PathUtils.compileGlob("{a,{b}}"));
+        assertThrows(PatternSyntaxException.class, () -> PathUtils.compileGlob("{a,b"));
+        assertThrows(PatternSyntaxException.class, () -> PathUtils.compileGlob("[a/b]"));
+        assertThrows(PatternSyntaxException.class, () -> PathUtils.compileGlob("a\\"));
+    }
+}